@@ -0,0 +1,273 @@
+package foundation.identity.keri.crypto;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * BLAKE3 in its hashing mode, with any output length.
+ *
+ * <p>Input is read into the block a word at a time, straight from arrays and buffers, and compressing allocates
+ * nothing, so a hasher digests its input without copying it. Each chunk's blocks depend on each other and most events
+ * fit in a single 1KiB chunk, so the chunks aren't compressed in parallel.
+ */
+final class Blake3 {
+
+  private static final int BLOCK_LENGTH = 64;
+  private static final int CHUNK_LENGTH = 1024;
+
+  private static final int CHUNK_START = 1;
+  private static final int CHUNK_END = 1 << 1;
+  private static final int PARENT = 1 << 2;
+  private static final int ROOT = 1 << 3;
+
+  private static final int[] IV = {
+      0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19
+  };
+
+  private static final int[] PERMUTATION = {2, 6, 3, 10, 7, 0, 4, 13, 1, 11, 12, 5, 9, 14, 15, 8};
+
+  // the message words each round reads, the permutation applied round after round
+  private static final int[][] SCHEDULE = new int[7][16];
+
+  static {
+    for (var i = 0; i < 16; i++) {
+      SCHEDULE[0][i] = i;
+    }
+    for (var r = 1; r < SCHEDULE.length; r++) {
+      for (var i = 0; i < 16; i++) {
+        SCHEDULE[r][i] = SCHEDULE[r - 1][PERMUTATION[i]];
+      }
+    }
+  }
+
+  // the chunk being read
+  private final int[] cv = new int[8];
+  private final int[] block = new int[16];
+  private final byte[] blockBytes = new byte[BLOCK_LENGTH];
+  private int blockLength;
+  private int blocksCompressed;
+  private long chunkCounter;
+
+  // the chaining values of the completed subtrees, at most one of each size, allocated as the input grows
+  private final int[][] stack = new int[54][];
+  private int stackSize;
+
+  private final int[] parentBlock = new int[16];
+  private final int[] state = new int[16];
+
+  Blake3() {
+    System.arraycopy(IV, 0, this.cv, 0, 8);
+  }
+
+  Blake3 update(byte[] bytes, int offset, int length) {
+    var end = offset + length;
+    while (offset < end) {
+      this.completeBlock();
+      if (this.blockLength == 0 && end - offset > BLOCK_LENGTH) {
+        // a whole block with more to come, read in place
+        for (var i = 0; i < 16; i++) {
+          this.block[i] = littleEndian(bytes, offset + 4 * i);
+        }
+        offset += BLOCK_LENGTH;
+        this.blockLength = BLOCK_LENGTH;
+        continue;
+      }
+
+      var take = Math.min(BLOCK_LENGTH - this.blockLength, end - offset);
+      System.arraycopy(bytes, offset, this.blockBytes, this.blockLength, take);
+      offset += take;
+      this.blockLength += take;
+      if (this.blockLength == BLOCK_LENGTH) {
+        this.readBlockBytes();
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Reads the buffer's remaining bytes, leaving its position where it was.
+   */
+  Blake3 update(ByteBuffer bytes) {
+    if (bytes.hasArray()) {
+      return this.update(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+    }
+
+    var in = bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    while (in.hasRemaining()) {
+      this.completeBlock();
+      if (this.blockLength == 0 && in.remaining() > BLOCK_LENGTH) {
+        for (var i = 0; i < 16; i++) {
+          this.block[i] = in.getInt();
+        }
+        this.blockLength = BLOCK_LENGTH;
+        continue;
+      }
+
+      var take = Math.min(BLOCK_LENGTH - this.blockLength, in.remaining());
+      in.get(this.blockBytes, this.blockLength, take);
+      this.blockLength += take;
+      if (this.blockLength == BLOCK_LENGTH) {
+        this.readBlockBytes();
+      }
+    }
+    return this;
+  }
+
+  // compresses the full block now that more input follows it, and the chunk too if that was its last block
+  private void completeBlock() {
+    if (this.blockLength < BLOCK_LENGTH) {
+      return;
+    }
+
+    if (this.blocksCompressed == CHUNK_LENGTH / BLOCK_LENGTH - 1) {
+      this.compress(this.cv, this.block, this.chunkCounter, BLOCK_LENGTH, this.startFlag() | CHUNK_END);
+      System.arraycopy(this.state, 0, this.cv, 0, 8);
+      this.addChunk();
+    } else {
+      this.compress(this.cv, this.block, this.chunkCounter, BLOCK_LENGTH, this.startFlag());
+      System.arraycopy(this.state, 0, this.cv, 0, 8);
+      this.blocksCompressed++;
+    }
+    this.blockLength = 0;
+  }
+
+  // pushes the completed chunk's chaining value, merging it with the subtrees it completes
+  private void addChunk() {
+    var total = ++this.chunkCounter;
+    var chainingValue = this.cv;
+    while ((total & 1) == 0) {
+      this.parent(this.stack[--this.stackSize], chainingValue);
+      chainingValue = this.state;
+      total >>>= 1;
+    }
+    if (this.stack[this.stackSize] == null) {
+      this.stack[this.stackSize] = new int[8];
+    }
+    System.arraycopy(chainingValue, 0, this.stack[this.stackSize++], 0, 8);
+
+    System.arraycopy(IV, 0, this.cv, 0, 8);
+    this.blocksCompressed = 0;
+  }
+
+  private int startFlag() {
+    return this.blocksCompressed == 0 ? CHUNK_START : 0;
+  }
+
+  private void readBlockBytes() {
+    for (var i = 0; i < 16; i++) {
+      this.block[i] = littleEndian(this.blockBytes, 4 * i);
+    }
+  }
+
+  /**
+   * Writes the hash's first {@code length} bytes. The hasher is done with afterwards.
+   */
+  void finish(byte[] out, int offset, int length) {
+    // the last block is compressed as the root, or its chaining value is merged up the stack to a parent that is
+    for (var i = this.blockLength; i < BLOCK_LENGTH; i++) {
+      this.blockBytes[i] = 0;
+    }
+    if (this.blockLength < BLOCK_LENGTH) {
+      this.readBlockBytes();
+    }
+
+    var rootCv = this.cv;
+    var rootBlock = this.block;
+    var rootLength = this.blockLength;
+    var rootFlags = this.startFlag() | CHUNK_END;
+    if (this.stackSize > 0) {
+      this.compress(rootCv, rootBlock, this.chunkCounter, rootLength, rootFlags);
+      while (this.stackSize > 1) {
+        this.parent(this.stack[--this.stackSize], this.state);
+      }
+
+      System.arraycopy(this.stack[0], 0, this.parentBlock, 0, 8);
+      System.arraycopy(this.state, 0, this.parentBlock, 8, 8);
+      rootCv = IV;
+      rootBlock = this.parentBlock;
+      rootLength = BLOCK_LENGTH;
+      rootFlags = PARENT;
+    }
+
+    for (var counter = 0L; length > 0; counter++) {
+      this.compress(rootCv, rootBlock, counter, rootLength, rootFlags | ROOT);
+      for (var i = 0; i < 16 && length > 0; i++) {
+        var word = this.state[i];
+        for (var b = 0; b < 4 && length > 0; b++) {
+          out[offset++] = (byte) (word >>> (8 * b));
+          length--;
+        }
+      }
+    }
+  }
+
+  byte[] finish(int length) {
+    var out = new byte[length];
+    this.finish(out, 0, length);
+    return out;
+  }
+
+  // leaves the parent's chaining value in state
+  private void parent(int[] left, int[] right) {
+    System.arraycopy(left, 0, this.parentBlock, 0, 8);
+    System.arraycopy(right, 0, this.parentBlock, 8, 8);
+    this.compress(IV, this.parentBlock, 0, BLOCK_LENGTH, PARENT);
+  }
+
+  // leaves the 16 output words in state, the first 8 being the chaining value
+  private void compress(int[] cv, int[] m, long counter, int blockLength, int flags) {
+    int v0 = cv[0], v1 = cv[1], v2 = cv[2], v3 = cv[3], v4 = cv[4], v5 = cv[5], v6 = cv[6], v7 = cv[7];
+    int v8 = IV[0], v9 = IV[1], v10 = IV[2], v11 = IV[3];
+    int v12 = (int) counter, v13 = (int) (counter >>> 32), v14 = blockLength, v15 = flags;
+
+    for (var r = 0; r < 7; r++) {
+      var s = SCHEDULE[r];
+
+      // columns
+      v0 += v4 + m[s[0]]; v12 = Integer.rotateRight(v12 ^ v0, 16); v8 += v12; v4 = Integer.rotateRight(v4 ^ v8, 12);
+      v0 += v4 + m[s[1]]; v12 = Integer.rotateRight(v12 ^ v0, 8); v8 += v12; v4 = Integer.rotateRight(v4 ^ v8, 7);
+      v1 += v5 + m[s[2]]; v13 = Integer.rotateRight(v13 ^ v1, 16); v9 += v13; v5 = Integer.rotateRight(v5 ^ v9, 12);
+      v1 += v5 + m[s[3]]; v13 = Integer.rotateRight(v13 ^ v1, 8); v9 += v13; v5 = Integer.rotateRight(v5 ^ v9, 7);
+      v2 += v6 + m[s[4]]; v14 = Integer.rotateRight(v14 ^ v2, 16); v10 += v14; v6 = Integer.rotateRight(v6 ^ v10, 12);
+      v2 += v6 + m[s[5]]; v14 = Integer.rotateRight(v14 ^ v2, 8); v10 += v14; v6 = Integer.rotateRight(v6 ^ v10, 7);
+      v3 += v7 + m[s[6]]; v15 = Integer.rotateRight(v15 ^ v3, 16); v11 += v15; v7 = Integer.rotateRight(v7 ^ v11, 12);
+      v3 += v7 + m[s[7]]; v15 = Integer.rotateRight(v15 ^ v3, 8); v11 += v15; v7 = Integer.rotateRight(v7 ^ v11, 7);
+
+      // diagonals
+      v0 += v5 + m[s[8]]; v15 = Integer.rotateRight(v15 ^ v0, 16); v10 += v15; v5 = Integer.rotateRight(v5 ^ v10, 12);
+      v0 += v5 + m[s[9]]; v15 = Integer.rotateRight(v15 ^ v0, 8); v10 += v15; v5 = Integer.rotateRight(v5 ^ v10, 7);
+      v1 += v6 + m[s[10]]; v12 = Integer.rotateRight(v12 ^ v1, 16); v11 += v12; v6 = Integer.rotateRight(v6 ^ v11, 12);
+      v1 += v6 + m[s[11]]; v12 = Integer.rotateRight(v12 ^ v1, 8); v11 += v12; v6 = Integer.rotateRight(v6 ^ v11, 7);
+      v2 += v7 + m[s[12]]; v13 = Integer.rotateRight(v13 ^ v2, 16); v8 += v13; v7 = Integer.rotateRight(v7 ^ v8, 12);
+      v2 += v7 + m[s[13]]; v13 = Integer.rotateRight(v13 ^ v2, 8); v8 += v13; v7 = Integer.rotateRight(v7 ^ v8, 7);
+      v3 += v4 + m[s[14]]; v14 = Integer.rotateRight(v14 ^ v3, 16); v9 += v14; v4 = Integer.rotateRight(v4 ^ v9, 12);
+      v3 += v4 + m[s[15]]; v14 = Integer.rotateRight(v14 ^ v3, 8); v9 += v14; v4 = Integer.rotateRight(v4 ^ v9, 7);
+    }
+
+    var state = this.state;
+    state[0] = v0 ^ v8;
+    state[1] = v1 ^ v9;
+    state[2] = v2 ^ v10;
+    state[3] = v3 ^ v11;
+    state[4] = v4 ^ v12;
+    state[5] = v5 ^ v13;
+    state[6] = v6 ^ v14;
+    state[7] = v7 ^ v15;
+    state[8] = v8 ^ cv[0];
+    state[9] = v9 ^ cv[1];
+    state[10] = v10 ^ cv[2];
+    state[11] = v11 ^ cv[3];
+    state[12] = v12 ^ cv[4];
+    state[13] = v13 ^ cv[5];
+    state[14] = v14 ^ cv[6];
+    state[15] = v15 ^ cv[7];
+  }
+
+  private static int littleEndian(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xff)
+        | (bytes[offset + 1] & 0xff) << 8
+        | (bytes[offset + 2] & 0xff) << 16
+        | (bytes[offset + 3] & 0xff) << 24;
+  }
+
+}
@@ -1,6 +1,7 @@
 package foundation.identity.keri.crypto;
 
-import io.github.rctcwyvrn.blake3.Blake3;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 public class Blake3Operations implements DigestOperations {
 
@@ -16,11 +17,69 @@ public class Blake3Operations implements DigestOperations {
     };
   }
 
+  @Override
+  public DigestAlgorithm algorithm() {
+    return this.algorithm;
+  }
+
   @Override
   public Digest digest(byte[] bytes) {
-    var digester = Blake3.newInstance();
-    digester.update(bytes);
-    return new ImmutableDigest(this.algorithm, digester.digest(this.length));
+    return new ImmutableDigest(this.algorithm, new Blake3().update(bytes, 0, bytes.length).finish(this.length));
+  }
+
+  @Override
+  public Digest digest(ByteBuffer bytes) {
+    return new ImmutableDigest(this.algorithm, new Blake3().update(bytes).finish(this.length));
+  }
+
+  @Override
+  public Digester digester() {
+    return new Blake3Digester();
+  }
+
+  private final class Blake3Digester implements Digester {
+
+    private final Blake3 hasher = new Blake3();
+
+    @Override
+    public Digester update(byte[] bytes) {
+      this.hasher.update(bytes, 0, bytes.length);
+      return this;
+    }
+
+    @Override
+    public Digester update(byte[] bytes, int offset, int length) {
+      this.hasher.update(bytes, offset, length);
+      return this;
+    }
+
+    @Override
+    public Digester update(ByteBuffer bytes) {
+      this.hasher.update(bytes);
+      return this;
+    }
+
+    @Override
+    public Digest finish() {
+      return new ImmutableDigest(Blake3Operations.this.algorithm, this.hasher.finish(Blake3Operations.this.length));
+    }
+
+    @Override
+    public int finish(ByteBuffer out) {
+      var length = Blake3Operations.this.length;
+      if (out.remaining() < length) {
+        throw new BufferOverflowException();
+      }
+
+      if (out.hasArray()) {
+        this.hasher.finish(out.array(), out.arrayOffset() + out.position(), length);
+        out.position(out.position() + length);
+      } else {
+        out.put(this.hasher.finish(length));
+      }
+      return length;
+    }
+
   }
 
 }
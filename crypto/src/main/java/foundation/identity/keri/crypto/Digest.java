@@ -20,14 +20,26 @@ public interface Digest {
       return false;
     }
 
+    if (d1 instanceof ImmutableDigest && d2 instanceof ImmutableDigest) {
+      return ImmutableDigest.equals((ImmutableDigest) d1, (ImmutableDigest) d2);
+    }
+
     return d1.algorithm().equals(d2.algorithm())
-        && Arrays.equals(d1.bytes(), d2.bytes());
+        && Arrays.equals(ImmutableDigest.bytesOf(d1), ImmutableDigest.bytesOf(d2));
   }
 
   static int hashCode(Digest digest) {
+    if (digest instanceof ImmutableDigest) {
+      return ((ImmutableDigest) digest).hashCode;
+    }
+
+    return hashCode(digest.algorithm(), digest.bytes());
+  }
+
+  static int hashCode(DigestAlgorithm algorithm, byte[] bytes) {
     return Objects.hash(
-        digest.algorithm(),
-        Arrays.hashCode(digest.bytes()));
+        algorithm,
+        Arrays.hashCode(bytes));
   }
 
   class None implements Digest {
@@ -1,6 +1,10 @@
 package foundation.identity.keri.crypto;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 public interface DigestOperations {
 
@@ -16,6 +20,9 @@ public interface DigestOperations {
 
   DigestOperations DEFAULT = lookup(StandardDigestAlgorithms.DEFAULT);
 
+  // small enough that a slice stays in L1 while each digester takes it
+  int DIGEST_ALL_SLICE_LENGTH = 4096;
+
   static DigestOperations lookup(DigestAlgorithm algorithm) {
     var stdAlgo = StandardDigestAlgorithms.valueOf(algorithm);
     return switch (stdAlgo) {
@@ -31,12 +38,96 @@ public interface DigestOperations {
     };
   }
 
+  DigestAlgorithm algorithm();
+
   Digest digest(byte[] bytes);
 
+  /**
+   * Digests the buffer's remaining bytes, leaving its position where it was.
+   */
+  default Digest digest(ByteBuffer bytes) {
+    var copy = new byte[bytes.remaining()];
+    bytes.duplicate().get(copy);
+    return this.digest(copy);
+  }
+
+  /**
+   * Digests the buffer's remaining bytes, leaving its position where it was, and puts the digest into {@code out}.
+   *
+   * @return the length of the digest
+   */
+  default int digest(ByteBuffer bytes, ByteBuffer out) {
+    return this.digester().update(bytes).finish(out);
+  }
+
+  /**
+   * Starts a digest of bytes given in parts.
+   */
+  Digester digester();
+
+  /**
+   * A digest in progress. A digester is used by one thread, and is done with once finished.
+   */
+  interface Digester {
+
+    Digester update(byte[] bytes);
+
+    Digester update(byte[] bytes, int offset, int length);
+
+    /**
+     * Adds the buffer's remaining bytes, leaving its position where it was.
+     */
+    Digester update(ByteBuffer bytes);
+
+    Digest finish();
+
+    /**
+     * Puts the digest into {@code out}.
+     *
+     * @return the length of the digest
+     */
+    int finish(ByteBuffer out);
+
+  }
+
+  /**
+   * Digests the buffer's remaining bytes under each of the algorithms, leaving its position where it was. The bytes are
+   * read once, a slice at a time, with every digester taking each slice while it's still in cache.
+   *
+   * @return the digests, in the order of the algorithms
+   */
+  static List<Digest> digestAll(ByteBuffer bytes, Collection<? extends DigestAlgorithm> algorithms) {
+    var digesters = new ArrayList<Digester>(algorithms.size());
+    for (var algorithm : algorithms) {
+      digesters.add(lookup(algorithm).digester());
+    }
+
+    var slice = bytes.duplicate();
+    var end = slice.limit();
+    for (var from = slice.position(); from < end; from += DIGEST_ALL_SLICE_LENGTH) {
+      slice.limit(Math.min(end, from + DIGEST_ALL_SLICE_LENGTH)).position(from);
+      for (var digester : digesters) {
+        digester.update(slice);
+      }
+    }
+
+    var digests = new ArrayList<Digest>(digesters.size());
+    for (var digester : digesters) {
+      digests.add(digester.finish());
+    }
+    return digests;
+  }
+
   static boolean matches(byte[] bytes, Digest d1) {
     return Arrays.equals(
         d1.bytes(),
         lookup(d1.algorithm()).digest(bytes).bytes());
   }
 
+  static boolean matches(ByteBuffer bytes, Digest d1) {
+    return Arrays.equals(
+        d1.bytes(),
+        lookup(d1.algorithm()).digest(bytes).bytes());
+  }
+
 }
@@ -5,6 +5,7 @@ import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
 import org.bouncycastle.jce.ECPointUtil;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.AlgorithmParameters;
 import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
@@ -32,6 +33,8 @@ public class EcDSAOperations implements SignatureOperations {
   final KeyPairGenerator keyPairGenerator;
   final KeyFactory keyFactory;
 
+  final SignatureEngines engines;
+
   public EcDSAOperations(SignatureAlgorithm signatureAlgorithm) {
     try {
       this.signatureAlgorithm = signatureAlgorithm;
@@ -43,6 +46,7 @@ public class EcDSAOperations implements SignatureOperations {
       this.keyPairGenerator = KeyPairGenerator.getInstance(ECDSA_ALGORITHM_NAME);
       this.keyPairGenerator.initialize(this.parameterSpec);
       this.keyFactory = KeyFactory.getInstance(ECDSA_ALGORITHM_NAME);
+      this.engines = new SignatureEngines(signatureInstanceName((EcDSAParameters) signatureAlgorithm.parameters()));
     } catch (NoSuchAlgorithmException | InvalidParameterSpecException | InvalidAlgorithmParameterException e) {
       throw new RuntimeException(e);
     }
@@ -109,9 +113,7 @@ public class EcDSAOperations implements SignatureOperations {
   @Override
   public Signature sign(byte[] message, PrivateKey privateKey) {
     try {
-      var parameters = (EcDSAParameters) this.signatureAlgorithm.parameters();
-      var sig = java.security.Signature.getInstance(this.signatureInstanceName(parameters));
-      sig.initSign(privateKey);
+      var sig = this.engines.signer(privateKey);
       sig.update(message);
       var bytes = sig.sign();
 
@@ -125,9 +127,7 @@ public class EcDSAOperations implements SignatureOperations {
   @Override
   public boolean verify(byte[] message, Signature signature, PublicKey publicKey) {
     try {
-      var parameters = (EcDSAParameters) this.signatureAlgorithm.parameters();
-      var sig = java.security.Signature.getInstance(this.signatureInstanceName(parameters));
-      sig.initVerify(publicKey);
+      var sig = this.engines.verifier(publicKey);
       sig.update(message);
       return sig.verify(signature.bytes());
     } catch (GeneralSecurityException e) {
@@ -136,7 +136,19 @@ public class EcDSAOperations implements SignatureOperations {
     }
   }
 
-  private String signatureInstanceName(EcDSAParameters parameters) {
+  @Override
+  public boolean verify(ByteBuffer message, Signature signature, PublicKey publicKey) {
+    try {
+      var sig = this.engines.verifier(publicKey);
+      sig.update(message.duplicate());
+      return sig.verify(signature.bytes());
+    } catch (GeneralSecurityException e) {
+      // TODO handle better
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String signatureInstanceName(EcDSAParameters parameters) {
     return parameters.digestAlgorithm() + ECDSA_SIGNATURE_ALGORITHM_SUFFIX;
   }
 
@@ -0,0 +1,230 @@
+package foundation.identity.keri.crypto;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static foundation.identity.keri.crypto.Ed25519Point.L;
+import static foundation.identity.keri.crypto.Ed25519Point.littleEndian;
+
+/**
+ * Verifies Ed25519 signatures together, checking a random linear combination of their verification equations
+ *
+ * <pre>
+ *   [8] ( -(sum z_i s_i) B + sum z_i R_i + sum (z_i h_i) A_i ) = 0
+ * </pre>
+ *
+ * <p>with one multi-scalar multiplication. The doublings are shared by every point and the coefficients of signatures
+ * by the same key are combined, so the batch costs much less than verifying each signature. If the combination
+ * doesn't hold, the batch is split in halves that are checked again, down to verifying the signatures one by one, so
+ * the invalid signatures are found.
+ *
+ * <p>The batch equation is cofactored, while a signature verified on its own is checked without the cofactor. The two
+ * only disagree when R or A has a component of small order, so signatures whose R or key isn't in the subgroup of
+ * order L are left out of the batch and verified on their own. A signature is then accepted in a batch exactly when
+ * it's accepted alone. Honest signers never produce such signatures, so this costs a check of R for each signature and
+ * of A for each key.
+ */
+final class Ed25519BatchVerifier {
+
+  // below this, the batch's fixed costs outweigh what it saves
+  static final int MINIMUM_BATCH_SIZE = 4;
+
+  // SubjectPublicKeyInfo for id-Ed25519, up to the key itself
+  private static final byte[] X509_PREFIX = {
+      0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x03, 0x21, 0x00
+  };
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final EdDSAOperations ops;
+  private final List<ByteBuffer> messages;
+  private final List<Signature> signatures;
+  private final List<PublicKey> publicKeys;
+  private final boolean[] results;
+
+  private Ed25519BatchVerifier(EdDSAOperations ops, List<ByteBuffer> messages, List<Signature> signatures,
+      List<PublicKey> publicKeys) {
+    this.ops = ops;
+    this.messages = messages;
+    this.signatures = signatures;
+    this.publicKeys = publicKeys;
+    this.results = new boolean[messages.size()];
+  }
+
+  static boolean[] verify(EdDSAOperations ops, List<ByteBuffer> messages, List<Signature> signatures,
+      List<PublicKey> publicKeys) {
+    var verifier = new Ed25519BatchVerifier(ops, messages, signatures, publicKeys);
+    verifier.verify();
+    return verifier.results;
+  }
+
+  private void verify() {
+    MessageDigest sha512;
+    try {
+      sha512 = MessageDigest.getInstance("SHA-512");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+
+    var entries = new ArrayList<Entry>(this.results.length);
+    var keys = new HashMap<ByteBuffer, Ed25519Point>();
+    for (var i = 0; i < this.results.length; i++) {
+      var entry = this.entry(i, sha512, keys);
+      if (entry != null) {
+        entries.add(entry);
+      } else {
+        // whatever this batch can't make sense of is left to the single verification to decide
+        this.results[i] = this.verifyOne(i);
+      }
+    }
+
+    this.check(entries);
+  }
+
+  private Entry entry(int index, MessageDigest sha512, HashMap<ByteBuffer, Ed25519Point> keys) {
+    var signature = this.signatures.get(index);
+    var encodedKey = encodedKey(this.publicKeys.get(index));
+    if (encodedKey == null || !StandardSignatureAlgorithms.ED_25519.equals(signature.algorithm())) {
+      return null;
+    }
+
+    var bytes = signature.bytes();
+    if (bytes.length != 64) {
+      return null;
+    }
+
+    var s = littleEndian(bytes, 32, 32);
+    if (s.compareTo(L) >= 0) {
+      return null;
+    }
+
+    var r = torsionFree(bytes);
+    if (r == null) {
+      return null;
+    }
+
+    var key = ByteBuffer.wrap(encodedKey);
+    var a = keys.computeIfAbsent(key, k -> torsionFree(encodedKey));
+    if (a == null) {
+      return null;
+    }
+
+    sha512.update(bytes, 0, 32);
+    sha512.update(encodedKey);
+    sha512.update(this.messages.get(index).duplicate());
+    var digest = sha512.digest();
+    var h = littleEndian(digest, 0, 64).mod(L);
+
+    return new Entry(index, r, key, a, s, h);
+  }
+
+  // the point encoded at the start of the bytes, or null if it isn't a point or has a component of small order
+  private static Ed25519Point torsionFree(byte[] bytes) {
+    var point = Ed25519Point.decode(bytes, 0);
+    return point != null && point.isTorsionFree() ? point : null;
+  }
+
+  // the key's 32 byte encoding, taken from its X.509 encoding, which every provider's keys have
+  static byte[] encodedKey(PublicKey publicKey) {
+    var encoded = publicKey.getEncoded();
+    if (encoded == null || encoded.length != X509_PREFIX.length + 32
+        || !Arrays.equals(encoded, 0, X509_PREFIX.length, X509_PREFIX, 0, X509_PREFIX.length)) {
+      return null;
+    }
+    return Arrays.copyOfRange(encoded, X509_PREFIX.length, encoded.length);
+  }
+
+  private void check(List<Entry> entries) {
+    if (entries.isEmpty()) {
+      return;
+    }
+
+    if (entries.size() < MINIMUM_BATCH_SIZE) {
+      for (var entry : entries) {
+        this.results[entry.index] = this.verifyOne(entry.index);
+      }
+      return;
+    }
+
+    if (holds(entries)) {
+      for (var entry : entries) {
+        this.results[entry.index] = true;
+      }
+      return;
+    }
+
+    var half = entries.size() / 2;
+    this.check(entries.subList(0, half));
+    this.check(entries.subList(half, entries.size()));
+  }
+
+  private boolean verifyOne(int index) {
+    return this.ops.verify(this.messages.get(index), this.signatures.get(index), this.publicKeys.get(index));
+  }
+
+  private static boolean holds(List<Entry> entries) {
+    var points = new ArrayList<Ed25519Point>(2 * entries.size() + 1);
+    var scalars = new ArrayList<BigInteger>(2 * entries.size() + 1);
+    var keyScalars = new HashMap<ByteBuffer, Integer>();
+
+    var sumZS = BigInteger.ZERO;
+    points.add(Ed25519Point.BASE);
+    scalars.add(null);
+    for (var entry : entries) {
+      // odd, so never zero, which would leave the signature out of the check
+      var z = new BigInteger(128, RANDOM).setBit(0);
+      sumZS = sumZS.add(z.multiply(entry.s));
+
+      points.add(entry.r);
+      scalars.add(z);
+
+      var zh = z.multiply(entry.h);
+      var keyIndex = keyScalars.get(entry.key);
+      if (keyIndex == null) {
+        keyScalars.put(entry.key, points.size());
+        points.add(entry.a);
+        scalars.add(zh);
+      } else {
+        scalars.set(keyIndex, scalars.get(keyIndex).add(zh));
+      }
+    }
+    scalars.set(0, L.subtract(sumZS.mod(L)));
+
+    var encodedScalars = new byte[scalars.size()][];
+    for (var i = 0; i < encodedScalars.length; i++) {
+      encodedScalars[i] = littleEndian(scalars.get(i).mod(L));
+    }
+
+    var sum = Ed25519Point.multiScalarMultiply(points.toArray(Ed25519Point[]::new), encodedScalars);
+    return sum.twice().twice().twice().isIdentity();
+  }
+
+  private static final class Entry {
+
+    final int index;
+    final Ed25519Point r;
+    final ByteBuffer key;
+    final Ed25519Point a;
+    final BigInteger s;
+    final BigInteger h;
+
+    Entry(int index, Ed25519Point r, ByteBuffer key, Ed25519Point a, BigInteger s, BigInteger h) {
+      this.index = index;
+      this.r = r;
+      this.key = key;
+      this.a = a;
+      this.s = s;
+      this.h = h;
+    }
+
+  }
+
+}
@@ -0,0 +1,437 @@
+package foundation.identity.keri.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Arithmetic modulo 2^255 - 19, on elements held as ten signed limbs of alternately 26 and 25 bits.
+ *
+ * <p>Every operation leaves its result carried, so each limb is below 2^26 in magnitude, and products of any two
+ * elements fit a long. Results may be written to one of the operands. The operations aren't constant time; they're
+ * only for verifying signatures, which handles nothing secret.
+ */
+final class Ed25519Field {
+
+  static final BigInteger P = BigInteger.TWO.pow(255).subtract(BigInteger.valueOf(19));
+
+  private static final int[] WIDTHS = {26, 25, 26, 25, 26, 25, 26, 25, 26, 25};
+
+  private Ed25519Field() {
+  }
+
+  static long[] element() {
+    return new long[10];
+  }
+
+  static long[] one() {
+    var one = new long[10];
+    one[0] = 1;
+    return one;
+  }
+
+  static long[] copy(long[] f) {
+    return f.clone();
+  }
+
+  static long[] of(BigInteger value) {
+    var v = value.mod(P);
+    var f = new long[10];
+    for (var i = 0; i < 10; i++) {
+      f[i] = v.longValue() & ((1L << WIDTHS[i]) - 1);
+      v = v.shiftRight(WIDTHS[i]);
+    }
+    return f;
+  }
+
+  /**
+   * Loads the little-endian encoding, ignoring its top bit. The encoding may be of a value up to 2^255 - 1, which
+   * {@link #encode} won't give back.
+   */
+  static long[] decode(byte[] bytes, int offset) {
+    var f = new long[10];
+    var position = 0;
+    for (var i = 0; i < 10; i++) {
+      var index = position >>> 3;
+      var word = 0L;
+      for (var b = 0; b < 5 && index + b < 32; b++) {
+        word |= (bytes[offset + index + b] & 0xffL) << (8 * b);
+      }
+      f[i] = (word >>> (position & 7)) & ((1L << WIDTHS[i]) - 1);
+      position += WIDTHS[i];
+    }
+    return f;
+  }
+
+  /**
+   * The canonical little-endian encoding, below 2^255 - 19.
+   */
+  static byte[] encode(long[] f) {
+    var h = f.clone();
+    // carrying enough times leaves every limb non-negative and the value below 2^255
+    for (var pass = 0; pass < 3; pass++) {
+      carry(h, h[0], h[1], h[2], h[3], h[4], h[5], h[6], h[7], h[8], h[9]);
+    }
+
+    // subtract p if the value is at least p, which it is if adding 19 carries out of the top limb
+    var q = (h[0] + 19) >> 26;
+    for (var i = 1; i < 10; i++) {
+      q = (h[i] + q) >> WIDTHS[i];
+    }
+    h[0] += 19 * q;
+    for (var i = 0; i < 9; i++) {
+      var c = h[i] >> WIDTHS[i];
+      h[i + 1] += c;
+      h[i] -= c << WIDTHS[i];
+    }
+    h[9] &= (1L << 25) - 1;
+
+    var bytes = new byte[32];
+    var position = 0;
+    for (var i = 0; i < 10; i++) {
+      for (var bit = 0; bit < WIDTHS[i]; bit += 8) {
+        var p = position + bit;
+        var chunk = h[i] >>> bit;
+        bytes[p >>> 3] |= (byte) (chunk << (p & 7));
+        if ((p & 7) != 0 && (p >>> 3) + 1 < 32) {
+          bytes[(p >>> 3) + 1] |= (byte) (chunk >>> (8 - (p & 7)));
+        }
+      }
+      position += WIDTHS[i];
+    }
+    return bytes;
+  }
+
+  static boolean isZero(long[] f) {
+    for (var b : encode(f)) {
+      if (b != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean isNegative(long[] f) {
+    return (encode(f)[0] & 1) != 0;
+  }
+
+  static boolean equals(long[] f, long[] g) {
+    var h = new long[10];
+    subtract(h, f, g);
+    return isZero(h);
+  }
+
+  static void add(long[] h, long[] f, long[] g) {
+    carry(h, f[0] + g[0], f[1] + g[1], f[2] + g[2], f[3] + g[3], f[4] + g[4], f[5] + g[5], f[6] + g[6],
+        f[7] + g[7], f[8] + g[8], f[9] + g[9]);
+  }
+
+  static void subtract(long[] h, long[] f, long[] g) {
+    carry(h, f[0] - g[0], f[1] - g[1], f[2] - g[2], f[3] - g[3], f[4] - g[4], f[5] - g[5], f[6] - g[6],
+        f[7] - g[7], f[8] - g[8], f[9] - g[9]);
+  }
+
+  static void negate(long[] h, long[] f) {
+    carry(h, -f[0], -f[1], -f[2], -f[3], -f[4], -f[5], -f[6], -f[7], -f[8], -f[9]);
+  }
+
+  // the products are generated: the 2s are for pairs of odd limbs, whose positions sum to one past the limb they land
+  // in, and the 19s fold limbs past 2^255 back to the bottom
+  static void multiply(long[] h, long[] f, long[] g) {
+    long f0 = f[0];
+    long f1 = f[1];
+    long f2 = f[2];
+    long f3 = f[3];
+    long f4 = f[4];
+    long f5 = f[5];
+    long f6 = f[6];
+    long f7 = f[7];
+    long f8 = f[8];
+    long f9 = f[9];
+    long g0 = g[0];
+    long g1 = g[1];
+    long g2 = g[2];
+    long g3 = g[3];
+    long g4 = g[4];
+    long g5 = g[5];
+    long g6 = g[6];
+    long g7 = g[7];
+    long g8 = g[8];
+    long g9 = g[9];
+    long g1_19 = 19 * g1;
+    long g2_19 = 19 * g2;
+    long g3_19 = 19 * g3;
+    long g4_19 = 19 * g4;
+    long g5_19 = 19 * g5;
+    long g6_19 = 19 * g6;
+    long g7_19 = 19 * g7;
+    long g8_19 = 19 * g8;
+    long g9_19 = 19 * g9;
+    long h0 = f0 * g0
+        + f1 * g9_19 * 2
+        + f2 * g8_19
+        + f3 * g7_19 * 2
+        + f4 * g6_19
+        + f5 * g5_19 * 2
+        + f6 * g4_19
+        + f7 * g3_19 * 2
+        + f8 * g2_19
+        + f9 * g1_19 * 2;
+    long h1 = f0 * g1
+        + f1 * g0
+        + f2 * g9_19
+        + f3 * g8_19
+        + f4 * g7_19
+        + f5 * g6_19
+        + f6 * g5_19
+        + f7 * g4_19
+        + f8 * g3_19
+        + f9 * g2_19;
+    long h2 = f0 * g2
+        + f1 * g1 * 2
+        + f2 * g0
+        + f3 * g9_19 * 2
+        + f4 * g8_19
+        + f5 * g7_19 * 2
+        + f6 * g6_19
+        + f7 * g5_19 * 2
+        + f8 * g4_19
+        + f9 * g3_19 * 2;
+    long h3 = f0 * g3
+        + f1 * g2
+        + f2 * g1
+        + f3 * g0
+        + f4 * g9_19
+        + f5 * g8_19
+        + f6 * g7_19
+        + f7 * g6_19
+        + f8 * g5_19
+        + f9 * g4_19;
+    long h4 = f0 * g4
+        + f1 * g3 * 2
+        + f2 * g2
+        + f3 * g1 * 2
+        + f4 * g0
+        + f5 * g9_19 * 2
+        + f6 * g8_19
+        + f7 * g7_19 * 2
+        + f8 * g6_19
+        + f9 * g5_19 * 2;
+    long h5 = f0 * g5
+        + f1 * g4
+        + f2 * g3
+        + f3 * g2
+        + f4 * g1
+        + f5 * g0
+        + f6 * g9_19
+        + f7 * g8_19
+        + f8 * g7_19
+        + f9 * g6_19;
+    long h6 = f0 * g6
+        + f1 * g5 * 2
+        + f2 * g4
+        + f3 * g3 * 2
+        + f4 * g2
+        + f5 * g1 * 2
+        + f6 * g0
+        + f7 * g9_19 * 2
+        + f8 * g8_19
+        + f9 * g7_19 * 2;
+    long h7 = f0 * g7
+        + f1 * g6
+        + f2 * g5
+        + f3 * g4
+        + f4 * g3
+        + f5 * g2
+        + f6 * g1
+        + f7 * g0
+        + f8 * g9_19
+        + f9 * g8_19;
+    long h8 = f0 * g8
+        + f1 * g7 * 2
+        + f2 * g6
+        + f3 * g5 * 2
+        + f4 * g4
+        + f5 * g3 * 2
+        + f6 * g2
+        + f7 * g1 * 2
+        + f8 * g0
+        + f9 * g9_19 * 2;
+    long h9 = f0 * g9
+        + f1 * g8
+        + f2 * g7
+        + f3 * g6
+        + f4 * g5
+        + f5 * g4
+        + f6 * g3
+        + f7 * g2
+        + f8 * g1
+        + f9 * g0;
+    carry(h, h0, h1, h2, h3, h4, h5, h6, h7, h8, h9);
+  }
+
+  static void square(long[] h, long[] f) {
+    long f0 = f[0];
+    long f1 = f[1];
+    long f2 = f[2];
+    long f3 = f[3];
+    long f4 = f[4];
+    long f5 = f[5];
+    long f6 = f[6];
+    long f7 = f[7];
+    long f8 = f[8];
+    long f9 = f[9];
+    long f1_19 = 19 * f1;
+    long f2_19 = 19 * f2;
+    long f3_19 = 19 * f3;
+    long f4_19 = 19 * f4;
+    long f5_19 = 19 * f5;
+    long f6_19 = 19 * f6;
+    long f7_19 = 19 * f7;
+    long f8_19 = 19 * f8;
+    long f9_19 = 19 * f9;
+    long h0 = f0 * f0
+        + f1 * f9_19 * 4
+        + f2 * f8_19 * 2
+        + f3 * f7_19 * 4
+        + f4 * f6_19 * 2
+        + f5 * f5_19 * 2;
+    long h1 = f0 * f1 * 2
+        + f2 * f9_19 * 2
+        + f3 * f8_19 * 2
+        + f4 * f7_19 * 2
+        + f5 * f6_19 * 2;
+    long h2 = f0 * f2 * 2
+        + f1 * f1 * 2
+        + f3 * f9_19 * 4
+        + f4 * f8_19 * 2
+        + f5 * f7_19 * 4
+        + f6 * f6_19;
+    long h3 = f0 * f3 * 2
+        + f1 * f2 * 2
+        + f4 * f9_19 * 2
+        + f5 * f8_19 * 2
+        + f6 * f7_19 * 2;
+    long h4 = f0 * f4 * 2
+        + f1 * f3 * 4
+        + f2 * f2
+        + f5 * f9_19 * 4
+        + f6 * f8_19 * 2
+        + f7 * f7_19 * 2;
+    long h5 = f0 * f5 * 2
+        + f1 * f4 * 2
+        + f2 * f3 * 2
+        + f6 * f9_19 * 2
+        + f7 * f8_19 * 2;
+    long h6 = f0 * f6 * 2
+        + f1 * f5 * 4
+        + f2 * f4 * 2
+        + f3 * f3 * 2
+        + f7 * f9_19 * 4
+        + f8 * f8_19;
+    long h7 = f0 * f7 * 2
+        + f1 * f6 * 2
+        + f2 * f5 * 2
+        + f3 * f4 * 2
+        + f8 * f9_19 * 2;
+    long h8 = f0 * f8 * 2
+        + f1 * f7 * 4
+        + f2 * f6 * 2
+        + f3 * f5 * 4
+        + f4 * f4
+        + f9 * f9_19 * 2;
+    long h9 = f0 * f9 * 2
+        + f1 * f8 * 2
+        + f2 * f7 * 2
+        + f3 * f6 * 2
+        + f4 * f5 * 2;
+    carry(h, h0, h1, h2, h3, h4, h5, h6, h7, h8, h9);
+  }
+
+
+  static void square(long[] h, long[] f, int times) {
+    square(h, f);
+    for (var i = 1; i < times; i++) {
+      square(h, h);
+    }
+  }
+
+  /**
+   * f^((p - 5) / 8), for taking square roots.
+   */
+  static void pow22523(long[] h, long[] f) {
+    var t0 = new long[10];
+    var t1 = new long[10];
+    var t2 = new long[10];
+    square(t0, f);
+    square(t1, t0, 2);
+    multiply(t1, f, t1);
+    multiply(t0, t0, t1);
+    square(t0, t0);
+    multiply(t0, t1, t0);
+    square(t1, t0, 5);
+    multiply(t0, t1, t0);
+    square(t1, t0, 10);
+    multiply(t1, t1, t0);
+    square(t2, t1, 20);
+    multiply(t1, t2, t1);
+    square(t1, t1, 10);
+    multiply(t0, t1, t0);
+    square(t1, t0, 50);
+    multiply(t1, t1, t0);
+    square(t2, t1, 100);
+    multiply(t1, t2, t1);
+    square(t1, t1, 50);
+    multiply(t0, t1, t0);
+    square(t0, t0, 2);
+    multiply(h, t0, f);
+  }
+
+  private static void carry(long[] h, long h0, long h1, long h2, long h3, long h4, long h5, long h6, long h7,
+      long h8, long h9) {
+    long c;
+    c = h0 >> 26;
+    h1 += c;
+    h0 -= c << 26;
+    c = h1 >> 25;
+    h2 += c;
+    h1 -= c << 25;
+    c = h2 >> 26;
+    h3 += c;
+    h2 -= c << 26;
+    c = h3 >> 25;
+    h4 += c;
+    h3 -= c << 25;
+    c = h4 >> 26;
+    h5 += c;
+    h4 -= c << 26;
+    c = h5 >> 25;
+    h6 += c;
+    h5 -= c << 25;
+    c = h6 >> 26;
+    h7 += c;
+    h6 -= c << 26;
+    c = h7 >> 25;
+    h8 += c;
+    h7 -= c << 25;
+    c = h8 >> 26;
+    h9 += c;
+    h8 -= c << 26;
+    c = h9 >> 25;
+    h0 += c * 19;
+    h9 -= c << 25;
+    c = h0 >> 26;
+    h1 += c;
+    h0 -= c << 26;
+
+    h[0] = h0;
+    h[1] = h1;
+    h[2] = h2;
+    h[3] = h3;
+    h[4] = h4;
+    h[5] = h5;
+    h[6] = h6;
+    h[7] = h7;
+    h[8] = h8;
+    h[9] = h9;
+  }
+
+}
@@ -0,0 +1,279 @@
+package foundation.identity.keri.crypto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static foundation.identity.keri.crypto.Ed25519Field.element;
+import static foundation.identity.keri.crypto.Ed25519Field.multiply;
+import static foundation.identity.keri.crypto.Ed25519Field.square;
+import static foundation.identity.keri.crypto.Ed25519Field.subtract;
+
+/**
+ * A point on the Ed25519 curve, -x^2 + y^2 = 1 + d x^2 y^2, in extended coordinates (X : Y : Z : T) where x = X/Z,
+ * y = Y/Z and xy = T/Z.
+ */
+final class Ed25519Point {
+
+  private static final BigInteger D_VALUE = BigInteger.valueOf(-121665)
+      .multiply(BigInteger.valueOf(121666).modInverse(Ed25519Field.P))
+      .mod(Ed25519Field.P);
+
+  static final long[] D = Ed25519Field.of(D_VALUE);
+  static final long[] D2 = Ed25519Field.of(D_VALUE.shiftLeft(1));
+
+  static final long[] SQRT_M1 = Ed25519Field.of(BigInteger.TWO.modPow(
+      Ed25519Field.P.subtract(BigInteger.ONE).shiftRight(2), Ed25519Field.P));
+
+  static final Ed25519Point IDENTITY = new Ed25519Point(element(), Ed25519Field.one(), Ed25519Field.one(), element());
+
+  // the order of the base point
+  static final BigInteger L = BigInteger.TWO.pow(252).add(new BigInteger("27742317777372353535851937790883648493"));
+
+  private static final byte[] L_BYTES = littleEndian(L);
+
+  static final Ed25519Point BASE = decode(unhex("5866666666666666666666666666666666666666666666666666666666666666"), 0);
+
+  final long[] x;
+  final long[] y;
+  final long[] z;
+  final long[] t;
+
+  private Ed25519Point(long[] x, long[] y, long[] z, long[] t) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    this.t = t;
+  }
+
+  /**
+   * Decodes the point's 32 byte encoding, or returns null if it isn't the canonical encoding of a point on the curve.
+   */
+  static Ed25519Point decode(byte[] bytes, int offset) {
+    var y = Ed25519Field.decode(bytes, offset);
+    var expected = Arrays.copyOfRange(bytes, offset, offset + 32);
+    var sign = (expected[31] >>> 7) & 1;
+    expected[31] &= 0x7f;
+    if (!Arrays.equals(Ed25519Field.encode(y), expected)) {
+      return null;
+    }
+
+    // x^2 = u / v, and x = u v^3 (u v^7)^((p - 5) / 8) is a root of it, or of -u / v
+    var u = element();
+    var v = element();
+    square(u, y);
+    multiply(v, u, D);
+    subtract(u, u, Ed25519Field.one());
+    Ed25519Field.add(v, v, Ed25519Field.one());
+
+    var v3 = element();
+    square(v3, v);
+    multiply(v3, v3, v);
+    var x = element();
+    square(x, v3);
+    multiply(x, x, v);
+    multiply(x, x, u);
+    Ed25519Field.pow22523(x, x);
+    multiply(x, x, v3);
+    multiply(x, x, u);
+
+    var check = element();
+    square(check, x);
+    multiply(check, check, v);
+    if (!Ed25519Field.equals(check, u)) {
+      Ed25519Field.negate(u, u);
+      if (!Ed25519Field.equals(check, u)) {
+        return null;
+      }
+      multiply(x, x, SQRT_M1);
+    }
+
+    if (Ed25519Field.isZero(x) && sign == 1) {
+      return null;
+    }
+    if ((Ed25519Field.isNegative(x) ? 1 : 0) != sign) {
+      Ed25519Field.negate(x, x);
+    }
+
+    var t = element();
+    multiply(t, x, y);
+    return new Ed25519Point(x, y, Ed25519Field.one(), t);
+  }
+
+  Ed25519Point add(Ed25519Point q) {
+    var a = element();
+    var b = element();
+    var c = element();
+    var d = element();
+    var e = element();
+
+    subtract(a, this.y, this.x);
+    subtract(e, q.y, q.x);
+    multiply(a, a, e);
+    Ed25519Field.add(b, this.y, this.x);
+    Ed25519Field.add(e, q.y, q.x);
+    multiply(b, b, e);
+    multiply(c, this.t, D2);
+    multiply(c, c, q.t);
+    multiply(d, this.z, q.z);
+    Ed25519Field.add(d, d, d);
+
+    subtract(e, b, a);
+    var f = element();
+    subtract(f, d, c);
+    var g = element();
+    Ed25519Field.add(g, d, c);
+    var h = element();
+    Ed25519Field.add(h, b, a);
+
+    return product(e, f, g, h);
+  }
+
+  Ed25519Point twice() {
+    var a = element();
+    var b = element();
+    var c = element();
+    square(a, this.x);
+    square(b, this.y);
+    square(c, this.z);
+    Ed25519Field.add(c, c, c);
+
+    var e = element();
+    Ed25519Field.add(e, this.x, this.y);
+    square(e, e);
+    subtract(e, e, a);
+    subtract(e, e, b);
+    var g = element();
+    subtract(g, b, a);
+    var f = element();
+    subtract(f, g, c);
+    var h = element();
+    Ed25519Field.add(h, a, b);
+    Ed25519Field.negate(h, h);
+
+    return product(e, f, g, h);
+  }
+
+  private static Ed25519Point product(long[] e, long[] f, long[] g, long[] h) {
+    var x = element();
+    var y = element();
+    var z = element();
+    var t = element();
+    multiply(x, e, f);
+    multiply(y, g, h);
+    multiply(z, f, g);
+    multiply(t, e, h);
+    return new Ed25519Point(x, y, z, t);
+  }
+
+  boolean isIdentity() {
+    return Ed25519Field.isZero(this.x) && Ed25519Field.equals(this.y, this.z);
+  }
+
+  boolean equals(Ed25519Point q) {
+    // x1/z1 = x2/z2 and y1/z1 = y2/z2
+    var l = element();
+    var r = element();
+    multiply(l, this.x, q.z);
+    multiply(r, q.x, this.z);
+    if (!Ed25519Field.equals(l, r)) {
+      return false;
+    }
+    multiply(l, this.y, q.z);
+    multiply(r, q.y, this.z);
+    return Ed25519Field.equals(l, r);
+  }
+
+  /**
+   * Whether the point is in the subgroup of order L, with no component of small order, which is when [L] P = 0.
+   */
+  boolean isTorsionFree() {
+    return sumOfMultiples(new Ed25519Point[][] {multiples(this)}, new byte[][] {L_BYTES}).isIdentity();
+  }
+
+  Ed25519Point negate() {
+    var x = element();
+    var t = element();
+    Ed25519Field.negate(x, this.x);
+    Ed25519Field.negate(t, this.t);
+    return new Ed25519Point(x, this.y, this.z, t);
+  }
+
+  /**
+   * The multiples 0 to 15 of the point, for adding four bits of a scalar at a time.
+   */
+  static Ed25519Point[] multiples(Ed25519Point p) {
+    var table = new Ed25519Point[16];
+    table[0] = IDENTITY;
+    table[1] = p;
+    for (var j = 2; j < 16; j++) {
+      table[j] = (j & 1) == 0 ? table[j / 2].twice() : table[j - 1].add(p);
+    }
+    return table;
+  }
+
+  /**
+   * Computes the sum of the points each multiplied by its scalar, a 32 byte little-endian value, sharing the doublings
+   * between them.
+   */
+  static Ed25519Point multiScalarMultiply(Ed25519Point[] points, byte[][] scalars) {
+    var tables = new Ed25519Point[points.length][];
+    for (var i = 0; i < points.length; i++) {
+      tables[i] = multiples(points[i]);
+    }
+    return sumOfMultiples(tables, scalars);
+  }
+
+  /**
+   * Computes the sum of the points whose {@link #multiples(Ed25519Point) multiples} are given, each multiplied by its
+   * scalar. The scalars are little-endian and all the same length, which sets the number of doublings.
+   */
+  static Ed25519Point sumOfMultiples(Ed25519Point[][] tables, byte[][] scalars) {
+    var result = IDENTITY;
+    var started = false;
+    for (var window = 2 * scalars[0].length - 1; window >= 0; window--) {
+      if (started) {
+        result = result.twice().twice().twice().twice();
+      }
+      for (var i = 0; i < tables.length; i++) {
+        var nibble = (scalars[i][window >>> 1] >>> ((window & 1) << 2)) & 0xf;
+        if (nibble != 0) {
+          result = result.add(tables[i][nibble]);
+          started = true;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Reads an unsigned little-endian integer.
+   */
+  static BigInteger littleEndian(byte[] bytes, int offset, int length) {
+    var bigEndian = new byte[length];
+    for (var i = 0; i < length; i++) {
+      bigEndian[i] = bytes[offset + length - 1 - i];
+    }
+    return new BigInteger(1, bigEndian);
+  }
+
+  /**
+   * Writes a scalar as 32 little-endian bytes.
+   */
+  static byte[] littleEndian(BigInteger value) {
+    var bigEndian = value.toByteArray();
+    var bytes = new byte[32];
+    for (var i = 0; i < 32 && i < bigEndian.length; i++) {
+      bytes[i] = bigEndian[bigEndian.length - 1 - i];
+    }
+    return bytes;
+  }
+
+  private static byte[] unhex(String hex) {
+    var bytes = new byte[hex.length() / 2];
+    for (var i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+    }
+    return bytes;
+  }
+
+}
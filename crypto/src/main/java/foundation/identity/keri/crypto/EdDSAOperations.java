@@ -1,6 +1,7 @@
 package foundation.identity.keri.crypto;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -17,6 +18,7 @@ import java.security.spec.EdECPrivateKeySpec;
 import java.security.spec.EdECPublicKeySpec;
 import java.security.spec.NamedParameterSpec;
 import java.util.Arrays;
+import java.util.List;
 
 public class EdDSAOperations implements SignatureOperations {
 
@@ -27,6 +29,8 @@ public class EdDSAOperations implements SignatureOperations {
   final KeyPairGenerator keyPairGenerator;
   final KeyFactory keyFactory;
 
+  final SignatureEngines engines = new SignatureEngines(EDDSA_ALGORITHM_NAME);
+
   public EdDSAOperations(SignatureAlgorithm signatureAlgorithm) {
     try {
       this.signatureAlgorithm = signatureAlgorithm;
@@ -149,8 +153,7 @@ public class EdDSAOperations implements SignatureOperations {
   @Override
   public Signature sign(byte[] message, PrivateKey privateKey) {
     try {
-      var sig = java.security.Signature.getInstance(EDDSA_ALGORITHM_NAME);
-      sig.initSign(privateKey);
+      var sig = this.engines.signer(privateKey);
       sig.update(message);
       var bytes = sig.sign();
 
@@ -164,8 +167,7 @@ public class EdDSAOperations implements SignatureOperations {
   @Override
   public boolean verify(byte[] message, Signature signature, PublicKey publicKey) {
     try {
-      var sig = java.security.Signature.getInstance(EDDSA_ALGORITHM_NAME);
-      sig.initVerify(publicKey);
+      var sig = this.engines.verifier(publicKey);
       sig.update(message);
       return sig.verify(signature.bytes());
     } catch (GeneralSecurityException e) {
@@ -174,4 +176,32 @@ public class EdDSAOperations implements SignatureOperations {
     }
   }
 
+  @Override
+  public boolean verify(ByteBuffer message, Signature signature, PublicKey publicKey) {
+    try {
+      var sig = this.engines.verifier(publicKey);
+      sig.update(message.duplicate());
+      return sig.verify(signature.bytes());
+    } catch (GeneralSecurityException e) {
+      // TODO handle better
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Ed25519 signatures are verified as a batch, see {@link Ed25519BatchVerifier}.
+   */
+  @Override
+  public boolean[] verifyBatch(List<ByteBuffer> messages, List<Signature> signatures, List<PublicKey> publicKeys) {
+    if (!this.parameterSpec.getName().equals(NamedParameterSpec.ED25519.getName())
+        || messages.size() < Ed25519BatchVerifier.MINIMUM_BATCH_SIZE) {
+      return SignatureOperations.super.verifyBatch(messages, signatures, publicKeys);
+    }
+    if (messages.size() != signatures.size() || messages.size() != publicKeys.size()) {
+      throw new IllegalArgumentException("messages, signatures and publicKeys must be the same size");
+    }
+
+    return Ed25519BatchVerifier.verify(this, messages, signatures, publicKeys);
+  }
+
 }
@@ -1,15 +1,43 @@
 package foundation.identity.keri.crypto;
 
+import java.util.Arrays;
+
 import static java.util.Objects.requireNonNull;
 
+/**
+ * A digest that holds its bytes without exposing them, so its hash is computed once, and comparing it with another
+ * immutable digest doesn't copy either's bytes.
+ */
 public class ImmutableDigest implements Digest {
 
   final DigestAlgorithm algorithm;
   final byte[] bytes;
+  final int hashCode;
 
   public ImmutableDigest(DigestAlgorithm algorithm, byte[] bytes) {
     this.algorithm = requireNonNull(algorithm);
     this.bytes = requireNonNull(bytes).clone();
+    this.hashCode = Digest.hashCode(this.algorithm, this.bytes);
+  }
+
+  /**
+   * Copies the digest, sharing its bytes if it's immutable.
+   */
+  protected ImmutableDigest(Digest digest) {
+    this.algorithm = requireNonNull(digest.algorithm());
+    this.bytes = bytesOf(digest);
+    this.hashCode = Digest.hashCode(digest);
+  }
+
+  // the digest's bytes, which mustn't be modified, without copying them if they're held by an immutable digest
+  static byte[] bytesOf(Digest digest) {
+    return digest instanceof ImmutableDigest ? ((ImmutableDigest) digest).bytes : digest.bytes();
+  }
+
+  static boolean equals(ImmutableDigest d1, ImmutableDigest d2) {
+    return d1.hashCode == d2.hashCode
+        && d1.algorithm.equals(d2.algorithm)
+        && Arrays.equals(d1.bytes, d2.bytes);
   }
 
   @Override
@@ -24,7 +52,7 @@ public class ImmutableDigest implements Digest {
 
   @Override
   public int hashCode() {
-    return Digest.hashCode(this);
+    return this.hashCode;
   }
 
   @Override
@@ -1,5 +1,8 @@
 package foundation.identity.keri.crypto;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -7,19 +10,117 @@ public class JcaDigestOperations implements DigestOperations {
 
   private final DigestAlgorithm digestAlgorithm;
 
+  // looking up a digester is costly, so each thread reuses one; digesting resets it
+  private final ThreadLocal<MessageDigest> digesters = ThreadLocal.withInitial(this::newDigester);
+
   public JcaDigestOperations(DigestAlgorithm digestAlgorithm) {
     this.digestAlgorithm = digestAlgorithm;
   }
 
+  private MessageDigest newDigester() {
+    try {
+      return MessageDigest.getInstance(this.digestAlgorithm.algorithmName());
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public DigestAlgorithm algorithm() {
+    return this.digestAlgorithm;
+  }
+
   @Override
   public Digest digest(byte[] bytes) {
+    var digester = this.digesters.get();
+
+    return new ImmutableDigest(this.digestAlgorithm, digester.digest(bytes));
+  }
+
+  @Override
+  public Digest digest(ByteBuffer bytes) {
+    var digester = this.digesters.get();
+    digester.update(bytes.duplicate());
+
+    return new ImmutableDigest(this.digestAlgorithm, digester.digest());
+  }
+
+  @Override
+  public int digest(ByteBuffer bytes, ByteBuffer out) {
+    var digester = this.digesters.get();
+    digester.update(bytes.duplicate());
+
+    return this.finish(digester, out);
+  }
+
+  @Override
+  public Digester digester() {
+    MessageDigest digester;
     try {
-      var digester = MessageDigest.getInstance(this.digestAlgorithm.algorithmName());
+      // copying the thread's digester, which is always reset, is cheaper than looking up another
+      digester = (MessageDigest) this.digesters.get().clone();
+    } catch (CloneNotSupportedException e) {
+      digester = this.newDigester();
+    }
+    return new JcaDigester(digester);
+  }
 
-      return new ImmutableDigest(this.digestAlgorithm, digester.digest(bytes));
-    } catch (NoSuchAlgorithmException e) {
+  private int finish(MessageDigest digester, ByteBuffer out) {
+    if (out.remaining() < this.digestAlgorithm.digestLength()) {
+      digester.reset();
+      throw new BufferOverflowException();
+    }
+    if (!out.hasArray()) {
+      var digest = digester.digest();
+      out.put(digest);
+      return digest.length;
+    }
+
+    try {
+      var length = digester.digest(out.array(), out.arrayOffset() + out.position(), out.remaining());
+      out.position(out.position() + length);
+      return length;
+    } catch (DigestException e) {
       throw new RuntimeException(e);
     }
   }
 
+  private final class JcaDigester implements Digester {
+
+    private final MessageDigest digester;
+
+    JcaDigester(MessageDigest digester) {
+      this.digester = digester;
+    }
+
+    @Override
+    public Digester update(byte[] bytes) {
+      this.digester.update(bytes);
+      return this;
+    }
+
+    @Override
+    public Digester update(byte[] bytes, int offset, int length) {
+      this.digester.update(bytes, offset, length);
+      return this;
+    }
+
+    @Override
+    public Digester update(ByteBuffer bytes) {
+      this.digester.update(bytes.duplicate());
+      return this;
+    }
+
+    @Override
+    public Digest finish() {
+      return new ImmutableDigest(JcaDigestOperations.this.digestAlgorithm, this.digester.digest());
+    }
+
+    @Override
+    public int finish(ByteBuffer out) {
+      return JcaDigestOperations.this.finish(this.digester, out);
+    }
+
+  }
+
 }
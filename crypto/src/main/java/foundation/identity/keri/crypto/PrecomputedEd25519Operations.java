@@ -0,0 +1,144 @@
+package foundation.identity.keri.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Arrays;
+
+import static foundation.identity.keri.crypto.Ed25519Point.L;
+import static foundation.identity.keri.crypto.Ed25519Point.littleEndian;
+
+/**
+ * Ed25519 operations that verify signatures themselves, keeping what's worked out from each public key in a
+ * {@link SegmentedLruCache} keyed by the key's encoding, so keys that verify signature after signature, witness keys
+ * and a controller's current keys, are only decompressed and tabled once.
+ *
+ * <p>A key's precomputation holds the multiples of its negated point A, and of 2^64 A, 2^128 A and 2^192 A, about
+ * 25KB. With the same tables for the base point, checking [s]B - [h]A = R takes 64 doublings instead of 252.
+ *
+ * <p>Signatures are checked as RFC 8032 specifies, without the cofactor, so they verify exactly when the JDK's
+ * implementation verifies them, except that a signature whose R isn't a point is rejected rather than throwing.
+ * Signing and everything else is left to {@link EdDSAOperations}.
+ */
+public class PrecomputedEd25519Operations extends EdDSAOperations {
+
+  public static final int DEFAULT_MAXIMUM_KEYS = 512;
+
+  private static final int QUARTERS = 4;
+
+  private static final Ed25519Point[][] BASE_TABLES = tables(Ed25519Point.BASE);
+
+  private final SegmentedLruCache<ByteBuffer, Ed25519Point[][]> tables;
+
+  private final ThreadLocal<MessageDigest> sha512 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-512");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  });
+
+  public PrecomputedEd25519Operations() {
+    this(DEFAULT_MAXIMUM_KEYS);
+  }
+
+  public PrecomputedEd25519Operations(int maximumKeys) {
+    super(StandardSignatureAlgorithms.ED_25519);
+    if (maximumKeys <= 0) {
+      throw new IllegalArgumentException("maximumKeys must be positive");
+    }
+
+    this.tables = new SegmentedLruCache<>(maximumKeys);
+  }
+
+  @Override
+  public boolean verify(byte[] message, Signature signature, PublicKey publicKey) {
+    return this.verify(ByteBuffer.wrap(message), signature, publicKey);
+  }
+
+  @Override
+  public boolean verify(ByteBuffer message, Signature signature, PublicKey publicKey) {
+    var encodedKey = Ed25519BatchVerifier.encodedKey(publicKey);
+    if (encodedKey == null) {
+      // another provider's idea of a key, which the JDK may still make sense of
+      return super.verify(message, signature, publicKey);
+    }
+
+    var bytes = signature.bytes();
+    if (bytes.length != 64) {
+      return false;
+    }
+
+    var s = littleEndian(bytes, 32, 32);
+    if (s.compareTo(L) >= 0) {
+      return false;
+    }
+
+    var r = Ed25519Point.decode(bytes, 0);
+    var tables = this.tables(encodedKey);
+    if (r == null || tables == null) {
+      return false;
+    }
+
+    var sha512 = this.sha512.get();
+    sha512.update(bytes, 0, 32);
+    sha512.update(encodedKey);
+    sha512.update(message.duplicate());
+    var h = littleEndian(sha512.digest(), 0, 64).mod(L);
+
+    var allTables = new Ed25519Point[2 * QUARTERS][];
+    var scalars = new byte[2 * QUARTERS][];
+    var sBytes = littleEndian(s);
+    var hBytes = littleEndian(h);
+    for (var i = 0; i < QUARTERS; i++) {
+      allTables[i] = BASE_TABLES[i];
+      scalars[i] = Arrays.copyOfRange(sBytes, 8 * i, 8 * i + 8);
+      allTables[QUARTERS + i] = tables[i];
+      scalars[QUARTERS + i] = Arrays.copyOfRange(hBytes, 8 * i, 8 * i + 8);
+    }
+
+    return Ed25519Point.sumOfMultiples(allTables, scalars).equals(r);
+  }
+
+  // the key's tables, or null if its encoding isn't a point on the curve
+  private Ed25519Point[][] tables(byte[] encodedKey) {
+    return this.tables.computeIfAbsent(ByteBuffer.wrap(encodedKey), k -> {
+      var a = Ed25519Point.decode(encodedKey, 0);
+      return a != null ? tables(a.negate()) : null;
+    });
+  }
+
+  // the multiples of p, 2^64 p, 2^128 p and 2^192 p
+  private static Ed25519Point[][] tables(Ed25519Point p) {
+    var tables = new Ed25519Point[QUARTERS][];
+    for (var i = 0; i < QUARTERS; i++) {
+      tables[i] = Ed25519Point.multiples(p);
+      for (var j = 0; j < 64; j++) {
+        p = p.twice();
+      }
+    }
+    return tables;
+  }
+
+  public int maximumKeys() {
+    return this.tables.maximumSize();
+  }
+
+  public int size() {
+    return this.tables.size();
+  }
+
+  public long hits() {
+    return this.tables.hits();
+  }
+
+  public long misses() {
+    return this.tables.misses();
+  }
+
+  public double hitRate() {
+    return this.tables.hitRate();
+  }
+
+}
@@ -0,0 +1,147 @@
+package foundation.identity.keri.crypto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, thread-safe map that keeps recently used entries, counting its hits, misses and evictions.
+ *
+ * <p>The map is split into segments by the key's hash, each with its own lock, and each evicting its least recently
+ * used entry once full. Values are computed outside the segment's lock, so two threads missing the same key at once may
+ * both compute it.
+ */
+public final class SegmentedLruCache<K, V> {
+
+  private static final int SEGMENTS = 16;
+
+  private final Segment<K, V>[] segments;
+  private final int maximumSize;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  @SuppressWarnings("unchecked")
+  public SegmentedLruCache(int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+
+    this.maximumSize = maximumSize;
+    this.segments = (Segment<K, V>[]) new Segment<?, ?>[SEGMENTS];
+    var segmentSize = Math.max(1, maximumSize / SEGMENTS);
+    for (var i = 0; i < SEGMENTS; i++) {
+      this.segments[i] = new Segment<>(segmentSize, this.evictions);
+    }
+  }
+
+  /**
+   * The value for the key, or null if there isn't one.
+   */
+  public V get(K key) {
+    var segment = this.segment(key);
+    V value;
+    synchronized (segment) {
+      value = segment.get(key);
+    }
+
+    if (value != null) {
+      this.hits.increment();
+    } else {
+      this.misses.increment();
+    }
+    return value;
+  }
+
+  /**
+   * The value for the key, computing and keeping it if there isn't one. Null values, and exceptions thrown computing
+   * them, aren't kept.
+   */
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+    var value = this.get(key);
+    if (value != null) {
+      return value;
+    }
+
+    value = function.apply(key);
+    if (value != null) {
+      this.put(key, value);
+    }
+    return value;
+  }
+
+  public void put(K key, V value) {
+    var segment = this.segment(key);
+    synchronized (segment) {
+      segment.put(key, value);
+    }
+  }
+
+  private Segment<K, V> segment(K key) {
+    var h = key.hashCode();
+    return this.segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+  }
+
+  public int maximumSize() {
+    return this.maximumSize;
+  }
+
+  public int size() {
+    var size = 0;
+    for (var segment : this.segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  public long hits() {
+    return this.hits.sum();
+  }
+
+  public long misses() {
+    return this.misses.sum();
+  }
+
+  public long evictions() {
+    return this.evictions.sum();
+  }
+
+  public double hitRate() {
+    var hits = this.hits.sum();
+    var lookups = hits + this.misses.sum();
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("SegmentedLruCache[size=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.4f]",
+        this.size(), this.hits(), this.misses(), this.evictions(), this.hitRate());
+  }
+
+  private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+    private final int maximumSize;
+    private final LongAdder evictions;
+
+    Segment(int maximumSize, LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+      this.evictions = evictions;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      if (this.size() > this.maximumSize) {
+        this.evictions.increment();
+        return true;
+      }
+      return false;
+    }
+
+  }
+
+}
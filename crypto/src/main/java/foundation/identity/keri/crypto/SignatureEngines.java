@@ -0,0 +1,57 @@
+package foundation.identity.keri.crypto;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * A JCA signature engine for each thread, since looking one up is costly. The engine is initialized again with the key
+ * on each use, and replaced if its provider doesn't take the key.
+ */
+final class SignatureEngines {
+
+  private final String algorithm;
+  private final ThreadLocal<java.security.Signature> engines = ThreadLocal.withInitial(this::newEngine);
+
+  SignatureEngines(String algorithm) {
+    this.algorithm = algorithm;
+  }
+
+  java.security.Signature signer(PrivateKey privateKey) throws InvalidKeyException {
+    return this.engine(engine -> engine.initSign(privateKey));
+  }
+
+  java.security.Signature verifier(PublicKey publicKey) throws InvalidKeyException {
+    return this.engine(engine -> engine.initVerify(publicKey));
+  }
+
+  private java.security.Signature engine(Initializer initializer) throws InvalidKeyException {
+    var engine = this.engines.get();
+    try {
+      initializer.initialize(engine);
+    } catch (InvalidKeyException e) {
+      // the thread's engine settled on a provider that doesn't take this key
+      engine = this.newEngine();
+      initializer.initialize(engine);
+      this.engines.set(engine);
+    }
+    return engine;
+  }
+
+  private java.security.Signature newEngine() {
+    try {
+      return java.security.Signature.getInstance(this.algorithm);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Initializer {
+
+    void initialize(java.security.Signature engine) throws InvalidKeyException;
+
+  }
+
+}
@@ -1,9 +1,11 @@
 package foundation.identity.keri.crypto;
 
+import java.nio.ByteBuffer;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.SecureRandom;
+import java.util.List;
 
 public interface SignatureOperations {
 
@@ -48,4 +50,32 @@ public interface SignatureOperations {
 
   boolean verify(byte[] message, Signature signature, PublicKey publicKey);
 
+  /**
+   * Verifies the signature over the message's remaining bytes, leaving the buffer's position where it was.
+   */
+  default boolean verify(ByteBuffer message, Signature signature, PublicKey publicKey) {
+    var bytes = new byte[message.remaining()];
+    message.duplicate().get(bytes);
+    return this.verify(bytes, signature, publicKey);
+  }
+
+  /**
+   * Verifies many signatures at once, returning whether each is valid. The message, signature and public key of each
+   * are at the same index of the lists.
+   *
+   * <p>Operations that can verify a batch faster than its signatures one by one override this. An override must accept
+   * exactly the signatures {@link #verify(ByteBuffer, Signature, PublicKey)} accepts, whatever else is in the batch.
+   */
+  default boolean[] verifyBatch(List<ByteBuffer> messages, List<Signature> signatures, List<PublicKey> publicKeys) {
+    if (messages.size() != signatures.size() || messages.size() != publicKeys.size()) {
+      throw new IllegalArgumentException("messages, signatures and publicKeys must be the same size");
+    }
+
+    var results = new boolean[messages.size()];
+    for (var i = 0; i < results.length; i++) {
+      results[i] = this.verify(messages.get(i), signatures.get(i), publicKeys.get(i));
+    }
+    return results;
+  }
+
 }
@@ -0,0 +1,139 @@
+package foundation.identity.keri.eventstorage.file;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Bloom filter over the 64-bit keys of the {@link EventIndex}, answering whether events may be stored at an
+ * (identifier, sequence number) without touching the index or the log.
+ *
+ * <p>The filter counts its answers so its observed false-positive rate can be compared with the rate it was sized
+ * for. A lookup the filter let through that found nothing is a false positive.
+ */
+public final class BloomFilter {
+
+  private final long[] bits;
+  private final long bitCount;
+  private final int hashCount;
+  private final long expectedInsertions;
+  private final double falsePositiveProbability;
+
+  private final LongAdder insertions = new LongAdder();
+  private final LongAdder negatives = new LongAdder();
+  private final LongAdder positives = new LongAdder();
+  private final LongAdder falsePositives = new LongAdder();
+
+  BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("expectedInsertions must be positive");
+    }
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+    }
+
+    var ln2 = Math.log(2);
+    var optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+    this.bits = new long[(int) Math.min((optimalBits + 63) / 64, Integer.MAX_VALUE - 8)];
+    this.bitCount = (long) this.bits.length * 64;
+    this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / expectedInsertions * ln2));
+    this.expectedInsertions = expectedInsertions;
+    this.falsePositiveProbability = falsePositiveProbability;
+  }
+
+  void put(long hash) {
+    var h2 = secondHash(hash);
+    for (var i = 0; i < this.hashCount; i++) {
+      var bit = Long.remainderUnsigned(hash + i * h2, this.bitCount);
+      this.bits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+    this.insertions.increment();
+  }
+
+  boolean mightContain(long hash) {
+    var h2 = secondHash(hash);
+    for (var i = 0; i < this.hashCount; i++) {
+      var bit = Long.remainderUnsigned(hash + i * h2, this.bitCount);
+      if ((this.bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        this.negatives.increment();
+        return false;
+      }
+    }
+    this.positives.increment();
+    return true;
+  }
+
+  void falsePositive() {
+    this.falsePositives.increment();
+  }
+
+  // the keys are already well mixed, so a rotation gives an independent enough second hash for double hashing
+  private static long secondHash(long hash) {
+    return Long.rotateLeft(hash, 32) | 1;
+  }
+
+  public long bitCount() {
+    return this.bitCount;
+  }
+
+  public int hashCount() {
+    return this.hashCount;
+  }
+
+  public long expectedInsertions() {
+    return this.expectedInsertions;
+  }
+
+  public long insertions() {
+    return this.insertions.sum();
+  }
+
+  /**
+   * Lookups the filter answered without consulting the index.
+   */
+  public long negatives() {
+    return this.negatives.sum();
+  }
+
+  /**
+   * Lookups the filter passed on to the index.
+   */
+  public long positives() {
+    return this.positives.sum();
+  }
+
+  public long falsePositives() {
+    return this.falsePositives.sum();
+  }
+
+  /**
+   * The fraction of lookups for absent keys that the filter failed to reject.
+   */
+  public double falsePositiveRate() {
+    var falsePositives = this.falsePositives.sum();
+    var absent = falsePositives + this.negatives.sum();
+    return absent == 0 ? 0 : (double) falsePositives / absent;
+  }
+
+  /**
+   * The false-positive rate the filter was sized for.
+   */
+  public double falsePositiveProbability() {
+    return this.falsePositiveProbability;
+  }
+
+  /**
+   * The false-positive rate expected at the current number of insertions, which exceeds the sized-for rate once more
+   * keys are inserted than expected.
+   */
+  public double expectedFalsePositiveRate() {
+    return Math.pow(1 - Math.exp(-this.hashCount * (double) this.insertions.sum() / this.bitCount), this.hashCount);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("BloomFilter[insertions=%d, negatives=%d, positives=%d, falsePositives=%d, "
+            + "falsePositiveRate=%.4f, expectedFalsePositiveRate=%.4f]",
+        this.insertions(), this.negatives(), this.positives(), this.falsePositives(),
+        this.falsePositiveRate(), this.expectedFalsePositiveRate());
+  }
+
+}
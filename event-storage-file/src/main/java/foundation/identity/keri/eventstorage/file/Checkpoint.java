@@ -0,0 +1,186 @@
+package foundation.identity.keri.eventstorage.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A snapshot of the current key state of every identifier and of the latest receipts, covering the log up to a
+ * position.
+ *
+ * <p>Key states are stored compactly, as the log positions of their last event and last establishment event plus the
+ * fields that can't be derived from those events. They are turned back into key states when first looked up.
+ *
+ * <pre>
+ * [long magic][long position]
+ * [int count]([str identifier][long last event][long last establishment event]
+ *             [int count]([str witness])*[int configuration traits][str delegating identifier])*
+ * [int count]([str receipted identifier][int count]([str receipting identifier][long sequence number])*)*
+ * [int crc32c]
+ * </pre>
+ */
+final class Checkpoint {
+
+  static final String FILE = "state.checkpoint";
+
+  private static final long MAGIC = 0x4b45524943484b50L; // KERICHKP
+
+  final long position;
+  final Map<String, State> states;
+  final Map<String, Map<String, Long>> latestReceipts;
+
+  Checkpoint(long position, Map<String, State> states, Map<String, Map<String, Long>> latestReceipts) {
+    this.position = position;
+    this.states = states;
+    this.latestReceipts = latestReceipts;
+  }
+
+  static final class State {
+
+    final long lastEvent;
+    final long lastEstablishmentEvent;
+    final List<String> witnesses;
+    final int configurationTraits;
+    // empty if the identifier isn't delegated
+    final String delegatingIdentifier;
+
+    State(
+        long lastEvent,
+        long lastEstablishmentEvent,
+        List<String> witnesses,
+        int configurationTraits,
+        String delegatingIdentifier) {
+      this.lastEvent = lastEvent;
+      this.lastEstablishmentEvent = lastEstablishmentEvent;
+      this.witnesses = witnesses;
+      this.configurationTraits = configurationTraits;
+      this.delegatingIdentifier = delegatingIdentifier;
+    }
+
+  }
+
+  static Optional<Checkpoint> read(Path directory) {
+    var path = directory.resolve(FILE);
+    if (!Files.exists(path)) {
+      return Optional.empty();
+    }
+
+    var crc = new CRC32C();
+    try (var in = new DataInputStream(
+        new CheckedInputStream(new BufferedInputStream(Files.newInputStream(path)), crc))) {
+      if (in.readLong() != MAGIC) {
+        return Optional.empty();
+      }
+
+      var position = in.readLong();
+
+      var stateCount = in.readInt();
+      var states = new HashMap<String, State>(stateCount * 2);
+      for (var i = 0; i < stateCount; i++) {
+        var identifier = in.readUTF();
+        var lastEvent = in.readLong();
+        var lastEstablishmentEvent = in.readLong();
+        var witnessCount = in.readInt();
+        var witnesses = new ArrayList<String>(witnessCount);
+        for (var j = 0; j < witnessCount; j++) {
+          witnesses.add(in.readUTF());
+        }
+        var configurationTraits = in.readInt();
+        var delegatingIdentifier = in.readUTF();
+        states.put(identifier,
+            new State(lastEvent, lastEstablishmentEvent, witnesses, configurationTraits, delegatingIdentifier));
+      }
+
+      var receiptedCount = in.readInt();
+      var latestReceipts = new HashMap<String, Map<String, Long>>(receiptedCount * 2);
+      for (var i = 0; i < receiptedCount; i++) {
+        var receipted = in.readUTF();
+        var receiptingCount = in.readInt();
+        var receipts = new HashMap<String, Long>(receiptingCount * 2);
+        for (var j = 0; j < receiptingCount; j++) {
+          receipts.put(in.readUTF(), in.readLong());
+        }
+        latestReceipts.put(receipted, receipts);
+      }
+
+      var expected = (int) crc.getValue();
+      if (in.readInt() != expected) {
+        return Optional.empty();
+      }
+
+      return Optional.of(new Checkpoint(position, states, latestReceipts));
+    } catch (IOException e) {
+      // a truncated or unreadable checkpoint just means replaying more of the log
+      return Optional.empty();
+    }
+  }
+
+  void write(Path directory) {
+    var path = directory.resolve(FILE);
+    var temp = directory.resolve(FILE + ".tmp");
+
+    var crc = new CRC32C();
+    try (var out = new DataOutputStream(
+        new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+      out.writeLong(MAGIC);
+      out.writeLong(this.position);
+
+      out.writeInt(this.states.size());
+      for (var kv : this.states.entrySet()) {
+        var state = kv.getValue();
+        out.writeUTF(kv.getKey());
+        out.writeLong(state.lastEvent);
+        out.writeLong(state.lastEstablishmentEvent);
+        out.writeInt(state.witnesses.size());
+        for (var witness : state.witnesses) {
+          out.writeUTF(witness);
+        }
+        out.writeInt(state.configurationTraits);
+        out.writeUTF(state.delegatingIdentifier);
+      }
+
+      out.writeInt(this.latestReceipts.size());
+      for (var kv : this.latestReceipts.entrySet()) {
+        out.writeUTF(kv.getKey());
+        out.writeInt(kv.getValue().size());
+        for (var receipt : kv.getValue().entrySet()) {
+          out.writeUTF(receipt.getKey());
+          out.writeLong(receipt.getValue());
+        }
+      }
+
+      out.flush();
+      out.writeInt((int) crc.getValue());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    try {
+      try (var channel = FileChannel.open(temp, WRITE)) {
+        channel.force(true);
+      }
+      Files.move(temp, path, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
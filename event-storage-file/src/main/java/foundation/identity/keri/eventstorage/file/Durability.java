@@ -0,0 +1,25 @@
+package foundation.identity.keri.eventstorage.file;
+
+/**
+ * When an append to a {@link FileKeyEventStore} returns, relative to its record reaching the storage device.
+ */
+public enum Durability {
+
+  /**
+   * Each append forces the log before returning. Appends that arrive while a force is in progress share the next one.
+   */
+  PER_EVENT,
+
+  /**
+   * Appends wait for a group commit, which forces the log once for every append that arrived within the commit
+   * interval.
+   */
+  GROUP,
+
+  /**
+   * Appends return once written to the operating system; the log is forced in the background every commit interval.
+   * Records appended within the last interval may be lost on a crash.
+   */
+  ASYNC
+
+}
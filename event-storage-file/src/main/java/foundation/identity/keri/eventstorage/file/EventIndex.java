@@ -0,0 +1,255 @@
+package foundation.identity.keri.eventstorage.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An on-disk, memory-mapped hash table from (identifier, sequence number) to the log positions of the events and
+ * attachments recorded there. The store also uses it to map seals to the positions of the events that anchored them.
+ *
+ * <p>Slots are 16 bytes: a 64-bit hash of the key and the log position of the record. Keys are not stored, so callers
+ * must confirm a candidate position against the record itself. Several positions may be stored under the same key,
+ * as for an event and its attachments, or when an identifier has duplicitous events.
+ *
+ * <p>The header records the capacity, the number of entries and the log position up to which records have been
+ * indexed, so the index can be brought up to date after a crash by indexing the log from that position. The position
+ * is only written to the header by {@link #force(long)}, once the slots have been forced, so the operating system
+ * can't write it back ahead of the slots it covers.
+ */
+final class EventIndex implements Closeable {
+
+  private static final long MAGIC = 0x4b45524958494458L; // KERIXIDX
+  private static final int HEADER_SIZE = 64;
+  private static final int SLOT_SIZE = 16;
+  private static final int SLOTS_PER_CHUNK = 1 << 26; // 1 GiB mappings
+  private static final double MAX_LOAD = 0.7;
+
+  private static final int MAGIC_OFFSET = 0;
+  private static final int CAPACITY_OFFSET = 8;
+  private static final int SIZE_OFFSET = 16;
+  private static final int INDEXED_POSITION_OFFSET = 24;
+
+  private final Path path;
+
+  private FileChannel channel;
+  private MappedByteBuffer header;
+  private MappedByteBuffer[] chunks;
+  private long capacity;
+  private long size;
+  private long indexedPosition;
+
+  EventIndex(Path path, long initialCapacity) {
+    this.path = path;
+    try {
+      if (Files.exists(path)) {
+        this.map(path);
+      } else {
+        create(path, Long.highestOneBit(Math.max(initialCapacity, 16) - 1) << 1);
+        this.map(path);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static long hash(long identifierHash, long sequenceNumber) {
+    var h = identifierHash ^ (sequenceNumber * 0x9E3779B97F4A7C15L);
+    h ^= (h >>> 33);
+    h *= 0xff51afd7ed558ccdL;
+    h ^= (h >>> 33);
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= (h >>> 33);
+    // zero marks an empty slot
+    return h != 0 ? h : 1;
+  }
+
+  long size() {
+    return this.size;
+  }
+
+  long indexedPosition() {
+    return this.indexedPosition;
+  }
+
+  void indexedPosition(long position) {
+    this.indexedPosition = position;
+  }
+
+  void put(long hash, long position) {
+    if (this.size + 1 > this.capacity * MAX_LOAD) {
+      this.resize(this.capacity * 2);
+    }
+
+    if (this.insert(hash, position)) {
+      this.size++;
+    }
+  }
+
+  void positions(long hash, LongConsumer consumer) {
+    var mask = this.capacity - 1;
+    for (var slot = hash & mask; ; slot = (slot + 1) & mask) {
+      var slotHash = this.hashAt(slot);
+      if (slotHash == 0) {
+        return;
+      }
+      if (slotHash == hash) {
+        consumer.accept(this.positionAt(slot));
+      }
+    }
+  }
+
+  // each hash once, however many positions are stored under it
+  void distinctHashes(LongConsumer consumer) {
+    for (var slot = 0L; slot < this.capacity; slot++) {
+      var hash = this.hashAt(slot);
+      if (hash != 0 && this.firstSlot(hash) == slot) {
+        consumer.accept(hash);
+      }
+    }
+  }
+
+  void hashes(LongConsumer consumer) {
+    for (var slot = 0L; slot < this.capacity; slot++) {
+      var hash = this.hashAt(slot);
+      if (hash != 0) {
+        consumer.accept(hash);
+      }
+    }
+  }
+
+  /**
+   * Forces the slots to disk, then records the size and the indexed position in the header and forces it. The
+   * recorded position is capped at the given log position, up to which the log must already be on disk.
+   */
+  void force(long durablePosition) {
+    for (var chunk : this.chunks) {
+      chunk.force();
+    }
+    this.header.putLong(SIZE_OFFSET, this.size);
+    this.header.putLong(INDEXED_POSITION_OFFSET, Math.min(this.indexedPosition, durablePosition));
+    this.header.force();
+  }
+
+  // returns false if the entry was already present
+  private boolean insert(long hash, long position) {
+    var mask = this.capacity - 1;
+    for (var slot = hash & mask; ; slot = (slot + 1) & mask) {
+      var slotHash = this.hashAt(slot);
+      if (slotHash == 0) {
+        var chunk = this.chunks[(int) (slot / SLOTS_PER_CHUNK)];
+        var offset = (int) (slot % SLOTS_PER_CHUNK) * SLOT_SIZE;
+        chunk.putLong(offset + 8, position);
+        chunk.putLong(offset, hash);
+        return true;
+      }
+      if (slotHash == hash && this.positionAt(slot) == position) {
+        return false;
+      }
+    }
+  }
+
+  // entries are never removed, so the first slot of a hash is the first one probed from its home slot
+  private long firstSlot(long hash) {
+    var mask = this.capacity - 1;
+    for (var slot = hash & mask; ; slot = (slot + 1) & mask) {
+      if (this.hashAt(slot) == hash) {
+        return slot;
+      }
+    }
+  }
+
+  private long hashAt(long slot) {
+    return this.chunks[(int) (slot / SLOTS_PER_CHUNK)].getLong((int) (slot % SLOTS_PER_CHUNK) * SLOT_SIZE);
+  }
+
+  private long positionAt(long slot) {
+    return this.chunks[(int) (slot / SLOTS_PER_CHUNK)].getLong((int) (slot % SLOTS_PER_CHUNK) * SLOT_SIZE + 8);
+  }
+
+  private void resize(long newCapacity) {
+    try {
+      var resized = this.path.resolveSibling(this.path.getFileName() + ".resize");
+      Files.deleteIfExists(resized);
+      create(resized, newCapacity);
+
+      var old = this;
+      var next = new EventIndex(resized, newCapacity);
+      for (var slot = 0L; slot < old.capacity; slot++) {
+        var hash = old.hashAt(slot);
+        if (hash != 0) {
+          next.insert(hash, old.positionAt(slot));
+        }
+      }
+      next.size = old.size;
+      next.indexedPosition(old.indexedPosition());
+      next.force(old.indexedPosition());
+      next.channel.close();
+
+      this.channel.close();
+      Files.move(resized, this.path, ATOMIC_MOVE, REPLACE_EXISTING);
+      this.map(this.path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void create(Path path, long capacity) throws IOException {
+    try (var channel = FileChannel.open(path, CREATE, READ, WRITE)) {
+      var header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+      header.putLong(MAGIC_OFFSET, MAGIC);
+      header.putLong(CAPACITY_OFFSET, capacity);
+      header.putLong(SIZE_OFFSET, 0);
+      header.putLong(INDEXED_POSITION_OFFSET, 0);
+      header.force();
+    }
+  }
+
+  private void map(Path path) throws IOException {
+    this.channel = FileChannel.open(path, READ, WRITE);
+    this.header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+    if (this.header.getLong(MAGIC_OFFSET) != MAGIC) {
+      throw new IllegalStateException("not an event index: " + path);
+    }
+
+    this.capacity = this.header.getLong(CAPACITY_OFFSET);
+    this.indexedPosition = this.header.getLong(INDEXED_POSITION_OFFSET);
+
+    var chunkCount = (int) ((this.capacity + SLOTS_PER_CHUNK - 1) / SLOTS_PER_CHUNK);
+    this.chunks = new MappedByteBuffer[chunkCount];
+    for (var i = 0; i < chunkCount; i++) {
+      var slots = Math.min(SLOTS_PER_CHUNK, this.capacity - (long) i * SLOTS_PER_CHUNK);
+      this.chunks[i] = this.channel.map(
+          FileChannel.MapMode.READ_WRITE,
+          HEADER_SIZE + (long) i * SLOTS_PER_CHUNK * SLOT_SIZE,
+          slots * SLOT_SIZE);
+    }
+
+    // slots put after the header was last written may have reached the disk too, so they're counted
+    this.size = 0;
+    this.hashes(hash -> this.size++);
+  }
+
+  @Override
+  public void close() {
+    try {
+      this.force(this.indexedPosition);
+      this.channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
@@ -0,0 +1,913 @@
+package foundation.identity.keri.eventstorage.file;
+
+import foundation.identity.keri.KeyEventDeserializer;
+import foundation.identity.keri.KeyEventStore;
+import foundation.identity.keri.KeyStateProcessor;
+import foundation.identity.keri.QualifiedBase64;
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.AttachmentEvent;
+import foundation.identity.keri.api.event.ConfigurationTrait;
+import foundation.identity.keri.api.event.DelegatingEventCoordinates;
+import foundation.identity.keri.api.event.EstablishmentEvent;
+import foundation.identity.keri.api.event.InceptionEvent;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import foundation.identity.keri.api.event.SealingEvent;
+import foundation.identity.keri.api.identifier.BasicIdentifier;
+import foundation.identity.keri.api.identifier.Identifier;
+import foundation.identity.keri.api.seal.Seal;
+import foundation.identity.keri.crypto.Digest;
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.internal.ImmutableKeyState;
+import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import foundation.identity.keri.internal.seal.ImmutableSeals;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link KeyEventStore} that persists events to an append-only, segmented log on disk.
+ *
+ * <p>Events, and the attachments appended for them, are located through an on-disk index keyed by identifier and
+ * sequence number, and are read back through memory mappings of the log segments and the {@link KeyEventDeserializer}.
+ * Key states are computed by replaying events, then cached: the current state of every identifier that has been looked
+ * up, plus a bounded number of states at other coordinates. Current states are periodically checkpointed, so after a
+ * restart only the events appended since the last checkpoint are replayed.
+ *
+ * <p>Appends return once their record is as durable as the configured {@link Durability} requires. With group
+ * commit, concurrent appends share a single force of the log.
+ */
+public class FileKeyEventStore implements KeyEventStore, Closeable {
+
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+  public static final long DEFAULT_INDEX_CAPACITY = 1 << 16;
+  public static final int DEFAULT_STATE_CACHE_SIZE = 10_000;
+  public static final Durability DEFAULT_DURABILITY = Durability.GROUP;
+  public static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofMillis(1);
+  public static final long DEFAULT_CHECKPOINT_INTERVAL = 100_000;
+  public static final int DEFAULT_EXPECTED_EVENTS_PER_IDENTIFIER = 16;
+  public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  private static final String INDEX_FILE = "events.index";
+  private static final String SEAL_INDEX_FILE = "seals.index";
+
+  private final SegmentedLog log;
+  private final EventIndex index;
+  // seal -> positions of the events that anchored it
+  private final EventIndex sealIndex;
+  private final GroupCommitter committer;
+  // null unless configured
+  private final BloomFilter filter;
+  private final KeyEventDeserializer deserializer;
+
+  private final Map<Identifier, KeyState> currentStates = new HashMap<>();
+  // where the last event and last establishment event of each current state are, so it can be checkpointed
+  private final Map<Identifier, Positions> currentPositions = new HashMap<>();
+  private final Map<KeyEventCoordinates, KeyState> states;
+  // receipted identifier -> receipting identifier -> highest receipted sequence number
+  private final Map<String, Map<String, Long>> latestReceipts = new HashMap<>();
+  // states loaded from the checkpoint that haven't been looked up yet
+  private final Map<String, Checkpoint.State> checkpointed = new HashMap<>();
+
+  private final Path directory;
+  private final long checkpointInterval;
+  private long appendedSinceCheckpoint;
+  private final AtomicBoolean checkpointDue = new AtomicBoolean();
+  // held while a checkpoint is written, so checkpoints are written one at a time and in order
+  private final Object checkpointLock = new Object();
+
+  private FileKeyEventStore(Builder builder) {
+    this.directory = builder.directory;
+    this.checkpointInterval = builder.checkpointInterval;
+    this.log = new SegmentedLog(builder.directory, builder.segmentSize);
+    this.index = new EventIndex(builder.directory.resolve(INDEX_FILE), builder.indexCapacity);
+    this.sealIndex = new EventIndex(builder.directory.resolve(SEAL_INDEX_FILE), builder.indexCapacity);
+    this.deserializer = builder.deserializer;
+
+    var stateCacheSize = builder.stateCacheSize;
+    this.states = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<KeyEventCoordinates, KeyState> eldest) {
+        return this.size() > stateCacheSize;
+      }
+    };
+
+    this.recover();
+
+    if (builder.expectedIdentifiers > 0) {
+      this.filter = new BloomFilter(
+          builder.expectedIdentifiers * builder.expectedEventsPerIdentifier, builder.falsePositiveProbability);
+      // attachments share their event's key, so each key is put once, and only if an event is recorded under it
+      this.index.distinctHashes(hash -> {
+        if (this.indexesEvent(hash)) {
+          this.filter.put(hash);
+        }
+      });
+    } else {
+      this.filter = null;
+    }
+
+    this.committer = new GroupCommitter(this.log, builder.durability, builder.commitInterval);
+  }
+
+  public static Builder builder(Path directory) {
+    return new Builder(directory);
+  }
+
+  // loads the checkpoint, then catches the indexes, states and receipts up with the rest of the log
+  private void recover() {
+    var end = this.log.end();
+    for (var index : List.of(this.index, this.sealIndex)) {
+      if (index.indexedPosition() > end) {
+        // the log lost records the index already knew about; stale entries are filtered out on lookup
+        index.indexedPosition(0);
+      }
+    }
+
+    // a checkpoint beyond the end of the log covers records that were lost
+    var checkpoint = Checkpoint.read(this.directory)
+        .filter(c -> c.position <= end)
+        .orElse(new Checkpoint(0, Map.of(), Map.of()));
+    this.checkpointed.putAll(checkpoint.states);
+    checkpoint.latestReceipts.forEach((k, v) -> this.latestReceipts.put(k, new HashMap<>(v)));
+
+    var indexedPosition = this.index.indexedPosition();
+    var sealsIndexedPosition = this.sealIndex.indexedPosition();
+    var from = Math.min(Math.min(indexedPosition, sealsIndexedPosition), checkpoint.position);
+    for (var position = this.log.seek(from); position != end; position = this.log.next(position)) {
+      var reader = new Records.Reader(this.log.read(position));
+      var type = reader.type();
+      var identifier = reader.string();
+      var sequenceNumber = reader.sequenceNumber();
+      reader.string();
+
+      if (position >= indexedPosition) {
+        this.index.put(EventIndex.hash(Records.hash(identifier), sequenceNumber), position);
+      }
+
+      if (type == Records.EVENT) {
+        if (position >= sealsIndexedPosition) {
+          this.indexSeals(this.decode(position), position);
+        }
+        reader.eventBytes();
+      }
+
+      if (position < checkpoint.position) {
+        continue;
+      }
+
+      reader.skipSignatures();
+      reader.skipSignatures();
+      var receipts = reader.receiptCount();
+      for (var i = 0; i < receipts; i++) {
+        var receiptor = reader.string();
+        reader.sequenceNumber();
+        reader.string();
+        reader.skipSignatures();
+        this.recordReceipt(identifier, sequenceNumber, receiptor);
+      }
+    }
+
+    this.index.indexedPosition(end);
+    this.sealIndex.indexedPosition(end);
+  }
+
+  /**
+   * Writes a checkpoint of the current key states and receipts, so that reopening the store only has to read the log
+   * appended after it. Checkpoints are also written periodically, as configured, and on {@link #close()}.
+   *
+   * <p>Only taking the snapshot holds up appends; the checkpoint is written after they've been let go.
+   */
+  public void checkpoint() {
+    synchronized (this.checkpointLock) {
+      long position;
+      Map<String, Checkpoint.State> states;
+      Map<Identifier, KeyState> currentStates;
+      Map<Identifier, Positions> currentPositions;
+      var latestReceipts = new HashMap<String, Map<String, Long>>();
+      synchronized (this) {
+        position = this.log.end();
+        states = new HashMap<>(this.checkpointed);
+        currentStates = new HashMap<>(this.currentStates);
+        currentPositions = new HashMap<>(this.currentPositions);
+        this.latestReceipts.forEach((k, v) -> latestReceipts.put(k, new HashMap<>(v)));
+        this.appendedSinceCheckpoint = 0;
+      }
+
+      currentStates.forEach((identifier, state) -> states.put(Records.identifier(identifier),
+          checkpointState(state, currentPositions.get(identifier))));
+
+      // the checkpoint must not cover records that could still be lost
+      this.log.force();
+      new Checkpoint(position, states, latestReceipts).write(this.directory);
+
+      // after a crash, the indexes are then brought up to date from no further back than the checkpoint
+      synchronized (this) {
+        this.index.force(position);
+        this.sealIndex.force(position);
+      }
+    }
+  }
+
+  private static Checkpoint.State checkpointState(KeyState state, Positions positions) {
+    var witnesses = state.witnesses()
+        .stream()
+        .map(Records::identifier)
+        .collect(Collectors.toList());
+
+    var configurationTraits = 0;
+    for (var trait : state.configurationTraits()) {
+      configurationTraits |= 1 << trait.ordinal();
+    }
+
+    return new Checkpoint.State(
+        positions.lastEvent,
+        positions.lastEstablishmentEvent,
+        witnesses,
+        configurationTraits,
+        state.delegatingIdentifier().map(Records::identifier).orElse(""));
+  }
+
+  private KeyState restore(Checkpoint.State state) {
+    var lastEvent = this.decode(state.lastEvent);
+    var lastEstablishmentEvent = (EstablishmentEvent) this.decode(state.lastEstablishmentEvent);
+
+    var witnesses = state.witnesses
+        .stream()
+        .map(w -> (BasicIdentifier) QualifiedBase64.identifier(w))
+        .collect(Collectors.toList());
+
+    var configurationTraits = EnumSet.noneOf(ConfigurationTrait.class);
+    for (var trait : ConfigurationTrait.values()) {
+      if ((state.configurationTraits & (1 << trait.ordinal())) != 0) {
+        configurationTraits.add(trait);
+      }
+    }
+
+    var delegatingIdentifier = state.delegatingIdentifier.isEmpty()
+        ? null
+        : QualifiedBase64.identifier(state.delegatingIdentifier);
+
+    // keys, thresholds and the next key configuration only change with establishment events
+    return new ImmutableKeyState(
+        lastEvent.identifier(),
+        lastEstablishmentEvent.signingThreshold(),
+        lastEstablishmentEvent.keys(),
+        lastEstablishmentEvent.nextKeyConfiguration().orElse(null),
+        lastEstablishmentEvent.witnessThreshold(),
+        witnesses,
+        configurationTraits,
+        lastEvent,
+        lastEstablishmentEvent,
+        delegatingIdentifier);
+  }
+
+  @Override
+  public void append(KeyEvent event) {
+    this.committer.await(this.write(event));
+    if (this.checkpointDue.compareAndSet(true, false)) {
+      this.checkpoint();
+    }
+  }
+
+  @Override
+  public void append(AttachmentEvent event) {
+    this.committer.await(this.write(event));
+  }
+
+  // writes the event, returning the log position its record ends at
+  private synchronized long write(KeyEvent event) {
+    var previousState = this.getKeyState(event.previous()).orElse(null);
+    var newState = KeyStateProcessor.apply(previousState, event);
+    var coordinates = ImmutableKeyEventCoordinates.convert(event.coordinates());
+
+    var position = this.find(coordinates).orElse(-1);
+    if (position < 0) {
+      var identifier = Records.identifier(event.identifier());
+      position = this.log.append(Records.event(event));
+      var hash = EventIndex.hash(Records.hash(identifier), event.sequenceNumber());
+      this.index.put(hash, position);
+      if (this.filter != null) {
+        this.filter.put(hash);
+      }
+      this.index.indexedPosition(this.log.end());
+      this.indexSeals(event, position);
+      this.sealIndex.indexedPosition(this.log.end());
+    } else {
+      // already stored, so only its attachments may be new
+      this.appendNewAttachments(position, new ImmutableAttachmentEvent(coordinates, event.authentication(),
+          event.endorsements(), event.receipts()));
+    }
+
+    this.recordReceipts(coordinates, event.receipts());
+
+    this.states.put(coordinates, newState);
+
+    // FIXME doesn't take duplicity into account
+    // (if the current state isn't loaded, it's replayed when first looked up)
+    var current = this.currentStates.get(event.identifier());
+    if (current == null ? event instanceof InceptionEvent : newState.sequenceNumber() > current.sequenceNumber()) {
+      long lastEstablishmentEvent;
+      if (event instanceof EstablishmentEvent) {
+        lastEstablishmentEvent = position;
+      } else if (previousState == current) {
+        lastEstablishmentEvent = this.currentPositions.get(event.identifier()).lastEstablishmentEvent;
+      } else {
+        // extends a state other than the current one
+        lastEstablishmentEvent = this.find(newState.lastEstablishmentEvent().coordinates()).getAsLong();
+      }
+      this.currentStates.put(event.identifier(), newState);
+      this.currentPositions.put(event.identifier(), new Positions(position, lastEstablishmentEvent));
+    }
+
+    // written by the appending thread once it has let go of the store
+    if (this.checkpointInterval > 0 && ++this.appendedSinceCheckpoint >= this.checkpointInterval) {
+      this.appendedSinceCheckpoint = 0;
+      this.checkpointDue.set(true);
+    }
+
+    return this.log.end();
+  }
+
+  private synchronized long write(AttachmentEvent event) {
+    var coordinates = event.coordinates();
+    var position = this.find(coordinates);
+    if (position.isPresent()) {
+      this.appendNewAttachments(position.getAsLong(), event);
+    } else {
+      this.appendAttachment(coordinates.identifier(), coordinates.sequenceNumber(), Records.attachment(event));
+    }
+    this.recordReceipts(coordinates, event.receipts());
+    return this.log.end();
+  }
+
+  // writes only the signatures the store doesn't already hold for the event at position, if there are any
+  private void appendNewAttachments(long position, AttachmentEvent event) {
+    var held = this.attachments(position, event.coordinates());
+    var receipts = new HashMap<KeyEventCoordinates, Map<Integer, Signature>>();
+    for (var kv : event.receipts().entrySet()) {
+      var signatures = difference(kv.getValue(),
+          held.receipts().getOrDefault(ImmutableKeyEventCoordinates.convert(kv.getKey()), Map.of()));
+      if (!signatures.isEmpty()) {
+        receipts.put(kv.getKey(), signatures);
+      }
+    }
+    var attachments = new ImmutableAttachmentEvent(event.coordinates(),
+        difference(event.authentication(), held.authentication()),
+        difference(event.endorsements(), held.endorsements()),
+        receipts);
+
+    if (attachments.authentication().isEmpty() && attachments.endorsements().isEmpty() && receipts.isEmpty()) {
+      return;
+    }
+    var coordinates = event.coordinates();
+    this.appendAttachment(coordinates.identifier(), coordinates.sequenceNumber(), Records.attachment(attachments));
+  }
+
+  private static Map<Integer, Signature> difference(Map<Integer, Signature> signatures, Map<Integer, Signature> held) {
+    var difference = new HashMap<Integer, Signature>();
+    for (var kv : signatures.entrySet()) {
+      if (!kv.getValue().equals(held.get(kv.getKey()))) {
+        difference.put(kv.getKey(), kv.getValue());
+      }
+    }
+    return difference;
+  }
+
+  // attachment records are indexed with the events they're for, so they can be read back with them
+  private void appendAttachment(Identifier identifier, long sequenceNumber, ByteBuffer record) {
+    var position = this.log.append(record);
+    this.index.put(EventIndex.hash(Records.hash(Records.identifier(identifier)), sequenceNumber), position);
+    this.index.indexedPosition(this.log.end());
+  }
+
+  private void indexSeals(KeyEvent event, long position) {
+    if (event instanceof SealingEvent) {
+      for (var seal : ((SealingEvent) event).seals()) {
+        Records.seal(seal).ifPresent(key -> this.sealIndex.put(sealHash(key), position));
+      }
+    }
+  }
+
+  private void recordReceipts(
+      KeyEventCoordinates event,
+      Map<KeyEventCoordinates, Map<Integer, Signature>> receipts) {
+    var identifier = Records.identifier(event.identifier());
+    for (var receiptor : receipts.keySet()) {
+      this.recordReceipt(identifier, event.sequenceNumber(), Records.identifier(receiptor.identifier()));
+    }
+  }
+
+  private void recordReceipt(String identifier, long sequenceNumber, String receiptor) {
+    this.latestReceipts.computeIfAbsent(identifier, k -> new HashMap<>())
+        .merge(receiptor, sequenceNumber, Math::max);
+  }
+
+  @Override
+  public synchronized Optional<SealingEvent> getKeyEvent(DelegatingEventCoordinates coordinates) {
+    var identifier = Records.identifier(coordinates.identifier());
+    for (var position : this.positions(identifier, coordinates.sequenceNumber())) {
+      var event = this.decode(position);
+      if (event.previous().digest().equals(coordinates.previousEvent().digest())
+          && event instanceof SealingEvent) {
+        return Optional.of((SealingEvent) event);
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public synchronized Optional<KeyEvent> getKeyEvent(KeyEventCoordinates coordinates) {
+    return this.find(coordinates).stream()
+        .mapToObj(this::decode)
+        .findFirst();
+  }
+
+  @Override
+  public synchronized Optional<AttachmentEvent> getAttachments(KeyEventCoordinates coordinates) {
+    var position = this.find(coordinates);
+    if (position.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(this.attachments(position.getAsLong(), coordinates));
+  }
+
+  // the signatures stored with the event at position, and in the attachment records appended since
+  private AttachmentEvent attachments(long position, KeyEventCoordinates coordinates) {
+    var reader = this.header(position);
+    var digest = reader.string();
+    var eventBytes = reader.eventBytes();
+    var authentication = reader.signatures();
+    var endorsements = reader.signatures();
+    var receipts = reader.receipts();
+
+    // attachments appended since, which may reference the event by another digest algorithm
+    var identifier = Records.identifier(coordinates.identifier());
+    for (var attachment : this.records(Records.ATTACHMENT, identifier, coordinates.sequenceNumber())) {
+      if (attachment < position) {
+        continue;
+      }
+
+      reader = this.header(attachment);
+      var attachmentDigest = reader.string();
+      if (!attachmentDigest.equals(digest)
+          && !DigestOperations.matches(eventBytes.duplicate(), QualifiedBase64.digest(attachmentDigest))) {
+        continue;
+      }
+
+      authentication.putAll(reader.signatures());
+      endorsements.putAll(reader.signatures());
+      reader.receipts().forEach((receiptor, signatures) ->
+          receipts.computeIfAbsent(receiptor, k -> new HashMap<>()).putAll(signatures));
+    }
+
+    var eventCoordinates = ImmutableKeyEventCoordinates.of(coordinates, QualifiedBase64.digest(digest));
+    return new ImmutableAttachmentEvent(eventCoordinates, authentication, endorsements, receipts);
+  }
+
+  // position of the event at coordinates
+  private OptionalLong find(KeyEventCoordinates coordinates) {
+    if (coordinates.sequenceNumber() < 0 || Digest.NONE.equals(coordinates.digest())) {
+      return OptionalLong.empty();
+    }
+
+    var identifier = Records.identifier(coordinates.identifier());
+    var positions = this.positions(identifier, coordinates.sequenceNumber());
+    var digest = Records.digest(coordinates.digest());
+
+    for (var position : positions) {
+      var reader = this.header(position);
+      if (reader.string().equals(digest)) {
+        return OptionalLong.of(position);
+      }
+    }
+
+    // the coordinates may reference the event using a different digest algorithm
+    for (var position : positions) {
+      var reader = this.header(position);
+      reader.string();
+      var bytes = reader.eventBytes();
+      var array = new byte[bytes.remaining()];
+      bytes.get(array);
+      if (DigestOperations.matches(array, coordinates.digest())) {
+        return OptionalLong.of(position);
+      }
+    }
+
+    return OptionalLong.empty();
+  }
+
+  // positions of the events at (identifier, sequenceNumber), in the order they were appended
+  private List<Long> positions(String identifier, long sequenceNumber) {
+    return this.records(Records.EVENT, identifier, sequenceNumber);
+  }
+
+  // positions of the records of the given type at (identifier, sequenceNumber), in the order they were appended
+  private List<Long> records(byte type, String identifier, long sequenceNumber) {
+    var hash = EventIndex.hash(Records.hash(identifier), sequenceNumber);
+    if (this.filter != null && !this.filter.mightContain(hash)) {
+      return List.of();
+    }
+
+    var end = this.log.end();
+    var positions = new ArrayList<Long>(1);
+    this.index.positions(hash, position -> {
+      // keys aren't stored in the index, so confirm against the record
+      if (position < end && this.isRecord(position, type, identifier, sequenceNumber)) {
+        positions.add(position);
+      }
+    });
+
+    // attachments are only looked up for events already found, so only event lookups say anything of the filter
+    if (positions.isEmpty() && type == Records.EVENT && this.filter != null) {
+      this.filter.falsePositive();
+    }
+
+    positions.sort(null);
+    return positions;
+  }
+
+  private boolean isRecord(long position, byte type, String identifier, long sequenceNumber) {
+    try {
+      var reader = new Records.Reader(this.log.read(position));
+      return reader.type() == type
+          && reader.string().equals(identifier)
+          && reader.sequenceNumber() == sequenceNumber;
+    } catch (RuntimeException e) {
+      // a stale entry pointing into the middle of a record
+      return false;
+    }
+  }
+
+  private boolean indexesEvent(long hash) {
+    var end = this.log.end();
+    var events = new ArrayList<Long>(1);
+    this.index.positions(hash, position -> {
+      if (position < end && this.isType(position, Records.EVENT)) {
+        events.add(position);
+      }
+    });
+    return !events.isEmpty();
+  }
+
+  private boolean isType(long position, byte type) {
+    try {
+      return new Records.Reader(this.log.read(position)).type() == type;
+    } catch (RuntimeException e) {
+      // a stale entry pointing into the middle of a record
+      return false;
+    }
+  }
+
+  // a reader positioned at the digest of the record at position
+  private Records.Reader header(long position) {
+    var reader = new Records.Reader(this.log.read(position));
+    reader.type();
+    reader.string();
+    reader.sequenceNumber();
+    return reader;
+  }
+
+  private KeyEvent decode(long position) {
+    var reader = this.header(position);
+    reader.string();
+    var bytes = reader.eventBytes();
+    var array = new byte[bytes.remaining()];
+    bytes.get(array);
+    return (KeyEvent) this.deserializer.deserialize(array, reader.signatures());
+  }
+
+  private synchronized List<KeyEvent> eventsAt(Identifier identifier, long sequenceNumber) {
+    var events = new ArrayList<KeyEvent>(1);
+    for (var position : this.positions(Records.identifier(identifier), sequenceNumber)) {
+      events.add(this.decode(position));
+    }
+    return events;
+  }
+
+  @Override
+  public Stream<KeyEvent> streamKeyEvents(Identifier identifier) {
+    return this.streamKeyEvents(identifier, 0);
+  }
+
+  @Override
+  public Stream<KeyEvent> streamKeyEvents(Identifier identifier, long from) {
+    // sequence numbers are contiguous, so the KEL ends at the first one without events
+    return LongStream.iterate(from, s -> s + 1)
+        .mapToObj(s -> this.eventsAt(identifier, s))
+        .takeWhile(events -> !events.isEmpty())
+        .flatMap(List::stream);
+  }
+
+  /**
+   * Streams the bytes of every event in the order they were appended, as read-only views of the log segments. The
+   * buffers are only valid while the store is open.
+   */
+  public Stream<ByteBuffer> streamKeyEventBytes() {
+    var end = this.log.end();
+    return LongStream.iterate(this.log.seek(0), p -> p != end, this.log::next)
+        .mapToObj(p -> new Records.Reader(this.log.read(p)))
+        .filter(r -> r.type() == Records.EVENT)
+        .map(r -> {
+          r.string();
+          r.sequenceNumber();
+          r.string();
+          return r.eventBytes();
+        });
+  }
+
+  @Override
+  public synchronized Optional<KeyState> getKeyState(Identifier identifier) {
+    var state = this.currentStates.get(identifier);
+    if (state == null) {
+      state = this.replay(identifier);
+      if (state == null) {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(state);
+  }
+
+  // replays the KEL from its checkpointed state or from inception, following each event's link to its predecessor,
+  // and makes the result the current state
+  private KeyState replay(Identifier identifier) {
+    var key = Records.identifier(identifier);
+    var checkpointed = this.checkpointed.remove(key);
+    var state = checkpointed != null ? this.restore(checkpointed) : null;
+    var positions = checkpointed != null
+        ? new Positions(checkpointed.lastEvent, checkpointed.lastEstablishmentEvent)
+        : null;
+
+    for (var sequenceNumber = state != null ? state.sequenceNumber() + 1 : 0; ; sequenceNumber++) {
+      KeyEvent next = null;
+      for (var position : this.positions(key, sequenceNumber)) {
+        var event = this.decode(position);
+        if (state == null ? event instanceof InceptionEvent : matches(state.lastEvent(), event.previous())) {
+          next = event;
+          positions = new Positions(position,
+              event instanceof EstablishmentEvent ? position : positions.lastEstablishmentEvent);
+          break;
+        }
+      }
+
+      if (next == null) {
+        break;
+      }
+
+      state = KeyStateProcessor.apply(state, next);
+    }
+
+    if (state != null) {
+      this.currentStates.put(identifier, state);
+      this.currentPositions.put(identifier, positions);
+    }
+    return state;
+  }
+
+  private static boolean matches(KeyEvent event, KeyEventCoordinates coordinates) {
+    return event.sequenceNumber() == coordinates.sequenceNumber()
+        && (Digest.equals(event.coordinates().digest(), coordinates.digest())
+            || DigestOperations.matches(event.byteBuffer(), coordinates.digest()));
+  }
+
+  @Override
+  public synchronized Optional<KeyState> getKeyState(KeyEventCoordinates coordinates) {
+    if (coordinates.sequenceNumber() < 0 || Digest.NONE.equals(coordinates.digest())) {
+      return Optional.empty();
+    }
+
+    var current = this.getKeyState(coordinates.identifier());
+    if (current.isPresent() && matches(current.get().lastEvent(), coordinates)) {
+      return current;
+    }
+
+    var converted = ImmutableKeyEventCoordinates.convert(coordinates);
+    var state = this.states.get(converted);
+    if (state != null) {
+      return Optional.of(state);
+    }
+
+    var event = this.getKeyEvent(coordinates);
+    if (event.isEmpty()) {
+      return Optional.empty();
+    }
+
+    var chain = new ArrayDeque<KeyEvent>();
+    chain.push(event.get());
+    while (!(chain.peek() instanceof InceptionEvent)) {
+      var previous = this.getKeyEvent(chain.peek().previous());
+      if (previous.isEmpty()) {
+        return Optional.empty();
+      }
+      chain.push(previous.get());
+    }
+
+    for (var e : chain) {
+      state = KeyStateProcessor.apply(state, e);
+    }
+
+    this.states.put(converted, state);
+    return Optional.of(state);
+  }
+
+  @Override
+  public synchronized OptionalLong findLatestReceipt(Identifier forIdentifier, Identifier byIdentifier) {
+    var receipts = this.latestReceipts.get(Records.identifier(forIdentifier));
+    if (receipts == null) {
+      return OptionalLong.empty();
+    }
+
+    var latest = receipts.get(Records.identifier(byIdentifier));
+    return latest != null ? OptionalLong.of(latest) : OptionalLong.empty();
+  }
+
+  private static long sealHash(String key) {
+    return EventIndex.hash(Records.hash(key), 0);
+  }
+
+  @Override
+  public synchronized Optional<KeyEventCoordinates> findAnchoringEvent(Seal seal) {
+    var key = Records.seal(seal);
+    if (key.isEmpty()) {
+      return Optional.empty();
+    }
+
+    var end = this.log.end();
+    var positions = new ArrayList<Long>(1);
+    this.sealIndex.positions(sealHash(key.get()), position -> {
+      if (position < end) {
+        positions.add(position);
+      }
+    });
+    positions.sort(null);
+
+    // keys aren't stored in the index, so confirm against the event
+    var converted = ImmutableSeals.convert(seal).get();
+    for (var position : positions) {
+      try {
+        var event = this.decode(position);
+        if (event instanceof SealingEvent && ((SealingEvent) event).seals().stream()
+            .anyMatch(s -> ImmutableSeals.convert(s).filter(converted::equals).isPresent())) {
+          return Optional.of(event.coordinates());
+        }
+      } catch (RuntimeException e) {
+        // a stale entry pointing into the middle of a record
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  /**
+   * The filter in front of lookups, if one was configured.
+   */
+  public Optional<BloomFilter> bloomFilter() {
+    return Optional.ofNullable(this.filter);
+  }
+
+  /**
+   * Time appends spent waiting for their records to become durable.
+   */
+  public LatencyHistogram commitLatency() {
+    return this.committer.commitLatency();
+  }
+
+  /**
+   * Time spent forcing the log to the storage device, once per commit.
+   */
+  public LatencyHistogram forceLatency() {
+    return this.committer.forceLatency();
+  }
+
+  @Override
+  public void close() {
+    // commit outstanding appends before the log is closed under them
+    this.committer.close();
+    this.checkpoint();
+
+    synchronized (this) {
+      this.index.indexedPosition(this.log.end());
+      this.index.close();
+      this.sealIndex.indexedPosition(this.log.end());
+      this.sealIndex.close();
+      this.log.close();
+    }
+  }
+
+  private static final class Positions {
+
+    final long lastEvent;
+    final long lastEstablishmentEvent;
+
+    Positions(long lastEvent, long lastEstablishmentEvent) {
+      this.lastEvent = lastEvent;
+      this.lastEstablishmentEvent = lastEstablishmentEvent;
+    }
+
+  }
+
+  public static class Builder {
+
+    private final Path directory;
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+    private long indexCapacity = DEFAULT_INDEX_CAPACITY;
+    private int stateCacheSize = DEFAULT_STATE_CACHE_SIZE;
+    private KeyEventDeserializer deserializer = new KeyEventDeserializer();
+    private Durability durability = DEFAULT_DURABILITY;
+    private Duration commitInterval = DEFAULT_COMMIT_INTERVAL;
+    private long checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    private long expectedIdentifiers;
+    private int expectedEventsPerIdentifier = DEFAULT_EXPECTED_EVENTS_PER_IDENTIFIER;
+    private double falsePositiveProbability = DEFAULT_FALSE_POSITIVE_PROBABILITY;
+
+    private Builder(Path directory) {
+      this.directory = requireNonNull(directory);
+    }
+
+    public Builder segmentSize(int segmentSize) {
+      this.segmentSize = segmentSize;
+      return this;
+    }
+
+    public Builder indexCapacity(long indexCapacity) {
+      this.indexCapacity = indexCapacity;
+      return this;
+    }
+
+    public Builder stateCacheSize(int stateCacheSize) {
+      this.stateCacheSize = stateCacheSize;
+      return this;
+    }
+
+    public Builder deserializer(KeyEventDeserializer deserializer) {
+      this.deserializer = requireNonNull(deserializer);
+      return this;
+    }
+
+    public Builder durability(Durability durability) {
+      this.durability = requireNonNull(durability);
+      return this;
+    }
+
+    /**
+     * How long a group commit waits for further appends to join it, or for {@link Durability#ASYNC}, the longest
+     * an appended record goes unforced.
+     */
+    public Builder commitInterval(Duration commitInterval) {
+      this.commitInterval = requireNonNull(commitInterval);
+      return this;
+    }
+
+    /**
+     * The number of appended events between checkpoints, or zero to only checkpoint on close.
+     */
+    public Builder checkpointInterval(long checkpointInterval) {
+      this.checkpointInterval = checkpointInterval;
+      return this;
+    }
+
+    /**
+     * Puts a {@link BloomFilter} in front of lookups so that most lookups of events that aren't stored are answered
+     * without reading the index. The filter is held in memory and rebuilt from the index on startup.
+     */
+    public Builder bloomFilter(long expectedIdentifiers) {
+      return this.bloomFilter(
+          expectedIdentifiers, DEFAULT_EXPECTED_EVENTS_PER_IDENTIFIER, DEFAULT_FALSE_POSITIVE_PROBABILITY);
+    }
+
+    public Builder bloomFilter(
+        long expectedIdentifiers,
+        int expectedEventsPerIdentifier,
+        double falsePositiveProbability) {
+      this.expectedIdentifiers = expectedIdentifiers;
+      this.expectedEventsPerIdentifier = expectedEventsPerIdentifier;
+      this.falsePositiveProbability = falsePositiveProbability;
+      return this;
+    }
+
+    public FileKeyEventStore build() {
+      return new FileKeyEventStore(this);
+    }
+
+  }
+
+}
@@ -0,0 +1,204 @@
+package foundation.identity.keri.eventstorage.file;
+
+import java.io.Closeable;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Makes appended records durable according to a {@link Durability}, forcing the log once for a batch of appends
+ * rather than once per append.
+ *
+ * <p>Appenders write their records and then {@link #await(long)} the log position their record ends at. The log is
+ * forced outside of any lock held by appenders, so records keep being written while a batch is forced.
+ */
+final class GroupCommitter implements Closeable {
+
+  private final SegmentedLog log;
+  private final Durability durability;
+  private final long intervalNanos;
+  private final LatencyHistogram commitLatency = new LatencyHistogram();
+  private final LatencyHistogram forceLatency = new LatencyHistogram();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition pending = this.lock.newCondition();
+  private final Condition committed = this.lock.newCondition();
+  private final Thread committer;
+
+  // guarded by lock
+  private long requested;
+  private UncheckedIOException failure;
+
+  private volatile boolean closed;
+
+  // everything before this position has been forced
+  private volatile long durable;
+
+  GroupCommitter(SegmentedLog log, Durability durability, Duration interval) {
+    this.log = log;
+    this.durability = durability;
+    this.intervalNanos = interval.toNanos();
+    this.durable = log.end();
+    this.requested = this.durable;
+
+    if (durability == Durability.PER_EVENT) {
+      this.committer = null;
+    } else {
+      this.committer = new Thread(this::run, "keri-group-commit");
+      this.committer.setDaemon(true);
+      this.committer.start();
+    }
+  }
+
+  LatencyHistogram commitLatency() {
+    return this.commitLatency;
+  }
+
+  LatencyHistogram forceLatency() {
+    return this.forceLatency;
+  }
+
+  /**
+   * Waits, as required by the durability mode, until the log has been forced through position.
+   */
+  void await(long position) {
+    var start = System.nanoTime();
+
+    switch (this.durability) {
+      case PER_EVENT -> this.forceThrough(position);
+      case GROUP -> this.awaitGroupCommit(position);
+      case ASYNC -> this.request(position);
+    }
+
+    this.commitLatency.record(System.nanoTime() - start);
+  }
+
+  private void forceThrough(long position) {
+    synchronized (this) {
+      // a concurrent append may have already forced this record
+      if (this.durable < position) {
+        var target = this.log.end();
+        this.force();
+        this.durable = target;
+      }
+    }
+  }
+
+  private void request(long position) {
+    this.lock.lock();
+    try {
+      this.checkOpen();
+      if (position > this.requested) {
+        this.requested = position;
+        this.pending.signal();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private void awaitGroupCommit(long position) {
+    this.lock.lock();
+    try {
+      this.checkOpen();
+      if (position > this.requested) {
+        this.requested = position;
+        this.pending.signal();
+      }
+
+      while (this.durable < position) {
+        this.committed.awaitUninterruptibly();
+        this.checkFailure();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private void checkOpen() {
+    if (this.closed) {
+      throw new IllegalStateException("closed");
+    }
+    this.checkFailure();
+  }
+
+  private void checkFailure() {
+    if (this.failure != null) {
+      throw new UncheckedIOException("commit failed", this.failure.getCause());
+    }
+  }
+
+  private void run() {
+    while (true) {
+      this.lock.lock();
+      try {
+        while (this.requested <= this.durable && !this.closed) {
+          this.pending.awaitUninterruptibly();
+        }
+        if (this.requested <= this.durable) {
+          return;
+        }
+      } finally {
+        this.lock.unlock();
+      }
+
+      // let further appends join the batch
+      if (!this.closed) {
+        LockSupport.parkNanos(this.intervalNanos);
+      }
+
+      var target = this.log.end();
+      try {
+        this.force();
+      } catch (UncheckedIOException e) {
+        this.lock.lock();
+        try {
+          this.failure = e;
+          this.committed.signalAll();
+        } finally {
+          this.lock.unlock();
+        }
+        return;
+      }
+
+      this.lock.lock();
+      try {
+        this.durable = target;
+        this.committed.signalAll();
+      } finally {
+        this.lock.unlock();
+      }
+    }
+  }
+
+  private void force() {
+    var start = System.nanoTime();
+    this.log.force();
+    this.forceLatency.record(System.nanoTime() - start);
+  }
+
+  /**
+   * Commits outstanding appends and stops the committer.
+   */
+  @Override
+  public void close() {
+    this.lock.lock();
+    try {
+      this.closed = true;
+      this.pending.signal();
+    } finally {
+      this.lock.unlock();
+    }
+
+    if (this.committer != null) {
+      try {
+        this.committer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,57 @@
+package foundation.identity.keri.eventstorage.file;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent histogram of latencies with power-of-two nanosecond buckets.
+ */
+public final class LatencyHistogram {
+
+  // bucket i counts latencies in [2^(i-1), 2^i) nanoseconds
+  private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+
+  void record(long nanos) {
+    this.buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 0)));
+  }
+
+  public long count() {
+    var count = 0L;
+    for (var i = 0; i < this.buckets.length(); i++) {
+      count += this.buckets.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns an upper bound, within a factor of two, of the latency in nanoseconds below which the given fraction of
+   * recorded latencies fall.
+   */
+  public long percentile(double fraction) {
+    var counts = new long[this.buckets.length()];
+    var count = 0L;
+    for (var i = 0; i < counts.length; i++) {
+      counts[i] = this.buckets.get(i);
+      count += counts[i];
+    }
+
+    var rank = (long) Math.ceil(fraction * count);
+    var seen = 0L;
+    for (var i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank && seen > 0) {
+        return i < Long.SIZE - 1 ? 1L << i : Long.MAX_VALUE;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d p50<%dus p99<%dus p99.9<%dus",
+        this.count(),
+        this.percentile(0.5) / 1000,
+        this.percentile(0.99) / 1000,
+        this.percentile(0.999) / 1000);
+  }
+
+}
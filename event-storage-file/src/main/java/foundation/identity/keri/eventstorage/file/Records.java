@@ -0,0 +1,216 @@
+package foundation.identity.keri.eventstorage.file;
+
+import foundation.identity.keri.QualifiedBase64;
+import foundation.identity.keri.api.event.AttachmentEvent;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import foundation.identity.keri.api.identifier.Identifier;
+import foundation.identity.keri.api.seal.DigestSeal;
+import foundation.identity.keri.api.seal.KeyEventCoordinatesSeal;
+import foundation.identity.keri.api.seal.MerkleTreeRootSeal;
+import foundation.identity.keri.api.seal.Seal;
+import foundation.identity.keri.crypto.Digest;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Encodes and decodes the bodies of the records in the log.
+ *
+ * <p>Both record types start with the coordinates of the event they concern so they can be indexed without decoding
+ * the rest of the record:
+ *
+ * <pre>
+ * [byte type][str identifier][long sequenceNumber][str digest]
+ * event:      [int length][event bytes][sigs authentication][sigs endorsements][receipts]
+ * attachment: [sigs authentication][sigs endorsements][receipts]
+ *
+ * str:      [unsigned short length][ascii qb64]
+ * sigs:     [int count]([int index][str signature])*
+ * receipts: [int count]([str identifier][long sequenceNumber][str digest][sigs])*
+ * </pre>
+ */
+final class Records {
+
+  static final byte EVENT = 1;
+  static final byte ATTACHMENT = 2;
+
+  private Records() {
+  }
+
+  static ByteBuffer event(KeyEvent event) {
+    return encode(EVENT, event.coordinates(), event.bytes(),
+        event.authentication(), event.endorsements(), event.receipts());
+  }
+
+  static ByteBuffer attachment(AttachmentEvent event) {
+    return encode(ATTACHMENT, event.coordinates(), null,
+        event.authentication(), event.endorsements(), event.receipts());
+  }
+
+  private static ByteBuffer encode(
+      byte type,
+      KeyEventCoordinates coordinates,
+      byte[] eventBytes,
+      Map<Integer, Signature> authentication,
+      Map<Integer, Signature> endorsements,
+      Map<KeyEventCoordinates, Map<Integer, Signature>> receipts) {
+    try {
+      var baos = new ByteArrayOutputStream(eventBytes != null ? eventBytes.length + 256 : 256);
+      var out = new DataOutputStream(baos);
+
+      out.writeByte(type);
+      writeCoordinates(out, coordinates);
+
+      if (eventBytes != null) {
+        out.writeInt(eventBytes.length);
+        out.write(eventBytes);
+      }
+
+      writeSignatures(out, authentication);
+      writeSignatures(out, endorsements);
+
+      out.writeInt(receipts.size());
+      for (var kv : receipts.entrySet()) {
+        writeCoordinates(out, kv.getKey());
+        writeSignatures(out, kv.getValue());
+      }
+
+      out.flush();
+      return ByteBuffer.wrap(baos.toByteArray());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeCoordinates(DataOutputStream out, KeyEventCoordinates coordinates) throws IOException {
+    out.writeUTF(identifier(coordinates.identifier()));
+    out.writeLong(coordinates.sequenceNumber());
+    out.writeUTF(digest(coordinates.digest()));
+  }
+
+  private static void writeSignatures(DataOutputStream out, Map<Integer, Signature> signatures) throws IOException {
+    out.writeInt(signatures.size());
+    for (var kv : signatures.entrySet()) {
+      out.writeInt(kv.getKey());
+      out.writeUTF(QualifiedBase64.qb64(kv.getValue()));
+    }
+  }
+
+  static String identifier(Identifier identifier) {
+    return QualifiedBase64.qb64(identifier);
+  }
+
+  static String digest(Digest digest) {
+    // receipts from non-transferable identifiers carry no digest
+    return Digest.NONE.equals(digest) ? "" : QualifiedBase64.qb64(digest);
+  }
+
+  // a string identifying the seal, or empty if the seal's type isn't known
+  static Optional<String> seal(Seal seal) {
+    if (seal instanceof DigestSeal) {
+      return Optional.of("d:" + digest(((DigestSeal) seal).digest()));
+    } else if (seal instanceof MerkleTreeRootSeal) {
+      return Optional.of("rd:" + digest(((MerkleTreeRootSeal) seal).digest()));
+    } else if (seal instanceof KeyEventCoordinatesSeal) {
+      var event = ((KeyEventCoordinatesSeal) seal).event();
+      return Optional.of("e:" + identifier(event.identifier()) + ":" + event.sequenceNumber() + ":"
+          + digest(event.digest()));
+    } else {
+      return Optional.empty();
+    }
+  }
+
+  static long hash(String string) {
+    // FNV-1a
+    var h = 0xcbf29ce484222325L;
+    for (var i = 0; i < string.length(); i++) {
+      h ^= string.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return h;
+  }
+
+  /**
+   * A cursor over a record body. Fields must be read in the order they were written.
+   */
+  static final class Reader {
+
+    private final ByteBuffer buffer;
+
+    Reader(ByteBuffer body) {
+      this.buffer = body.duplicate();
+    }
+
+    byte type() {
+      return this.buffer.get();
+    }
+
+    String string() {
+      var length = Short.toUnsignedInt(this.buffer.getShort());
+      var bytes = new byte[length];
+      this.buffer.get(bytes);
+      return new String(bytes, UTF_8);
+    }
+
+    long sequenceNumber() {
+      return this.buffer.getLong();
+    }
+
+    // a read-only view of the event bytes, without copying them
+    ByteBuffer eventBytes() {
+      var length = this.buffer.getInt();
+      var eventBytes = this.buffer.slice(this.buffer.position(), length).asReadOnlyBuffer();
+      this.buffer.position(this.buffer.position() + length);
+      return eventBytes;
+    }
+
+    Map<Integer, Signature> signatures() {
+      var count = this.buffer.getInt();
+      var signatures = new HashMap<Integer, Signature>(count);
+      for (var i = 0; i < count; i++) {
+        var index = this.buffer.getInt();
+        signatures.put(index, QualifiedBase64.signature(this.string()));
+      }
+      return signatures;
+    }
+
+    int receiptCount() {
+      return this.buffer.getInt();
+    }
+
+    Map<KeyEventCoordinates, Map<Integer, Signature>> receipts() {
+      var count = this.receiptCount();
+      var receipts = new HashMap<KeyEventCoordinates, Map<Integer, Signature>>(count);
+      for (var i = 0; i < count; i++) {
+        var identifier = QualifiedBase64.identifier(this.string());
+        var sequenceNumber = this.sequenceNumber();
+        var digest = this.string();
+        var coordinates = new ImmutableKeyEventCoordinates(identifier, sequenceNumber,
+            digest.isEmpty() ? Digest.NONE : QualifiedBase64.digest(digest));
+        receipts.put(coordinates, this.signatures());
+      }
+      return receipts;
+    }
+
+    void skipSignatures() {
+      var count = this.buffer.getInt();
+      for (var i = 0; i < count; i++) {
+        this.buffer.getInt();
+        this.string();
+      }
+    }
+
+  }
+
+}
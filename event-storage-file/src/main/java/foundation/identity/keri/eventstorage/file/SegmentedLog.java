@@ -0,0 +1,278 @@
+package foundation.identity.keri.eventstorage.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only log of records stored in fixed-size, preallocated segment files. Records are written through the
+ * file channel and read back through read-only memory mappings of each segment.
+ *
+ * <p>Each record is framed as {@code [int length][body][int crc32c]}, where length covers the body and the checksum.
+ * A zero length marks the end of the data in a segment. A position packs the segment number into the upper 32 bits
+ * and the offset of the record's frame into the lower 32 bits.
+ */
+final class SegmentedLog implements Closeable {
+
+  private static final String SEGMENT_SUFFIX = ".segment";
+  private static final int FRAME_OVERHEAD = Integer.BYTES * 2;
+
+  private final Path directory;
+  private final int segmentSize;
+  // rarely written, so readers can walk the segments without holding a lock
+  private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+  // position the next record will be written at
+  private volatile long end;
+
+  SegmentedLog(Path directory, int segmentSize) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+
+    try {
+      Files.createDirectories(directory);
+
+      var paths = Files.list(directory)
+          .filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+          .sorted()
+          .collect(Collectors.toList());
+
+      for (var path : paths) {
+        this.segments.add(Segment.open(path, this.segments.size(), segmentSize));
+      }
+
+      if (this.segments.isEmpty()) {
+        this.segments.add(this.createSegment(0));
+      }
+
+      this.end = this.recoverEnd();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static int segment(long position) {
+    return (int) (position >>> 32);
+  }
+
+  static int offset(long position) {
+    return (int) position;
+  }
+
+  static long position(int segment, int offset) {
+    return ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+  }
+
+  int segmentSize() {
+    return this.segmentSize;
+  }
+
+  long end() {
+    return this.end;
+  }
+
+  List<Path> segmentPaths() {
+    return this.segments.stream()
+        .map(s -> s.path)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Appends the record body, returning the position it was written at. Callers must serialize appends.
+   */
+  long append(ByteBuffer body) {
+    var frameLength = body.remaining() + FRAME_OVERHEAD;
+    if (frameLength + Integer.BYTES > this.segmentSize) {
+      throw new IllegalArgumentException("record of " + body.remaining() + " bytes exceeds segment size");
+    }
+
+    var position = this.end;
+    var segment = this.segments.get(segment(position));
+    var offset = offset(position);
+
+    // leave room for the zero length that terminates the segment
+    if (offset + frameLength + Integer.BYTES > this.segmentSize) {
+      segment = this.createSegment(segment.number + 1);
+      this.segments.add(segment);
+      offset = 0;
+      position = position(segment.number, 0);
+    }
+
+    var crc = new CRC32C();
+    crc.update(body.duplicate());
+
+    var frame = ByteBuffer.allocate(frameLength);
+    frame.putInt(frameLength);
+    frame.put(body.duplicate());
+    frame.putInt((int) crc.getValue());
+    frame.flip();
+
+    try {
+      var writeAt = (long) offset;
+      while (frame.hasRemaining()) {
+        writeAt += segment.channel.write(frame, writeAt);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    this.end = position(segment.number, offset + frameLength);
+    return position;
+  }
+
+  /**
+   * Returns a read-only view of the body of the record at position, backed by the segment's memory mapping.
+   */
+  ByteBuffer read(long position) {
+    var segment = this.segments.get(segment(position));
+    var offset = offset(position);
+    var frameLength = segment.buffer.getInt(offset);
+    return segment.buffer.slice(offset + Integer.BYTES, frameLength - FRAME_OVERHEAD);
+  }
+
+  /**
+   * Returns position, or the start of the next segment if no record was written at position because it was rolled.
+   */
+  long seek(long position) {
+    if (position == this.end) {
+      return position;
+    }
+
+    var segment = this.segments.get(segment(position));
+    if (segment.buffer.getInt(offset(position)) == 0) {
+      return position(segment.number + 1, 0);
+    }
+
+    return position;
+  }
+
+  /**
+   * Returns the position of the record that follows the record at position, or {@link #end()}.
+   */
+  long next(long position) {
+    var segment = this.segments.get(segment(position));
+    var offset = offset(position);
+    var nextOffset = offset + segment.buffer.getInt(offset);
+
+    var next = position(segment.number, nextOffset);
+    if (next == this.end) {
+      return next;
+    }
+
+    if (segment.buffer.getInt(nextOffset) == 0) {
+      return position(segment.number + 1, 0);
+    }
+
+    return next;
+  }
+
+  /**
+   * Flushes written records to the storage device.
+   */
+  void force() {
+    try {
+      // earlier segments are forced when they are rolled
+      this.segments.get(this.segments.size() - 1).channel.force(false);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Segment createSegment(int number) {
+    try {
+      if (!this.segments.isEmpty()) {
+        this.segments.get(this.segments.size() - 1).channel.force(false);
+      }
+
+      var path = this.directory.resolve(String.format("%08d%s", number, SEGMENT_SUFFIX));
+      return Segment.open(path, number, this.segmentSize);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // scans the last segment for the end of its valid records, stopping at a torn or corrupt tail
+  private long recoverEnd() {
+    var segment = this.segments.get(this.segments.size() - 1);
+    var buffer = segment.buffer;
+    var offset = 0;
+
+    while (offset + Integer.BYTES <= this.segmentSize) {
+      var frameLength = buffer.getInt(offset);
+      if (frameLength < FRAME_OVERHEAD || offset + frameLength > this.segmentSize) {
+        break;
+      }
+
+      var crc = new CRC32C();
+      crc.update(buffer.slice(offset + Integer.BYTES, frameLength - FRAME_OVERHEAD));
+      if ((int) crc.getValue() != buffer.getInt(offset + frameLength - Integer.BYTES)) {
+        break;
+      }
+
+      offset += frameLength;
+    }
+
+    if (offset + Integer.BYTES <= this.segmentSize) {
+      try {
+        // terminate the valid records so a torn tail isn't mistaken for data
+        segment.channel.write(ByteBuffer.allocate(Integer.BYTES), offset);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    return position(segment.number, offset);
+  }
+
+  @Override
+  public void close() {
+    try {
+      for (var segment : this.segments) {
+        segment.channel.force(false);
+        segment.channel.close();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static class Segment {
+
+    final Path path;
+    final int number;
+    final FileChannel channel;
+    final MappedByteBuffer buffer;
+
+    private Segment(Path path, int number, FileChannel channel, MappedByteBuffer buffer) {
+      this.path = path;
+      this.number = number;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+
+    static Segment open(Path path, int number, int segmentSize) throws IOException {
+      var channel = FileChannel.open(path, CREATE, READ, WRITE);
+      if (channel.size() < segmentSize) {
+        // preallocate so the whole segment can be mapped up front
+        channel.write(ByteBuffer.allocate(1), segmentSize - 1);
+      }
+      var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, segmentSize);
+      return new Segment(path, number, channel, buffer);
+    }
+
+  }
+
+}
@@ -0,0 +1,95 @@
+package foundation.identity.keri.eventstorage.file;
+
+import foundation.identity.keri.api.event.KeyEvent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static foundation.identity.keri.TestKeyEvents.inception;
+import static foundation.identity.keri.TestKeyEvents.interaction;
+
+/**
+ * Measures append throughput and commit latency of {@link FileKeyEventStore} under each {@link Durability}, with
+ * concurrent appenders each working on their own identifiers.
+ *
+ * <p>Optional arguments: the number of appending threads (defaults to 16) and the directory to write to (defaults to
+ * a temporary directory).
+ */
+public class FileKeyEventStoreBenchmark {
+
+  private static final int EVENTS_PER_THREAD = 2_000;
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    var threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+    var parent = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("keri-file-store");
+
+    for (var durability : Durability.values()) {
+      var directory = Files.createTempDirectory(parent, durability.name());
+      try {
+        run(directory, durability, threads);
+      } finally {
+        delete(directory);
+      }
+    }
+  }
+
+  private static void run(Path directory, Durability durability, int threads) throws InterruptedException {
+    var store = FileKeyEventStore.builder(directory)
+        .durability(durability)
+        .build();
+
+    var work = new ArrayList<List<KeyEvent>>();
+    for (var t = 0; t < threads; t++) {
+      var events = new ArrayList<KeyEvent>();
+      var previous = (KeyEvent) inception(durability + ":" + t);
+      events.add(previous);
+      for (var i = 1; i < EVENTS_PER_THREAD; i++) {
+        previous = interaction(previous);
+        events.add(previous);
+      }
+      work.add(events);
+    }
+
+    var start = new CountDownLatch(1);
+    var finished = new CountDownLatch(threads);
+    for (var events : work) {
+      new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        events.forEach(store::append);
+        finished.countDown();
+      }).start();
+    }
+
+    var startTime = System.nanoTime();
+    start.countDown();
+    finished.await();
+    var elapsed = System.nanoTime() - startTime;
+    store.close();
+
+    var total = (long) threads * EVENTS_PER_THREAD;
+    System.out.printf("%-9s %,10d events/s  %,8d forces  commit: %s%n",
+        durability,
+        total * 1_000_000_000L / elapsed,
+        store.forceLatency().count(),
+        store.commitLatency());
+  }
+
+  private static void delete(Path directory) {
+    try (var paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+    } catch (IOException e) {
+      // best effort
+    }
+  }
+
+}
@@ -0,0 +1,534 @@
+package foundation.identity.keri.eventstorage.file;
+
+import foundation.identity.keri.KeyEventDeserializer;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.ImmutableDigest;
+import foundation.identity.keri.crypto.ImmutableSignature;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.crypto.StandardDigestAlgorithms;
+import foundation.identity.keri.crypto.StandardSignatureAlgorithms;
+import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import foundation.identity.keri.internal.seal.ImmutableDigestSeal;
+import foundation.identity.keri.internal.seal.ImmutableKeyEventCoordinatesSeal;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static foundation.identity.keri.TestKeyEvents.inception;
+import static foundation.identity.keri.TestKeyEvents.interaction;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FileKeyEventStoreTests {
+
+  static final Signature SIGNATURE = new ImmutableSignature(StandardSignatureAlgorithms.ED_25519, new byte[64]);
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  // the test events aren't real serializations, so map their bytes back to the events
+  final Map<String, KeyEvent> events = new HashMap<>();
+  final AtomicInteger deserialized = new AtomicInteger();
+  final KeyEventDeserializer deserializer = new KeyEventDeserializer() {
+    @Override
+    public Object deserialize(byte[] bytes, Map<Integer, Signature> signatures) {
+      FileKeyEventStoreTests.this.deserialized.incrementAndGet();
+      return FileKeyEventStoreTests.this.events.get(new String(bytes, UTF_8));
+    }
+  };
+
+  FileKeyEventStore store;
+
+  private FileKeyEventStore open(FileKeyEventStore.Builder builder) {
+    this.store = builder.deserializer(this.deserializer).build();
+    return this.store;
+  }
+
+  private FileKeyEventStore open() {
+    return this.open(FileKeyEventStore.builder(this.folder.getRoot().toPath()));
+  }
+
+  private FileKeyEventStore reopen() {
+    this.store.close();
+    return this.open();
+  }
+
+  // closes the store, then puts its files back as they were, as though the process had crashed instead
+  private void crash() throws IOException {
+    var directory = this.folder.getRoot().toPath();
+    var snapshot = this.folder.newFolder().toPath();
+    for (var file : this.files(directory)) {
+      Files.copy(file, snapshot.resolve(file.getFileName()));
+    }
+
+    this.store.close();
+    this.store = null;
+
+    for (var file : this.files(directory)) {
+      Files.delete(file);
+    }
+    for (var file : this.files(snapshot)) {
+      Files.move(file, directory.resolve(file.getFileName()));
+    }
+  }
+
+  private List<Path> files(Path directory) throws IOException {
+    try (var files = Files.list(directory)) {
+      return files.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+  }
+
+  @After
+  public void close() {
+    if (this.store != null) {
+      this.store.close();
+    }
+  }
+
+  private KeyEvent register(KeyEvent event) {
+    this.events.put(new String(event.bytes(), UTF_8), event);
+    return event;
+  }
+
+  private List<KeyEvent> kel(String name, int length) {
+    var kel = new ArrayList<KeyEvent>();
+    kel.add(this.register(inception(name)));
+    for (var i = 1; i < length; i++) {
+      kel.add(this.register(interaction(kel.get(i - 1))));
+    }
+    return kel;
+  }
+
+  @Test
+  public void test__append__lookups() {
+    var store = this.open();
+    var a = this.kel("a", 10);
+    var b = this.kel("b", 10);
+    for (var i = 0; i < a.size(); i++) {
+      store.append(a.get(i));
+      store.append(b.get(i));
+    }
+
+    for (var e : a) {
+      assertSame(e, store.getKeyEvent(e.coordinates()).get());
+      assertEquals(e.coordinates(), store.getKeyState(e.coordinates()).get().coordinates());
+    }
+
+    var identifier = a.get(0).identifier();
+    assertEquals(a, store.streamKeyEvents(identifier).collect(Collectors.toList()));
+    assertEquals(a.subList(4, 10), store.streamKeyEvents(identifier, 4).collect(Collectors.toList()));
+    assertEquals(a.get(9).coordinates(), store.getKeyState(identifier).get().coordinates());
+
+    var other = this.register(inception("c"));
+    assertFalse(store.getKeyEvent(other.coordinates()).isPresent());
+    assertFalse(store.getKeyState(other.identifier()).isPresent());
+  }
+
+  @Test
+  public void test__getKeyEvent__coordinatesWithOtherDigestAlgorithm() {
+    var store = this.open();
+    var a = this.kel("a", 3);
+    a.forEach(store::append);
+
+    var e = a.get(1);
+    var coordinates = ImmutableKeyEventCoordinates.of(e, StandardDigestAlgorithms.SHA2_256);
+
+    assertSame(e, store.getKeyEvent(coordinates).get());
+  }
+
+  @Test
+  public void test__getAttachments() {
+    var store = this.open();
+    var a = this.kel("a", 2);
+    var witness = this.register(inception("witness"));
+    store.append(witness);
+    a.forEach(store::append);
+
+    var e = a.get(1);
+    var other = ImmutableKeyEventCoordinates.of(e, StandardDigestAlgorithms.SHA2_256);
+    store.append(new ImmutableAttachmentEvent(e.coordinates(), Map.of(0, SIGNATURE), Map.of(), Map.of()));
+    store.append(new ImmutableAttachmentEvent(other, Map.of(1, SIGNATURE), Map.of(2, SIGNATURE),
+        Map.of(witness.coordinates(), Map.of(0, SIGNATURE))));
+
+    // attachments referencing the event by any digest algorithm are read back together, also once recovered
+    for (var s : List.of(store, this.reopen())) {
+      for (var coordinates : List.of(e.coordinates(), other)) {
+        var attachments = s.getAttachments(coordinates).get();
+        assertEquals(e.coordinates(), attachments.coordinates());
+        assertEquals(Map.of(0, SIGNATURE, 1, SIGNATURE), attachments.authentication());
+        assertEquals(Map.of(2, SIGNATURE), attachments.endorsements());
+        assertEquals(Map.of(witness.coordinates(), Map.of(0, SIGNATURE)), attachments.receipts());
+      }
+    }
+
+    assertTrue(this.store.getAttachments(a.get(0).coordinates()).get().authentication().isEmpty());
+    assertFalse(this.store.getAttachments(this.register(inception("c")).coordinates()).isPresent());
+  }
+
+  @Test
+  public void test__append__duplicateEvent() {
+    var store = this.open();
+    var a = this.kel("a", 2);
+    a.forEach(store::append);
+    store.append(a.get(1));
+
+    assertEquals(a, store.streamKeyEvents(a.get(0).identifier()).collect(Collectors.toList()));
+    assertEquals(2, store.streamKeyEventBytes().count());
+  }
+
+  @Test
+  public void test__append__heldAttachmentsNotWrittenAgain() throws IOException {
+    var store = this.open();
+    var e = this.register(inception("a"));
+    var attachment = new ImmutableAttachmentEvent(e.coordinates(), Map.of(0, SIGNATURE), Map.of(), Map.of());
+    store.append(e);
+    store.append(attachment);
+    var end = this.logEnd();
+
+    store.append(e);
+    store.append(attachment);
+    store.append(new ImmutableAttachmentEvent(ImmutableKeyEventCoordinates.of(e, StandardDigestAlgorithms.SHA2_256),
+        Map.of(0, SIGNATURE), Map.of(), Map.of()));
+
+    assertEquals(end, this.logEnd());
+    assertEquals(Map.of(0, SIGNATURE), store.getAttachments(e.coordinates()).get().authentication());
+  }
+
+  // the position after the last record written to the first segment
+  private long logEnd() throws IOException {
+    var segment = this.folder.getRoot().toPath().resolve("00000000.segment");
+    try (var channel = FileChannel.open(segment, READ)) {
+      var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      var end = buffer.limit();
+      while (end > 0 && buffer.get(end - 1) == 0) {
+        end--;
+      }
+      return end;
+    }
+  }
+
+  @Test
+  public void test__reopen() {
+    var store = this.open();
+    var a = this.kel("a", 20);
+    var witness = this.register(inception("witness"));
+    store.append(witness);
+    for (var i = 0; i < a.size(); i++) {
+      var e = a.get(i);
+      if (i == 5) {
+        e = this.register(interaction(a.get(4), List.of(), Map.of(witness.coordinates(), Map.of())));
+        a.set(5, e);
+      }
+      store.append(e);
+    }
+
+    store = this.reopen();
+
+    var identifier = a.get(0).identifier();
+    assertEquals(a, store.streamKeyEvents(identifier).collect(Collectors.toList()));
+    assertEquals(a.get(19).coordinates(), store.getKeyState(identifier).get().coordinates());
+    assertEquals(5, store.findLatestReceipt(identifier, witness.identifier()).getAsLong());
+
+    // appends continue where the log left off
+    var next = this.register(interaction(a.get(19)));
+    store.append(next);
+    assertEquals(next.coordinates(), store.getKeyState(identifier).get().coordinates());
+  }
+
+  @Test
+  public void test__segmentRollingAndIndexResize() {
+    var builder = FileKeyEventStore.builder(this.folder.getRoot().toPath())
+        .segmentSize(4096)
+        .indexCapacity(16);
+    var store = this.open(builder);
+
+    var kels = new ArrayList<List<KeyEvent>>();
+    for (var k = 0; k < 20; k++) {
+      var kel = this.kel("kel-" + k, 25);
+      kel.forEach(store::append);
+      kels.add(kel);
+    }
+
+    this.store.close();
+    store = this.open(builder);
+
+    for (var kel : kels) {
+      assertEquals(kel, store.streamKeyEvents(kel.get(0).identifier()).collect(Collectors.toList()));
+      for (var e : kel) {
+        assertSame(e, store.getKeyEvent(e.coordinates()).get());
+      }
+    }
+  }
+
+  @Test
+  public void test__streamKeyEventBytes() {
+    var store = this.open();
+    var a = this.kel("a", 5);
+    var b = this.kel("b", 5);
+    var appended = new ArrayList<KeyEvent>();
+    for (var i = 0; i < a.size(); i++) {
+      store.append(a.get(i));
+      store.append(b.get(i));
+      appended.add(a.get(i));
+      appended.add(b.get(i));
+    }
+
+    var expected = appended.stream()
+        .map(e -> ByteBuffer.wrap(e.bytes()))
+        .collect(Collectors.toList());
+    var replayed = store.streamKeyEventBytes().collect(Collectors.toList());
+
+    assertEquals(expected, replayed);
+    assertTrue(replayed.stream().allMatch(ByteBuffer::isReadOnly));
+  }
+
+  @Test
+  public void test__reopen__tornTail() throws IOException {
+    var store = this.open();
+    var a = this.kel("a", 5);
+    a.forEach(store::append);
+    store.close();
+    this.store = null;
+
+    // corrupt the last record
+    var segment = this.folder.getRoot().toPath().resolve("00000000.segment");
+    try (var channel = FileChannel.open(segment, READ, WRITE)) {
+      var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      var last = buffer.limit() - 1;
+      while (buffer.get(last) == 0) {
+        last--;
+      }
+      buffer.put(last, (byte) ~buffer.get(last));
+      buffer.force();
+    }
+
+    store = this.open();
+    var identifier = a.get(0).identifier();
+    assertEquals(a.subList(0, 4), store.streamKeyEvents(identifier).collect(Collectors.toList()));
+    assertEquals(a.get(3).coordinates(), store.getKeyState(identifier).get().coordinates());
+
+    store.append(a.get(4));
+    store = this.reopen();
+    assertEquals(a, store.streamKeyEvents(identifier).collect(Collectors.toList()));
+  }
+
+  private void appendConcurrently(FileKeyEventStore store, List<List<KeyEvent>> kels) throws InterruptedException {
+    var failures = new ConcurrentLinkedQueue<Throwable>();
+    var threads = new ArrayList<Thread>();
+    for (var kel : kels) {
+      var thread = new Thread(() -> {
+        try {
+          kel.forEach(store::append);
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    for (var thread : threads) {
+      thread.join();
+    }
+    if (!failures.isEmpty()) {
+      throw new AssertionError(failures.peek());
+    }
+  }
+
+  @Test
+  public void test__durability() throws InterruptedException {
+    for (var durability : Durability.values()) {
+      var builder = FileKeyEventStore.builder(this.folder.getRoot().toPath().resolve(durability.name()))
+          .durability(durability);
+      var store = this.open(builder);
+
+      var kels = new ArrayList<List<KeyEvent>>();
+      for (var k = 0; k < 4; k++) {
+        kels.add(this.kel(durability + "-" + k, 50));
+      }
+      this.appendConcurrently(store, kels);
+
+      assertEquals(200, store.commitLatency().count());
+      if (durability == Durability.GROUP) {
+        // every append waited for a force, but forces were shared
+        assertTrue(store.forceLatency().count() > 0);
+        assertTrue(store.forceLatency().count() <= 200);
+      }
+
+      store.close();
+      store = this.open(builder);
+      for (var kel : kels) {
+        assertEquals(kel, store.streamKeyEvents(kel.get(0).identifier()).collect(Collectors.toList()));
+      }
+      store.close();
+      this.store = null;
+    }
+  }
+
+  @Test
+  public void test__checkpoint__recordsIndexedPosition() throws IOException {
+    var store = this.open();
+    this.kel("a", 3).forEach(store::append);
+
+    // the indexed position isn't written until the slots it covers have been forced
+    assertEquals(0, this.indexedPosition());
+    store.checkpoint();
+    assertEquals(this.logEnd(), this.indexedPosition());
+  }
+
+  private long indexedPosition() throws IOException {
+    try (var channel = FileChannel.open(this.folder.getRoot().toPath().resolve("events.index"), READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, 64).getLong(24);
+    }
+  }
+
+  @Test
+  public void test__reopen__restoresCheckpointedState() {
+    var store = this.open();
+    var a = this.kel("a", 50);
+    a.forEach(store::append);
+    store = this.reopen();
+
+    this.deserialized.set(0);
+    var identifier = a.get(0).identifier();
+    assertEquals(a.get(49).coordinates(), store.getKeyState(identifier).get().coordinates());
+    // the last event and last establishment event, rather than the whole KEL
+    assertEquals(2, this.deserialized.get());
+  }
+
+  @Test
+  public void test__reopen__replaysTailAfterCheckpoint() throws IOException {
+    var builder = FileKeyEventStore.builder(this.folder.getRoot().toPath())
+        .checkpointInterval(10);
+    var store = this.open(builder);
+    var a = this.kel("a", 25);
+    var witness = this.register(inception("witness"));
+    store.append(witness);
+    for (var i = 0; i < a.size(); i++) {
+      var e = a.get(i);
+      if (i == 23) {
+        e = this.register(interaction(a.get(22), List.of(), Map.of(witness.coordinates(), Map.of())));
+        a.set(23, e);
+      }
+      store.append(e);
+    }
+    var tail = interaction(a.get(24));
+
+    // so only the periodic checkpoint at 20 events is written
+    this.crash();
+    store = this.open(builder);
+
+    this.deserialized.set(0);
+    var identifier = a.get(0).identifier();
+    assertEquals(a.get(24).coordinates(), store.getKeyState(identifier).get().coordinates());
+    assertTrue(this.deserialized.get() < 10);
+    assertEquals(23, store.findLatestReceipt(identifier, witness.identifier()).getAsLong());
+
+    store.append(this.register(tail));
+    assertEquals(tail.coordinates(), store.getKeyState(identifier).get().coordinates());
+  }
+
+  @Test
+  public void test__checkpoint__restoredAndReplayedStates() throws IOException {
+    var builder = FileKeyEventStore.builder(this.folder.getRoot().toPath())
+        .checkpointInterval(10);
+    var store = this.open(builder);
+    var a = this.kel("a", 15);
+    var b = this.kel("b", 3);
+    a.forEach(store::append);
+    b.forEach(store::append);
+
+    // so a is restored from the checkpoint at 10 events and replayed from there, and b is replayed
+    this.crash();
+    store = this.open(builder);
+    var tail = this.register(interaction(a.get(14)));
+    store.append(tail);
+    assertEquals(b.get(2).coordinates(), store.getKeyState(b.get(0).identifier()).get().coordinates());
+    store = this.reopen();
+
+    this.deserialized.set(0);
+    assertEquals(tail.coordinates(), store.getKeyState(a.get(0).identifier()).get().coordinates());
+    assertEquals(b.get(2).coordinates(), store.getKeyState(b.get(0).identifier()).get().coordinates());
+    // the last event and last establishment event of each
+    assertEquals(4, this.deserialized.get());
+  }
+
+  @Test
+  public void test__bloomFilter() {
+    var builder = FileKeyEventStore.builder(this.folder.getRoot().toPath())
+        .bloomFilter(10);
+    var store = this.open(builder);
+    var a = this.kel("a", 10);
+    a.forEach(store::append);
+    // attachments are indexed under their event's key, or under a key with no event
+    for (var e : a) {
+      store.append(new ImmutableAttachmentEvent(e.coordinates(), Map.of(0, SIGNATURE), Map.of(), Map.of()));
+      store.append(new ImmutableAttachmentEvent(e.coordinates(), Map.of(1, SIGNATURE), Map.of(), Map.of()));
+    }
+    store.append(new ImmutableAttachmentEvent(inception("unstored").coordinates(), Map.of(0, SIGNATURE), Map.of(),
+        Map.of()));
+
+    for (var i = 0; i < 1000; i++) {
+      var unknown = inception("unknown-" + i);
+      assertFalse(store.getKeyEvent(unknown.coordinates()).isPresent());
+      assertFalse(store.getKeyState(unknown.coordinates()).isPresent());
+    }
+
+    var filter = store.bloomFilter().get();
+    assertTrue(filter.negatives() > 0);
+    assertTrue(filter.falsePositiveRate() < 0.1);
+
+    // rebuilt from the index on startup, without false negatives, counting each event key once
+    store.close();
+    store = this.open(builder);
+    assertEquals(10, store.bloomFilter().get().insertions());
+    for (var e : a) {
+      assertSame(e, store.getKeyEvent(e.coordinates()).get());
+    }
+  }
+
+  @Test
+  public void test__findAnchoringEvent() {
+    var store = this.open();
+    var a = this.kel("a", 3);
+    var other = this.register(inception("other"));
+    var digest = DigestOperations.BLAKE3_256.digest("anchored".getBytes(UTF_8));
+    var anchoring = this.register(interaction(a.get(2),
+        List.of(new ImmutableDigestSeal(digest), new ImmutableKeyEventCoordinatesSeal(other.coordinates())),
+        Map.of()));
+    a.forEach(store::append);
+    store.append(other);
+    store.append(anchoring);
+
+    var digestSeal = new ImmutableDigestSeal(new ImmutableDigest(digest.algorithm(), digest.bytes()));
+    var coordinatesSeal = new ImmutableKeyEventCoordinatesSeal(ImmutableKeyEventCoordinates.of(other));
+    assertEquals(anchoring.coordinates(), store.findAnchoringEvent(digestSeal).get());
+    assertEquals(anchoring.coordinates(), store.findAnchoringEvent(coordinatesSeal).get());
+    assertFalse(store.findAnchoringEvent(new ImmutableKeyEventCoordinatesSeal(a.get(0).coordinates())).isPresent());
+
+    store = this.reopen();
+    assertEquals(anchoring.coordinates(), store.findAnchoringEvent(digestSeal).get());
+    assertEquals(anchoring.coordinates(), store.findAnchoringEvent(coordinatesSeal).get());
+  }
+
+}
@@ -0,0 +1,309 @@
+package foundation.identity.keri.eventstorage.inmemory;
+
+import foundation.identity.keri.KeyEventStore;
+import foundation.identity.keri.KeyStateProcessor;
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.AttachmentEvent;
+import foundation.identity.keri.api.event.DelegatingEventCoordinates;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import foundation.identity.keri.api.event.SealingEvent;
+import foundation.identity.keri.api.identifier.Identifier;
+import foundation.identity.keri.api.seal.Seal;
+import foundation.identity.keri.crypto.DigestAlgorithm;
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.crypto.StandardDigestAlgorithms;
+import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import foundation.identity.keri.internal.seal.ImmutableSeals;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A thread-safe, in-memory {@link KeyEventStore}.
+ *
+ * <p>Writes are serialized per identifier, so appends for different identifiers never contend. Each identifier's
+ * events are published as immutable snapshots, so readers never block and never observe a partially applied append.
+ */
+public class ConcurrentInMemoryKeyEventStore implements KeyEventStore {
+
+  private final Set<StandardDigestAlgorithms> indexedDigestAlgorithms;
+
+  private final Map<Identifier, Kel> kels = new ConcurrentHashMap<>();
+  private final Map<KeyEventCoordinates, KeyEvent> eventsByCoordinates = new ConcurrentHashMap<>();
+  private final Map<KeyEventCoordinates, KeyState> states = new ConcurrentHashMap<>();
+  private final Map<KeyEventCoordinates, Map<Integer, Signature>> authentications = new ConcurrentHashMap<>();
+  private final Map<KeyEventCoordinates, Map<Integer, Signature>> endorsements = new ConcurrentHashMap<>();
+  // receipted event -> receipting event -> signatures
+  private final Map<KeyEventCoordinates, Map<KeyEventCoordinates, Map<Integer, Signature>>> receipts =
+      new ConcurrentHashMap<>();
+  // seal -> coordinates of the first event that anchored it
+  private final Map<Seal, KeyEventCoordinates> anchors = new ConcurrentHashMap<>();
+  // receipted identifier -> receipting identifier -> highest receipted sequence number
+  private final Map<Identifier, Map<Identifier, Long>> latestReceipts = new ConcurrentHashMap<>();
+
+  public ConcurrentInMemoryKeyEventStore() {
+    this(InMemoryKeyEventStore.DEFAULT_INDEXED_DIGEST_ALGORITHMS);
+  }
+
+  /**
+   * @param indexedDigestAlgorithms the algorithms events can be looked up by without digesting them again; coordinates
+   *                                using any other algorithm are still found, by digesting the events at their
+   *                                sequence number
+   */
+  public ConcurrentInMemoryKeyEventStore(Collection<? extends DigestAlgorithm> indexedDigestAlgorithms) {
+    this.indexedDigestAlgorithms = InMemoryKeyEventStore.indexedDigestAlgorithms(indexedDigestAlgorithms);
+  }
+
+  @Override
+  public void append(KeyEvent event) {
+    var kel = this.kels.computeIfAbsent(event.identifier(), k -> new Kel());
+
+    synchronized (kel) {
+      var previousState = this.getKeyState(event.previous()).orElse(null);
+      var newState = KeyStateProcessor.apply(previousState, event);
+      var coordinates = ImmutableKeyEventCoordinates.convert(event.coordinates());
+
+      this.appendAttachments(
+          coordinates,
+          event.authentication(),
+          event.endorsements(),
+          event.receipts());
+
+      this.states.put(coordinates, newState);
+
+      if (this.eventsByCoordinates.putIfAbsent(coordinates, event) == null) {
+        // indexed before the event is published, so a reader that sees it can find it under any indexed algorithm
+        for (var other : InMemoryKeyEventStore.otherCoordinates(event, coordinates, this.indexedDigestAlgorithms)) {
+          this.eventsByCoordinates.putIfAbsent(other, event);
+        }
+        this.indexSeals(coordinates, event);
+        kel.append(event, newState);
+      }
+    }
+  }
+
+  private void appendAttachments(
+      KeyEventCoordinates event,
+      Map<Integer, Signature> signatures,
+      Map<Integer, Signature> receipts,
+      Map<KeyEventCoordinates, Map<Integer, Signature>> otherReceipts) {
+    this.authentications.computeIfAbsent(event, k -> new ConcurrentHashMap<>())
+        .putAll(signatures);
+
+    this.endorsements.computeIfAbsent(event, k -> new ConcurrentHashMap<>())
+        .putAll(receipts);
+
+    for (var otherReceipt : otherReceipts.entrySet()) {
+      this.receipts.computeIfAbsent(event, k -> new ConcurrentHashMap<>())
+          .computeIfAbsent(ImmutableKeyEventCoordinates.convert(otherReceipt.getKey()), k -> new ConcurrentHashMap<>())
+          .putAll(otherReceipt.getValue());
+
+      this.latestReceipts.computeIfAbsent(event.identifier(), k -> new ConcurrentHashMap<>())
+          .merge(otherReceipt.getKey().identifier(), event.sequenceNumber(), Math::max);
+    }
+  }
+
+  private void indexSeals(KeyEventCoordinates coordinates, KeyEvent event) {
+    if (event instanceof SealingEvent) {
+      for (var seal : ((SealingEvent) event).seals()) {
+        ImmutableSeals.convert(seal).ifPresent(s -> this.anchors.putIfAbsent(s, coordinates));
+      }
+    }
+  }
+
+  @Override
+  public void append(AttachmentEvent event) {
+    // kept with the event's own, whichever digest algorithm the attachments reference it by
+    var coordinates = this.getKeyEvent(event.coordinates())
+        .map(KeyEvent::coordinates)
+        .orElse(event.coordinates());
+    this.appendAttachments(ImmutableKeyEventCoordinates.convert(coordinates), event.authentication(),
+        event.endorsements(), event.receipts());
+  }
+
+  @Override
+  public Optional<SealingEvent> getKeyEvent(DelegatingEventCoordinates coordinates) {
+    return this.snapshot(coordinates.identifier())
+        .eventsAt(coordinates.sequenceNumber())
+        .stream()
+        .filter(e -> e.previous().digest().equals(coordinates.previousEvent().digest()))
+        .filter(e -> e instanceof SealingEvent)
+        .map(e -> (SealingEvent) e)
+        .findFirst();
+  }
+
+  @Override
+  public Optional<KeyEvent> getKeyEvent(KeyEventCoordinates coordinates) {
+    var event = this.eventsByCoordinates.get(coordinates);
+    if (event != null) {
+      return Optional.of(event);
+    }
+
+    // events are indexed under every indexed algorithm, so only others are worth digesting for
+    if (this.isIndexed(coordinates.digest().algorithm())) {
+      return Optional.empty();
+    }
+
+    return this.snapshot(coordinates.identifier())
+        .eventsAt(coordinates.sequenceNumber())
+        .stream()
+        .filter(e -> DigestOperations.matches(e.byteBuffer(), coordinates.digest()))
+        .findFirst();
+  }
+
+  @Override
+  public Optional<AttachmentEvent> getAttachments(KeyEventCoordinates coordinates) {
+    return this.getKeyEvent(coordinates).map(event -> {
+      var key = ImmutableKeyEventCoordinates.convert(event.coordinates());
+      return new ImmutableAttachmentEvent(key,
+          this.authentications.getOrDefault(key, Map.of()),
+          this.endorsements.getOrDefault(key, Map.of()),
+          this.receipts.getOrDefault(key, Map.of()));
+    });
+  }
+
+  private boolean isIndexed(DigestAlgorithm algorithm) {
+    try {
+      return this.indexedDigestAlgorithms.contains(StandardDigestAlgorithms.valueOf(algorithm));
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public Stream<KeyEvent> streamKeyEvents(Identifier identifier) {
+    return this.snapshot(identifier).events().stream();
+  }
+
+  @Override
+  public Stream<KeyEvent> streamKeyEvents(Identifier identifier, long from) {
+    var snapshot = this.snapshot(identifier);
+    return snapshot.events()
+        .subList(snapshot.indexOf(from), snapshot.size)
+        .stream();
+  }
+
+  @Override
+  public Optional<KeyState> getKeyState(Identifier identifier) {
+    return Optional.ofNullable(this.snapshot(identifier).currentState);
+  }
+
+  @Override
+  public Optional<KeyState> getKeyState(KeyEventCoordinates coordinates) {
+    var state = this.states.get(coordinates);
+    if (state != null) {
+      return Optional.of(state);
+    }
+
+    // states are kept under the coordinates events were appended with, so others are resolved through the event
+    return this.getKeyEvent(coordinates)
+        .map(event -> this.states.get(ImmutableKeyEventCoordinates.convert(event.coordinates())));
+  }
+
+  @Override
+  public OptionalLong findLatestReceipt(Identifier forIdentifier, Identifier byIdentifier) {
+    var receipts = this.latestReceipts.get(forIdentifier);
+    var latest = receipts != null ? receipts.get(byIdentifier) : null;
+    return latest != null ? OptionalLong.of(latest) : OptionalLong.empty();
+  }
+
+  private Snapshot snapshot(Identifier identifier) {
+    var kel = this.kels.get(identifier);
+    return kel != null ? kel.snapshot : Snapshot.EMPTY;
+  }
+
+  private static class Kel {
+
+    // written only while holding the Kel's monitor
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    void append(KeyEvent event, KeyState newState) {
+      var current = this.snapshot;
+
+      // FIXME doesn't take duplicity into account
+      var currentState = current.currentState == null
+          || newState.sequenceNumber() > current.currentState.sequenceNumber()
+          ? newState
+          : current.currentState;
+
+      var size = current.size;
+      var events = current.events;
+      if (size == 0 || events[size - 1].sequenceNumber() <= event.sequenceNumber()) {
+        // slots past size aren't visible to readers, so the array can be shared with the new snapshot
+        if (size == events.length) {
+          events = Arrays.copyOf(events, Math.max(8, size * 2));
+        }
+        events[size] = event;
+      } else {
+        var i = current.indexOf(event.sequenceNumber() + 1);
+        events = new KeyEvent[Math.max(8, size * 2)];
+        System.arraycopy(current.events, 0, events, 0, i);
+        System.arraycopy(current.events, i, events, i + 1, size - i);
+        events[i] = event;
+      }
+
+      this.snapshot = new Snapshot(events, size + 1, currentState);
+    }
+
+  }
+
+  private static class Snapshot {
+
+    static final Snapshot EMPTY = new Snapshot(new KeyEvent[0], 0, null);
+
+    final KeyEvent[] events;
+    final int size;
+    final KeyState currentState;
+
+    Snapshot(KeyEvent[] events, int size, KeyState currentState) {
+      this.events = events;
+      this.size = size;
+      this.currentState = currentState;
+    }
+
+    List<KeyEvent> events() {
+      return Arrays.asList(this.events).subList(0, this.size);
+    }
+
+    // index of the first event with a sequence number >= sequenceNumber
+    int indexOf(long sequenceNumber) {
+      var low = 0;
+      var high = this.size;
+      while (low < high) {
+        var mid = (low + high) >>> 1;
+        if (this.events[mid].sequenceNumber() < sequenceNumber) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    List<KeyEvent> eventsAt(long sequenceNumber) {
+      var from = this.indexOf(sequenceNumber);
+      var to = from;
+      while (to < this.size && this.events[to].sequenceNumber() == sequenceNumber) {
+        to++;
+      }
+      return this.events().subList(from, to);
+    }
+
+  }
+
+  @Override
+  public Optional<KeyEventCoordinates> findAnchoringEvent(Seal seal) {
+    return ImmutableSeals.convert(seal).map(this.anchors::get);
+  }
+
+}
@@ -9,43 +9,158 @@ import foundation.identity.keri.api.event.KeyEvent;
 import foundation.identity.keri.api.event.KeyEventCoordinates;
 import foundation.identity.keri.api.event.SealingEvent;
 import foundation.identity.keri.api.identifier.Identifier;
-import foundation.identity.keri.crypto.Digest;
+import foundation.identity.keri.api.seal.Seal;
+import foundation.identity.keri.crypto.DigestAlgorithm;
 import foundation.identity.keri.crypto.DigestOperations;
 import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.crypto.StandardDigestAlgorithms;
+import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
 import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import foundation.identity.keri.internal.seal.ImmutableSeals;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Set;
 import java.util.stream.Stream;
 
-import static java.util.Comparator.comparing;
-
 public class InMemoryKeyEventStore implements KeyEventStore {
 
-  private final ArrayList<KeyEvent> events = new ArrayList<>();
+  /**
+   * The algorithms events are indexed under by default: only the default digest algorithm, as indexing under others
+   * digests every event again. Others can be indexed by passing them to the constructor.
+   */
+  public static final Set<StandardDigestAlgorithms> DEFAULT_INDEXED_DIGEST_ALGORITHMS =
+      Set.of(StandardDigestAlgorithms.DEFAULT);
+
+  private final Set<StandardDigestAlgorithms> indexedDigestAlgorithms;
+
+  // each identifier's events, ordered by sequence number
+  private final Map<Identifier, ArrayList<KeyEvent>> events = new HashMap<>();
+  private final Map<KeyEventCoordinates, KeyEvent> eventsByCoordinates = new HashMap<>();
   private final Map<KeyEventCoordinates, KeyState> states = new HashMap<>();
+  private final Map<Identifier, KeyState> currentStates = new HashMap<>();
   private final Map<KeyEventCoordinates, Map<Integer, Signature>> authentications = new HashMap<>();
   private final Map<KeyEventCoordinates, Map<Integer, Signature>> endorsements = new HashMap<>();
-  private final Map<ReceiptKey, Map<Integer, Signature>> receipts = new HashMap<>();
+  // receipted event -> receipting event -> signatures
+  private final Map<KeyEventCoordinates, Map<KeyEventCoordinates, Map<Integer, Signature>>> receipts =
+      new HashMap<>();
+  // seal -> coordinates of the first event that anchored it
+  private final Map<Seal, KeyEventCoordinates> anchors = new HashMap<>();
+  // receipted identifier -> receipting identifier -> highest receipted sequence number
+  private final Map<Identifier, Map<Identifier, Long>> latestReceipts = new HashMap<>();
+
+  public InMemoryKeyEventStore() {
+    this(DEFAULT_INDEXED_DIGEST_ALGORITHMS);
+  }
+
+  /**
+   * @param indexedDigestAlgorithms the algorithms events can be looked up by without digesting them again; coordinates
+   *                                using any other algorithm are still found, by digesting the events at their
+   *                                sequence number
+   */
+  public InMemoryKeyEventStore(Collection<? extends DigestAlgorithm> indexedDigestAlgorithms) {
+    this.indexedDigestAlgorithms = indexedDigestAlgorithms(indexedDigestAlgorithms);
+  }
+
+  static Set<StandardDigestAlgorithms> indexedDigestAlgorithms(Collection<? extends DigestAlgorithm> algorithms) {
+    var set = EnumSet.noneOf(StandardDigestAlgorithms.class);
+    for (var algorithm : algorithms) {
+      set.add(StandardDigestAlgorithms.valueOf(algorithm));
+    }
+    return set;
+  }
+
+  // coordinates of the event under each indexed algorithm other than the one it was appended with
+  static List<KeyEventCoordinates> otherCoordinates(
+      KeyEvent event,
+      KeyEventCoordinates coordinates,
+      Set<StandardDigestAlgorithms> indexedDigestAlgorithms) {
+    var algorithms = EnumSet.noneOf(StandardDigestAlgorithms.class);
+    algorithms.addAll(indexedDigestAlgorithms);
+    var appendedWith = coordinates.digest().algorithm().algorithmName();
+    algorithms.removeIf(a -> a.algorithmName().equals(appendedWith));
+    if (algorithms.isEmpty()) {
+      return List.of();
+    }
+
+    var digests = DigestOperations.digestAll(event.byteBuffer(), algorithms);
+    var others = new ArrayList<KeyEventCoordinates>(digests.size());
+    for (var digest : digests) {
+      others.add(ImmutableKeyEventCoordinates.of(event, digest));
+    }
+    return others;
+  }
 
   @Override
   public void append(KeyEvent event) {
     var previousState = this.getKeyState(event.previous()).orElse(null);
     var newState = KeyStateProcessor.apply(previousState, event);
+    var coordinates = ImmutableKeyEventCoordinates.convert(event.coordinates());
 
-    this.events.add(event);
+    if (this.eventsByCoordinates.putIfAbsent(coordinates, event) == null) {
+      insert(this.events.computeIfAbsent(event.identifier(), k -> new ArrayList<>()), event);
+      this.indexSeals(coordinates, event);
+      for (var other : otherCoordinates(event, coordinates, this.indexedDigestAlgorithms)) {
+        this.eventsByCoordinates.putIfAbsent(other, event);
+      }
+    }
 
     this.appendAttachments(
-        event.coordinates(),
+        coordinates,
         event.authentication(),
         event.endorsements(),
         event.receipts());
 
-    this.states.put(event.coordinates(), newState);
+    this.states.put(coordinates, newState);
+
+    // FIXME doesn't take duplicity into account
+    this.currentStates.merge(event.identifier(), newState,
+        (current, s) -> s.sequenceNumber() > current.sequenceNumber() ? s : current);
+  }
+
+  private static void insert(ArrayList<KeyEvent> kel, KeyEvent event) {
+    // events almost always arrive in order, so this is usually an append
+    var i = kel.size();
+    while (i > 0 && kel.get(i - 1).sequenceNumber() > event.sequenceNumber()) {
+      i--;
+    }
+    kel.add(i, event);
+  }
+
+  // index of the first event with a sequence number >= sequenceNumber
+  private static int indexOf(List<KeyEvent> kel, long sequenceNumber) {
+    var low = 0;
+    var high = kel.size();
+    while (low < high) {
+      var mid = (low + high) >>> 1;
+      if (kel.get(mid).sequenceNumber() < sequenceNumber) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private List<KeyEvent> kel(Identifier identifier) {
+    var kel = this.events.get(identifier);
+    return kel != null ? kel : List.of();
+  }
+
+  private List<KeyEvent> eventsAt(Identifier identifier, long sequenceNumber) {
+    var kel = this.kel(identifier);
+    var from = indexOf(kel, sequenceNumber);
+    var to = from;
+    while (to < kel.size() && kel.get(to).sequenceNumber() == sequenceNumber) {
+      to++;
+    }
+    return kel.subList(from, to);
   }
 
   private void appendAttachments(
@@ -60,22 +175,37 @@ public class InMemoryKeyEventStore implements KeyEventStore {
         .putAll(receipts);
 
     for (var otherReceipt : otherReceipts.entrySet()) {
-      var key = new ReceiptKey(event, otherReceipt.getKey());
-      this.receipts.computeIfAbsent(key, k -> new HashMap<>())
+      this.receipts.computeIfAbsent(event, k -> new HashMap<>())
+          .computeIfAbsent(ImmutableKeyEventCoordinates.convert(otherReceipt.getKey()), k -> new HashMap<>())
           .putAll(otherReceipt.getValue());
+
+      this.latestReceipts.computeIfAbsent(event.identifier(), k -> new HashMap<>())
+          .merge(otherReceipt.getKey().identifier(), event.sequenceNumber(), Math::max);
     }
  }
 
+  private void indexSeals(KeyEventCoordinates coordinates, KeyEvent event) {
+    if (event instanceof SealingEvent) {
+      for (var seal : ((SealingEvent) event).seals()) {
+        ImmutableSeals.convert(seal).ifPresent(s -> this.anchors.putIfAbsent(s, coordinates));
+      }
+    }
+  }
+
   @Override
   public void append(AttachmentEvent event) {
-    this.appendAttachments(event.coordinates(), event.authentication(), event.endorsements(), event.receipts());
+    // kept with the event's own, whichever digest algorithm the attachments reference it by
+    var coordinates = this.getKeyEvent(event.coordinates())
+        .map(KeyEvent::coordinates)
+        .orElse(event.coordinates());
+    this.appendAttachments(ImmutableKeyEventCoordinates.convert(coordinates), event.authentication(),
+        event.endorsements(), event.receipts());
   }
 
   @Override
   public Optional<SealingEvent> getKeyEvent(DelegatingEventCoordinates coordinates) {
-    return this.events.stream()
-        .filter(e -> e.identifier().equals(coordinates.identifier()))
-        .filter(e -> e.sequenceNumber() == coordinates.sequenceNumber())
+    return this.eventsAt(coordinates.identifier(), coordinates.sequenceNumber())
+        .stream()
         .filter(e -> e.previous().digest().equals(coordinates.previousEvent().digest()))
         .filter(e -> e instanceof SealingEvent)
         .map(e -> (SealingEvent) e)
@@ -84,86 +214,79 @@ public class InMemoryKeyEventStore implements KeyEventStore {
 
   @Override
   public Optional<KeyEvent> getKeyEvent(KeyEventCoordinates coordinates) {
-    return this.events.stream()
-        .filter(e -> e.identifier().equals(coordinates.identifier()))
-        .filter(e -> e.sequenceNumber() == coordinates.sequenceNumber())
-        .filter(e ->
-            Digest.equals(e.digest(), coordinates.digest())
-              || DigestOperations.matches(e.bytes(), coordinates.digest()))
+    var event = this.eventsByCoordinates.get(coordinates);
+    if (event != null) {
+      return Optional.of(event);
+    }
+
+    // events are indexed under every indexed algorithm, so only others are worth digesting for
+    if (this.isIndexed(coordinates.digest().algorithm())) {
+      return Optional.empty();
+    }
+
+    return this.eventsAt(coordinates.identifier(), coordinates.sequenceNumber())
+        .stream()
+        .filter(e -> DigestOperations.matches(e.byteBuffer(), coordinates.digest()))
         .findFirst();
   }
 
+  @Override
+  public Optional<AttachmentEvent> getAttachments(KeyEventCoordinates coordinates) {
+    return this.getKeyEvent(coordinates).map(event -> {
+      var key = ImmutableKeyEventCoordinates.convert(event.coordinates());
+      return new ImmutableAttachmentEvent(key,
+          this.authentications.getOrDefault(key, Map.of()),
+          this.endorsements.getOrDefault(key, Map.of()),
+          this.receipts.getOrDefault(key, Map.of()));
+    });
+  }
+
+  private boolean isIndexed(DigestAlgorithm algorithm) {
+    try {
+      return this.indexedDigestAlgorithms.contains(StandardDigestAlgorithms.valueOf(algorithm));
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
   @Override
   public Stream<KeyEvent> streamKeyEvents(Identifier identifier) {
-    return this.events.stream()
-        .filter(e -> e.identifier().equals(identifier))
-        .sorted(comparing(KeyEvent::sequenceNumber));
+    return this.kel(identifier).stream();
   }
 
   @Override
   public Stream<KeyEvent> streamKeyEvents(Identifier identifier, long from) {
-    return this.streamKeyEvents(identifier)
-        .dropWhile(e -> e.sequenceNumber() < from);
+    var kel = this.kel(identifier);
+    return kel.subList(indexOf(kel, from), kel.size()).stream();
   }
 
   @Override
   public Optional<KeyState> getKeyState(Identifier identifier) {
-    // FIXME doesn't take duplicity into account
-    return this.states.values().stream()
-        .filter(s -> s.identifier().equals(identifier))
-        .max(comparing(s -> s.lastEvent().sequenceNumber()));
+    return Optional.ofNullable(this.currentStates.get(identifier));
   }
 
   @Override
   public Optional<KeyState> getKeyState(KeyEventCoordinates coordinates) {
-    return Optional.ofNullable(this.states.get(coordinates));
+    var state = this.states.get(coordinates);
+    if (state != null) {
+      return Optional.of(state);
+    }
+
+    // states are kept under the coordinates events were appended with, so others are resolved through the event
+    return this.getKeyEvent(coordinates)
+        .map(event -> this.states.get(ImmutableKeyEventCoordinates.convert(event.coordinates())));
   }
 
   @Override
-  public OptionalLong findLatestReceipt(
-      Identifier forIdentifier, Identifier byIdentifier) {
-    return this.receipts.keySet()
-        .stream()
-        .filter(receiptKey -> receiptKey.event().identifier().equals(forIdentifier))
-        .filter(receiptKey -> receiptKey.signer().identifier().equals(byIdentifier))
-        .mapToLong(receiptKey -> receiptKey.event().sequenceNumber())
-        .max();
+  public OptionalLong findLatestReceipt(Identifier forIdentifier, Identifier byIdentifier) {
+    var receipts = this.latestReceipts.get(forIdentifier);
+    var latest = receipts != null ? receipts.get(byIdentifier) : null;
+    return latest != null ? OptionalLong.of(latest) : OptionalLong.empty();
   }
 
-  private static class ReceiptKey {
-    private final KeyEventCoordinates event;
-    private final KeyEventCoordinates signer;
-
-    public ReceiptKey(KeyEventCoordinates event, KeyEventCoordinates signer) {
-      this.event = ImmutableKeyEventCoordinates.convert(event);
-      this.signer = ImmutableKeyEventCoordinates.convert(signer);
-    }
-
-    public KeyEventCoordinates event() {
-      return this.event;
-    }
-
-    public KeyEventCoordinates signer() {
-      return this.signer;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) {
-        return true;
-      }
-      if (!(o instanceof ReceiptKey)) {
-        return false;
-      }
-      ReceiptKey that = (ReceiptKey) o;
-      return this.event.equals(that.event)
-          && this.signer.equals(that.signer);
-    }
-
-    @Override
-    public int hashCode() {
-      return Objects.hash(this.event, this.signer);
-    }
+  @Override
+  public Optional<KeyEventCoordinates> findAnchoringEvent(Seal seal) {
+    return ImmutableSeals.convert(seal).map(this.anchors::get);
   }
 
 }
@@ -0,0 +1,78 @@
+package foundation.identity.keri.eventstorage.inmemory;
+
+import foundation.identity.keri.api.event.KeyEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static foundation.identity.keri.TestKeyEvents.inception;
+import static foundation.identity.keri.TestKeyEvents.interaction;
+
+/**
+ * Measures append-and-lookup throughput of {@link ConcurrentInMemoryKeyEventStore} with 1 to N threads, each working
+ * on its own identifiers. Throughput should scale with the thread count up to the number of cores.
+ *
+ * <p>Optional argument: the maximum thread count (defaults to the number of available processors).
+ */
+public class ConcurrentInMemoryKeyEventStoreBenchmark {
+
+  private static final int KELS_PER_THREAD = 100;
+  private static final int KEL_LENGTH = 200;
+
+  public static void main(String[] args) throws InterruptedException {
+    var maxThreads = args.length > 0
+        ? Integer.parseInt(args[0])
+        : Runtime.getRuntime().availableProcessors();
+
+    for (var threads = 1; threads <= maxThreads; threads *= 2) {
+      run(threads);
+    }
+  }
+
+  private static void run(int threads) throws InterruptedException {
+    var store = new ConcurrentInMemoryKeyEventStore();
+
+    var work = new ArrayList<List<KeyEvent>>();
+    for (var t = 0; t < threads; t++) {
+      var events = new ArrayList<KeyEvent>();
+      for (var k = 0; k < KELS_PER_THREAD; k++) {
+        var previous = (KeyEvent) inception(threads + ":" + t + ":" + k);
+        events.add(previous);
+        for (var i = 1; i < KEL_LENGTH; i++) {
+          previous = interaction(previous);
+          events.add(previous);
+        }
+      }
+      work.add(events);
+    }
+
+    var start = new CountDownLatch(1);
+    var finished = new CountDownLatch(threads);
+    for (var events : work) {
+      new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (var e : events) {
+          store.getKeyState(e.previous());
+          store.getKeyEvent(e.previous());
+          store.append(e);
+        }
+        finished.countDown();
+      }).start();
+    }
+
+    var startTime = System.nanoTime();
+    start.countDown();
+    finished.await();
+    var elapsed = System.nanoTime() - startTime;
+
+    var total = (long) threads * KELS_PER_THREAD * KEL_LENGTH;
+    System.out.printf("%3d threads: %,12d events/s%n", threads, total * 1_000_000_000L / elapsed);
+  }
+
+}
@@ -0,0 +1,136 @@
+package foundation.identity.keri.eventstorage.inmemory;
+
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.crypto.StandardDigestAlgorithms;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static foundation.identity.keri.TestKeyEvents.kel;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentInMemoryKeyEventStoreTests {
+
+  final ConcurrentInMemoryKeyEventStore store = new ConcurrentInMemoryKeyEventStore();
+
+  @Test
+  public void test__append__lookups() {
+    var a = kel("a", 20);
+    a.forEach(this.store::append);
+
+    for (var e : a) {
+      assertSame(e, this.store.getKeyEvent(e.coordinates()).get());
+      assertTrue(this.store.getKeyState(e.coordinates()).isPresent());
+    }
+
+    var identifier = a.get(0).identifier();
+    assertEquals(a, this.store.streamKeyEvents(identifier).collect(Collectors.toList()));
+    assertEquals(a.subList(12, 20), this.store.streamKeyEvents(identifier, 12).collect(Collectors.toList()));
+    assertEquals(a.get(19).coordinates(), this.store.getKeyState(identifier).get().coordinates());
+  }
+
+  @Test
+  public void test__append__lookupsWithEachIndexedAlgorithm() {
+    var algorithms = List.of(StandardDigestAlgorithms.DEFAULT, StandardDigestAlgorithms.SHA2_256,
+        StandardDigestAlgorithms.SHA2_512);
+    var indexed = new ConcurrentInMemoryKeyEventStore(algorithms);
+    var a = kel("a", 5);
+    a.forEach(indexed::append);
+
+    for (var algorithm : algorithms) {
+      for (var e : a) {
+        assertSame(algorithm.name(), e, indexed.getKeyEvent(ImmutableKeyEventCoordinates.of(e, algorithm)).get());
+      }
+    }
+
+    var store = new ConcurrentInMemoryKeyEventStore(List.of());
+    a.forEach(store::append);
+    var e = a.get(2);
+    var coordinates = ImmutableKeyEventCoordinates.of(e, StandardDigestAlgorithms.SHA2_256);
+    assertSame(e, store.getKeyEvent(coordinates).get());
+    assertEquals(e.coordinates(), store.getKeyState(coordinates).get().coordinates());
+  }
+
+  @Test
+  public void test__concurrentAppendsAndReads() throws InterruptedException {
+    var writers = 8;
+    var readers = 4;
+    var kelLength = 200;
+
+    var kels = new ArrayList<List<KeyEvent>>();
+    for (var i = 0; i < writers; i++) {
+      kels.add(kel("kel-" + i, kelLength));
+    }
+
+    var executor = Executors.newFixedThreadPool(writers + readers);
+    var start = new CountDownLatch(1);
+    var done = new AtomicBoolean();
+    var failures = new ConcurrentLinkedQueue<Throwable>();
+
+    for (var kel : kels) {
+      executor.execute(() -> {
+        try {
+          start.await();
+          for (var e : kel) {
+            this.store.append(e);
+          }
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      });
+    }
+
+    for (var r = 0; r < readers; r++) {
+      executor.execute(() -> {
+        try {
+          start.await();
+          while (!done.get()) {
+            for (var kel : kels) {
+              var identifier = kel.get(0).identifier();
+              var streamed = this.store.streamKeyEvents(identifier).collect(Collectors.toList());
+              // readers see a prefix of the KEL, never a partially applied append
+              assertEquals(kel.subList(0, streamed.size()), streamed);
+
+              var state = this.store.getKeyState(identifier);
+              state.ifPresent(s -> assertTrue(s.sequenceNumber() < kelLength));
+            }
+          }
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      });
+    }
+
+    start.countDown();
+    executor.shutdown();
+
+    // writers finish first; then stop the readers
+    while (kels.stream().anyMatch(k -> this.store.getKeyState(k.get(kelLength - 1).coordinates()).isEmpty())
+        && failures.isEmpty()) {
+      Thread.sleep(10);
+    }
+    done.set(true);
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+    if (!failures.isEmpty()) {
+      throw new AssertionError(failures.peek());
+    }
+
+    for (var kel : kels) {
+      var identifier = kel.get(0).identifier();
+      assertEquals(kel, this.store.streamKeyEvents(identifier).collect(Collectors.toList()));
+      assertEquals(kelLength - 1, this.store.getKeyState(identifier).get().sequenceNumber());
+    }
+  }
+
+}
@@ -0,0 +1,72 @@
+package foundation.identity.keri.eventstorage.inmemory;
+
+import foundation.identity.keri.api.event.KeyEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static foundation.identity.keri.TestKeyEvents.inception;
+import static foundation.identity.keri.TestKeyEvents.interaction;
+
+/**
+ * Measures the per-event cost of the lookups {@code KeyEventProcessor.process} makes, followed by the append, as the
+ * store grows. With the store indexed, the latency should stay flat across sizes.
+ *
+ * <p>Run with sizes as arguments, e.g. {@code 1000 10000 100000 1000000 10000000}. The larger sizes need a large heap
+ * ({@code -Xmx}).
+ */
+public class InMemoryKeyEventStoreBenchmark {
+
+  private static final int KEL_LENGTH = 100;
+  private static final int MEASURED_EVENTS = 100_000;
+
+  public static void main(String[] args) {
+    var sizes = args.length > 0
+        ? List.of(args).stream().mapToInt(Integer::parseInt).toArray()
+        : new int[]{1_000, 10_000, 100_000, 1_000_000};
+
+    for (var size : sizes) {
+      var store = new InMemoryKeyEventStore();
+      fill(store, size, "fill");
+
+      var events = generate(MEASURED_EVENTS, "measured");
+
+      var start = System.nanoTime();
+      for (var e : events) {
+        process(store, e);
+      }
+      var elapsed = System.nanoTime() - start;
+
+      System.out.printf("%,12d stored events: %,8d ns/event%n", size, elapsed / events.size());
+    }
+  }
+
+  private static void process(InMemoryKeyEventStore store, KeyEvent event) {
+    store.getKeyState(event.previous());
+    store.getKeyEvent(event.previous());
+    store.getKeyState(event.identifier());
+    store.append(event);
+  }
+
+  private static void fill(InMemoryKeyEventStore store, int count, String prefix) {
+    KeyEvent previous = null;
+    for (var i = 0; i < count; i++) {
+      var e = i % KEL_LENGTH == 0
+          ? inception(prefix + i)
+          : interaction(previous);
+      store.append(e);
+      previous = e;
+    }
+  }
+
+  private static List<KeyEvent> generate(int count, String prefix) {
+    var events = new ArrayList<KeyEvent>(count);
+    for (var i = 0; i < count; i++) {
+      events.add(i % KEL_LENGTH == 0
+          ? inception(prefix + i)
+          : interaction(events.get(i - 1)));
+    }
+    return events;
+  }
+
+}
@@ -0,0 +1,242 @@
+package foundation.identity.keri.eventstorage.inmemory;
+
+import foundation.identity.keri.api.event.AttachmentEvent;
+import foundation.identity.keri.api.event.DelegatingEventCoordinates;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import foundation.identity.keri.api.identifier.Identifier;
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.ImmutableDigest;
+import foundation.identity.keri.crypto.ImmutableSignature;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.crypto.StandardDigestAlgorithms;
+import foundation.identity.keri.crypto.StandardSignatureAlgorithms;
+import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import foundation.identity.keri.internal.seal.ImmutableDigestSeal;
+import foundation.identity.keri.internal.seal.ImmutableKeyEventCoordinatesSeal;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static foundation.identity.keri.TestKeyEvents.inception;
+import static foundation.identity.keri.TestKeyEvents.interaction;
+import static foundation.identity.keri.TestKeyEvents.kel;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryKeyEventStoreTests {
+
+  static final Signature SIGNATURE = new ImmutableSignature(StandardSignatureAlgorithms.ED_25519, new byte[64]);
+
+  final InMemoryKeyEventStore store = new InMemoryKeyEventStore();
+
+  @Test
+  public void test__getKeyEvent__coordinates() {
+    var a = kel("a", 5);
+    var b = kel("b", 5);
+    a.forEach(this.store::append);
+    b.forEach(this.store::append);
+
+    for (var e : a) {
+      assertSame(e, this.store.getKeyEvent(e.coordinates()).get());
+    }
+
+    var other = inception("c");
+    assertFalse(this.store.getKeyEvent(other.coordinates()).isPresent());
+  }
+
+  @Test
+  public void test__getKeyEvent__coordinatesWithOtherDigestAlgorithm() {
+    var a = kel("a", 3);
+    a.forEach(this.store::append);
+
+    var e = a.get(1);
+    var coordinates = ImmutableKeyEventCoordinates.of(e, StandardDigestAlgorithms.SHA2_256);
+
+    assertSame(e, this.store.getKeyEvent(coordinates).get());
+  }
+
+  @Test
+  public void test__getKeyEvent__coordinatesWithEachIndexedAlgorithm() {
+    assertEquals(Set.of(StandardDigestAlgorithms.DEFAULT), InMemoryKeyEventStore.DEFAULT_INDEXED_DIGEST_ALGORITHMS);
+    var algorithms = List.of(StandardDigestAlgorithms.DEFAULT, StandardDigestAlgorithms.SHA2_256,
+        StandardDigestAlgorithms.SHA2_512);
+    var store = new InMemoryKeyEventStore(algorithms);
+    var a = kel("a", 3);
+    a.forEach(store::append);
+
+    for (var algorithm : algorithms) {
+      for (var e : a) {
+        assertSame(algorithm.name(), e, store.getKeyEvent(ImmutableKeyEventCoordinates.of(e, algorithm)).get());
+      }
+
+      var other = inception("c");
+      assertFalse(algorithm.name(), store.getKeyEvent(ImmutableKeyEventCoordinates.of(other, algorithm)).isPresent());
+    }
+  }
+
+  @Test
+  public void test__getKeyEvent__coordinatesWithUnindexedAlgorithm() {
+    var store = new InMemoryKeyEventStore(List.of(StandardDigestAlgorithms.BLAKE3_256));
+    var a = kel("a", 3);
+    a.forEach(store::append);
+
+    var e = a.get(1);
+    assertSame(e, store.getKeyEvent(ImmutableKeyEventCoordinates.of(e, StandardDigestAlgorithms.SHA2_512)).get());
+    assertSame(e, store.getKeyEvent(ImmutableKeyEventCoordinates.of(e, StandardDigestAlgorithms.BLAKE3_256)).get());
+  }
+
+  @Test
+  public void test__streamKeyEvents() {
+    var a = kel("a", 6);
+    var b = kel("b", 6);
+    for (var i = 0; i < a.size(); i++) {
+      this.store.append(a.get(i));
+      this.store.append(b.get(i));
+    }
+
+    var streamed = this.store.streamKeyEvents(a.get(0).identifier()).collect(Collectors.toList());
+    assertEquals(a, streamed);
+
+    var from = this.store.streamKeyEvents(a.get(0).identifier(), 3).collect(Collectors.toList());
+    assertEquals(a.subList(3, 6), from);
+  }
+
+  @Test
+  public void test__append__duplicateEvent() {
+    var a = kel("a", 2);
+    a.forEach(this.store::append);
+    this.store.append(a.get(1));
+
+    assertEquals(2, this.store.streamKeyEvents(a.get(0).identifier()).count());
+  }
+
+  @Test
+  public void test__getKeyState__identifier() {
+    var a = kel("a", 4);
+    a.forEach(this.store::append);
+
+    var state = this.store.getKeyState(a.get(0).identifier()).get();
+    assertEquals(a.get(3).coordinates(), state.coordinates());
+
+    assertTrue(this.store.getKeyState(a.get(2).coordinates()).isPresent());
+    assertFalse(this.store.getKeyState(inception("b").identifier()).isPresent());
+  }
+
+  @Test
+  public void test__getKeyState__coordinatesWithOtherDigestAlgorithm() {
+    var a = kel("a", 3);
+    a.forEach(this.store::append);
+
+    for (var algorithm : List.of(StandardDigestAlgorithms.SHA2_256, StandardDigestAlgorithms.SHA2_512)) {
+      var coordinates = ImmutableKeyEventCoordinates.of(a.get(1), algorithm);
+      assertEquals(algorithm.name(), a.get(1).coordinates(), this.store.getKeyState(coordinates).get().coordinates());
+    }
+    assertFalse(this.store.getKeyState(
+        ImmutableKeyEventCoordinates.of(inception("b"), StandardDigestAlgorithms.SHA2_256)).isPresent());
+  }
+
+  @Test
+  public void test__getKeyEvent__delegatingCoordinates() {
+    var a = kel("a", 3);
+    a.forEach(this.store::append);
+
+    var e = a.get(2);
+    var coordinates = new DelegatingEventCoordinates() {
+      @Override
+      public Identifier identifier() {
+        return e.identifier();
+      }
+
+      @Override
+      public long sequenceNumber() {
+        return e.sequenceNumber();
+      }
+
+      @Override
+      public KeyEventCoordinates previousEvent() {
+        return e.previous();
+      }
+    };
+
+    assertSame(e, this.store.getKeyEvent(coordinates).get());
+  }
+
+  @Test
+  public void test__getAttachments() {
+    var a = kel("a", 2);
+    var witness = inception("witness");
+    this.store.append(witness);
+    a.forEach(this.store::append);
+
+    var e = a.get(1);
+    var other = ImmutableKeyEventCoordinates.of(e, StandardDigestAlgorithms.SHA2_256);
+    this.store.append(new ImmutableAttachmentEvent(e.coordinates(), Map.of(0, SIGNATURE), Map.of(), Map.of()));
+    this.store.append(new ImmutableAttachmentEvent(other, Map.of(1, SIGNATURE), Map.of(2, SIGNATURE),
+        Map.of(witness.coordinates(), Map.of(0, SIGNATURE))));
+
+    // attachments referencing the event by any digest algorithm are kept together
+    for (var coordinates : List.of(e.coordinates(), other)) {
+      var attachments = this.store.getAttachments(coordinates).get();
+      assertEquals(e.coordinates(), attachments.coordinates());
+      assertEquals(Set.of(0, 1), attachments.authentication().keySet());
+      assertEquals(Map.of(2, SIGNATURE), attachments.endorsements());
+      assertEquals(Map.of(0, SIGNATURE), attachments.receipts().get(witness.coordinates()));
+    }
+
+    assertTrue(this.store.getAttachments(a.get(0).coordinates()).get().authentication().isEmpty());
+    assertFalse(this.store.getAttachments(inception("c").coordinates()).isPresent());
+  }
+
+  @Test
+  public void test__findLatestReceipt() {
+    var a = kel("a", 5);
+    var witness = inception("witness");
+    var other = inception("other");
+    this.store.append(witness);
+    a.forEach(this.store::append);
+
+    var identifier = a.get(0).identifier();
+    assertFalse(this.store.findLatestReceipt(identifier, witness.identifier()).isPresent());
+
+    this.store.append(receipt(a.get(3), witness));
+    this.store.append(receipt(a.get(1), witness));
+    this.store.append(receipt(a.get(2), other));
+
+    assertEquals(3, this.store.findLatestReceipt(identifier, witness.identifier()).getAsLong());
+    assertEquals(2, this.store.findLatestReceipt(identifier, other.identifier()).getAsLong());
+    assertFalse(this.store.findLatestReceipt(witness.identifier(), identifier).isPresent());
+  }
+
+  @Test
+  public void test__findAnchoringEvent() {
+    var a = kel("a", 3);
+    var other = inception("other");
+    var digest = DigestOperations.BLAKE3_256.digest("anchored".getBytes(UTF_8));
+    var anchoring = interaction(a.get(2),
+        List.of(new ImmutableDigestSeal(digest), new ImmutableKeyEventCoordinatesSeal(other.coordinates())),
+        Map.of());
+    a.forEach(this.store::append);
+    this.store.append(anchoring);
+
+    var copy = new ImmutableDigest(digest.algorithm(), digest.bytes());
+    assertEquals(anchoring.coordinates(), this.store.findAnchoringEvent(new ImmutableDigestSeal(copy)).get());
+    assertEquals(anchoring.coordinates(),
+        this.store.findAnchoringEvent(
+            new ImmutableKeyEventCoordinatesSeal(ImmutableKeyEventCoordinates.of(other))).get());
+    assertFalse(this.store.findAnchoringEvent(new ImmutableKeyEventCoordinatesSeal(a.get(0).coordinates()))
+        .isPresent());
+  }
+
+  private static AttachmentEvent receipt(KeyEvent event, KeyEvent by) {
+    return new ImmutableAttachmentEvent(event.coordinates(), Map.of(), Map.of(), Map.of(by.coordinates(), Map.of()));
+  }
+
+}
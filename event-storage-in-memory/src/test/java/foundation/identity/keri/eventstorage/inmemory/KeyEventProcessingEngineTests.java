@@ -0,0 +1,173 @@
+package foundation.identity.keri.eventstorage.inmemory;
+
+import foundation.identity.keri.KeyEventEscrow;
+import foundation.identity.keri.KeyEventProcessingEngine;
+import foundation.identity.keri.KeyEventProcessor;
+import foundation.identity.keri.MissingEventException;
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static foundation.identity.keri.TestKeyEvents.kel;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class KeyEventProcessingEngineTests {
+
+  @Test
+  public void test__submit__processesEachIdentifierInOrder() throws Exception {
+    var store = new ConcurrentInMemoryKeyEventStore();
+    var kels = new ArrayList<List<KeyEvent>>();
+    for (var i = 0; i < 8; i++) {
+      kels.add(kel("kel-" + i, 50));
+    }
+
+    var futures = new ArrayList<CompletableFuture<KeyState>>();
+    try (var engine = KeyEventProcessingEngine.builder(new KeyEventProcessor(store)).lanes(3).build()) {
+      for (var n = 0; n < 50; n++) {
+        for (var kel : kels) {
+          futures.add(engine.submit(kel.get(n)));
+        }
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+    }
+
+    for (var kel : kels) {
+      var last = kel.get(kel.size() - 1);
+      assertEquals(last.coordinates(), store.getKeyState(last.identifier()).get().coordinates());
+    }
+  }
+
+  @Test
+  public void test__submit__throughEscrow() throws Exception {
+    var store = new ConcurrentInMemoryKeyEventStore();
+    var escrow = KeyEventEscrow.builder(new KeyEventProcessor(store)).build();
+    var a = kel("a", 3);
+    var released = new CopyOnWriteArrayList<KeyEventCoordinates>();
+
+    try (var engine = KeyEventProcessingEngine.builder(escrow).lanes(2).build()) {
+      var early = engine.submit(a.get(2), e -> released.add(e.coordinates()));
+      var e = assertThrows(ExecutionException.class, () -> early.get(30, TimeUnit.SECONDS));
+      assertTrue(e.getCause() instanceof MissingEventException);
+      assertEquals(1, escrow.size());
+
+      engine.submit(a.get(0)).get(30, TimeUnit.SECONDS);
+      engine.submit(a.get(1)).get(30, TimeUnit.SECONDS);
+    }
+
+    // released and reported once the events it waited on were processed
+    assertEquals(0, escrow.size());
+    assertEquals(List.of(a.get(2).coordinates()), released);
+    assertEquals(a.get(2).coordinates(), store.getKeyState(a.get(0).identifier()).get().coordinates());
+  }
+
+  @Test
+  public void test__submit__blocksWhenLaneIsFull() throws Exception {
+    var processing = new CountDownLatch(1);
+    var proceed = new CountDownLatch(1);
+    var store = blockingStore(processing, proceed);
+    var a = kel("a", 4);
+
+    try (var engine = KeyEventProcessingEngine.builder(new KeyEventProcessor(store))
+        .lanes(1)
+        .laneCapacity(2)
+        .build()) {
+      var futures = new ArrayList<CompletableFuture<KeyState>>();
+      futures.add(engine.submit(a.get(0)));
+      processing.await();
+      futures.add(engine.submit(a.get(1)));
+      futures.add(engine.submit(a.get(2)));
+      assertArrayEquals(new int[]{2}, engine.queueDepths());
+
+      var producer = new Thread(() -> futures.add(engine.submit(a.get(3))));
+      producer.start();
+      while (producer.getState() != Thread.State.WAITING) {
+        Thread.sleep(1);
+      }
+      assertEquals(1, engine.blocked());
+
+      proceed.countDown();
+      producer.join();
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+      assertTrue(futures.stream().allMatch(f -> f.isDone() && !f.isCompletedExceptionally()));
+    }
+
+    assertEquals(a.get(3).coordinates(), store.getKeyState(a.get(0).identifier()).get().coordinates());
+  }
+
+  @Test
+  public void test__close__completesSubmissionsBlockedOnFullLane() throws Exception {
+    var processing = new CountDownLatch(1);
+    var proceed = new CountDownLatch(1);
+    var store = blockingStore(processing, proceed);
+    var a = kel("a", 3);
+
+    var engine = KeyEventProcessingEngine.builder(new KeyEventProcessor(store))
+        .lanes(1)
+        .laneCapacity(1)
+        .build();
+    var futures = new ArrayList<CompletableFuture<KeyState>>();
+    futures.add(engine.submit(a.get(0)));
+    processing.await();
+    futures.add(engine.submit(a.get(1)));
+
+    // a producer blocked on the full lane, then close() blocked queueing the lane's STOP behind it
+    var producer = new Thread(() -> futures.add(engine.submit(a.get(2))));
+    producer.start();
+    while (producer.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+    var closer = new Thread(engine::close);
+    closer.start();
+    while (closer.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+
+    proceed.countDown();
+    producer.join(30_000);
+    closer.join(30_000);
+    assertFalse(producer.isAlive());
+    assertFalse(closer.isAlive());
+
+    assertEquals(3, futures.size());
+    for (var future : futures) {
+      try {
+        future.get(30, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof IllegalStateException);
+      }
+    }
+    assertTrue(futures.get(0).isDone() && !futures.get(0).isCompletedExceptionally());
+    assertTrue(futures.get(1).isDone() && !futures.get(1).isCompletedExceptionally());
+    assertThrows(IllegalStateException.class, () -> engine.submit(a.get(2)));
+  }
+
+  // a store that holds up the first append until told to proceed
+  private static ConcurrentInMemoryKeyEventStore blockingStore(CountDownLatch processing, CountDownLatch proceed) {
+    return new ConcurrentInMemoryKeyEventStore() {
+      @Override
+      public void append(KeyEvent event) {
+        processing.countDown();
+        try {
+          proceed.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.append(event);
+      }
+    };
+  }
+
+}
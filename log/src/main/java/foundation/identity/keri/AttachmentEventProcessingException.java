@@ -10,6 +10,11 @@ public class AttachmentEventProcessingException extends RuntimeException {
     this.attachmentEvent = attachmentEvent;
   }
 
+  public AttachmentEventProcessingException(AttachmentEvent attachmentEvent, Throwable cause) {
+    super(cause);
+    this.attachmentEvent = attachmentEvent;
+  }
+
   public AttachmentEvent attachmentEvent() {
     return this.attachmentEvent;
   }
@@ -0,0 +1,83 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.identifier.BasicIdentifier;
+import foundation.identity.keri.crypto.SegmentedLruCache;
+
+import java.security.PublicKey;
+import java.util.function.Function;
+
+/**
+ * A bounded map from qb64 text to the public keys and basic identifiers decoded from it, so the witness and controller
+ * keys that appear in event after event are only decoded once.
+ *
+ * <p>The public key and basic identifier codes don't overlap, so both share the one {@link SegmentedLruCache}.
+ */
+public final class DecodedKeyCache {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  private static final DecodedKeyCache SHARED = new DecodedKeyCache(DEFAULT_MAXIMUM_SIZE);
+
+  private final SegmentedLruCache<String, Object> cache;
+
+  public DecodedKeyCache(int maximumSize) {
+    this.cache = new SegmentedLruCache<>(maximumSize);
+  }
+
+  /**
+   * The cache {@link QualifiedBase64} decodes public keys and basic identifiers through.
+   */
+  public static DecodedKeyCache shared() {
+    return SHARED;
+  }
+
+  public PublicKey publicKey(String qb64, Function<String, ? extends PublicKey> decoder) {
+    return this.get(qb64, PublicKey.class, decoder);
+  }
+
+  public BasicIdentifier basicIdentifier(String qb64, Function<String, ? extends BasicIdentifier> decoder) {
+    return this.get(qb64, BasicIdentifier.class, decoder);
+  }
+
+  private <T> T get(String qb64, Class<T> type, Function<String, ? extends T> decoder) {
+    var cached = this.cache.get(qb64);
+    if (type.isInstance(cached)) {
+      return type.cast(cached);
+    }
+
+    var decoded = decoder.apply(qb64);
+    this.cache.put(qb64, decoded);
+    return decoded;
+  }
+
+  public int maximumSize() {
+    return this.cache.maximumSize();
+  }
+
+  public int size() {
+    return this.cache.size();
+  }
+
+  public long hits() {
+    return this.cache.hits();
+  }
+
+  public long misses() {
+    return this.cache.misses();
+  }
+
+  public long evictions() {
+    return this.cache.evictions();
+  }
+
+  public double hitRate() {
+    return this.cache.hitRate();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("DecodedKeyCache[size=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.4f]",
+        this.size(), this.hits(), this.misses(), this.evictions(), this.hitRate());
+  }
+
+}
@@ -0,0 +1,289 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.InceptionEvent;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import foundation.identity.keri.api.event.RotationEvent;
+import foundation.identity.keri.api.identifier.BasicIdentifier;
+import foundation.identity.keri.api.identifier.Identifier;
+import foundation.identity.keri.api.identifier.SelfAddressingIdentifier;
+import foundation.identity.keri.crypto.Digest;
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.crypto.SignatureOperations;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Audits a whole key event log.
+ *
+ * <p>A sequential pass derives the key state each event is checked against, which only applies the events and is
+ * cheap. The checks that are expensive, the signatures, the digest chain and the next key configurations, don't
+ * depend on each other once the states are known, and run in parallel on the pool.
+ *
+ * <p>Unlike {@link KeyEventProcessor}, every signature is verified and every failure is reported, rather than stopping
+ * at the first.
+ */
+public final class KelVerifier {
+
+  public enum Check {
+    SEQUENCE,
+    IDENTIFIER,
+    PREVIOUS_EVENT_DIGEST,
+    NEXT_KEY_CONFIGURATION,
+    SIGNATURES,
+    WITNESS_RECEIPTS
+  }
+
+  private final ForkJoinPool pool;
+
+  private KelVerifier(Builder builder) {
+    this.pool = builder.pool;
+  }
+
+  public KelVerifier() {
+    this(builder());
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Verifies the identifier's log as held by the store.
+   */
+  public Report verify(KeyEventStore store, Identifier identifier) {
+    try (var events = store.streamKeyEvents(identifier)) {
+      return this.verify(identifier, events.collect(toList()));
+    }
+  }
+
+  /**
+   * Verifies the events as the identifier's log, in order from inception.
+   */
+  public Report verify(Identifier identifier, List<? extends KeyEvent> kel) {
+    var events = List.<KeyEvent>copyOf(kel);
+    var states = new KeyState[events.size()];
+    var failures = new ArrayList<Failure>();
+
+    KeyState state = null;
+    for (var i = 0; i < events.size(); i++) {
+      var event = events.get(i);
+
+      if (!event.identifier().equals(identifier)) {
+        failures.add(new Failure(event.coordinates(), Check.IDENTIFIER, "event is for another identifier"));
+      } else if (event.sequenceNumber() != i) {
+        failures.add(new Failure(event.coordinates(), Check.SEQUENCE,
+            "expected sequence number " + i + " but was " + event.sequenceNumber()));
+      } else if ((event instanceof InceptionEvent) != (i == 0)) {
+        failures.add(new Failure(event.coordinates(), Check.SEQUENCE,
+            i == 0 ? "log must start with an inception event" : "only the first event may be an inception event"));
+      } else if (i > 0 && (event.previous().sequenceNumber() != i - 1
+          || !event.previous().identifier().equals(identifier))) {
+        failures.add(new Failure(event.coordinates(), Check.SEQUENCE,
+            "previous event coordinates don't reference the preceding event"));
+      }
+
+      try {
+        // an out of place inception event is checked against the state it would start
+        state = KeyStateProcessor.apply(event instanceof InceptionEvent ? null : state, event);
+      } catch (RuntimeException e) {
+        failures.add(new Failure(event.coordinates(), Check.SEQUENCE, "no key state to apply event to"));
+        continue;
+      }
+      states[i] = state;
+    }
+
+    var checks = this.pool.submit(() -> IntStream.range(0, events.size())
+        .parallel()
+        .mapToObj(i -> check(events.get(i), i > 0 ? events.get(i - 1) : null, i > 0 ? states[i - 1] : null,
+            states[i]))
+        .collect(toList()))
+        .join();
+
+    for (var eventFailures : checks) {
+      failures.addAll(eventFailures);
+    }
+    failures.sort((a, b) -> Long.compare(a.coordinates().sequenceNumber(), b.coordinates().sequenceNumber()));
+
+    return new Report(identifier, events.size(), failures);
+  }
+
+  private static List<Failure> check(KeyEvent event, KeyEvent previous, KeyState previousState, KeyState state) {
+    var failures = new ArrayList<Failure>(0);
+    if (state == null) {
+      return failures;
+    }
+
+    if (event instanceof InceptionEvent) {
+      checkIdentifier((InceptionEvent) event, failures);
+    }
+
+    // the digest is checked with the algorithm the event chose, which needn't be the one the preceding event's own
+    // coordinates were computed with
+    if (previous != null && !(event instanceof InceptionEvent)) {
+      var expected = event.previous().digest();
+      var actual = DigestOperations.lookup(expected.algorithm()).digest(previous.byteBuffer());
+      if (!Digest.equals(expected, actual)) {
+        failures.add(new Failure(event.coordinates(), Check.PREVIOUS_EVENT_DIGEST,
+            "previous event digest doesn't match the preceding event's bytes"));
+      }
+    }
+
+    if (event instanceof RotationEvent && previousState != null) {
+      var rot = (RotationEvent) event;
+      var next = previousState.nextKeyConfigurationDigest();
+      if (next.isEmpty()) {
+        failures.add(new Failure(event.coordinates(), Check.NEXT_KEY_CONFIGURATION,
+            "previous establishment event has no next key configuration"));
+      } else if (!KeyConfigurationDigester.matches(rot.signingThreshold(), rot.keys(), next.get())) {
+        failures.add(new Failure(event.coordinates(), Check.NEXT_KEY_CONFIGURATION,
+            "signing threshold and keys don't match the previous establishment event's next key configuration"));
+      }
+    }
+
+    var signers = verified(event, event.authentication(), state.lastEstablishmentEvent().keys());
+    if (!SigningThresholds.thresholdMet(state.signingThreshold(), signers)) {
+      failures.add(new Failure(event.coordinates(), Check.SIGNATURES,
+          signers.length + " valid of " + event.authentication().size()
+              + " signatures doesn't meet signing threshold"));
+    }
+
+    var witnessKeys = state.witnesses().stream().map(BasicIdentifier::publicKey).collect(toList());
+    var witnesses = verified(event, event.endorsements(), witnessKeys);
+    if (witnesses.length < state.witnessThreshold()) {
+      failures.add(new Failure(event.coordinates(), Check.WITNESS_RECEIPTS,
+          witnesses.length + " valid of " + event.endorsements().size() + " receipts doesn't meet witness threshold "
+              + state.witnessThreshold()));
+    }
+
+    return failures;
+  }
+
+  private static void checkIdentifier(InceptionEvent event, List<Failure> failures) {
+    if (event.identifier() instanceof SelfAddressingIdentifier) {
+      var expected = ((SelfAddressingIdentifier) event.identifier()).digest();
+      var actual = DigestOperations.lookup(expected.algorithm()).digest(event.inceptionStatementBuffer());
+      if (!Digest.equals(expected, actual)) {
+        failures.add(new Failure(event.coordinates(), Check.IDENTIFIER,
+            "self-addressing identifier doesn't match digest of inception statement"));
+      }
+    }
+  }
+
+  // the indexes of the signatures that verify against their key
+  private static int[] verified(KeyEvent event, Map<Integer, Signature> signatures, List<PublicKey> keys) {
+    return signatures.entrySet().stream()
+        .filter(kv -> kv.getKey() >= 0 && kv.getKey() < keys.size())
+        .filter(kv -> {
+          var publicKey = keys.get(kv.getKey());
+          return SignatureOperations.lookup(publicKey).verify(event.byteBuffer(), kv.getValue(), publicKey);
+        })
+        .mapToInt(Map.Entry::getKey)
+        .toArray();
+  }
+
+  public static final class Report {
+
+    private final Identifier identifier;
+    private final int events;
+    private final List<Failure> failures;
+
+    Report(Identifier identifier, int events, List<Failure> failures) {
+      this.identifier = identifier;
+      this.events = events;
+      this.failures = Collections.unmodifiableList(failures);
+    }
+
+    public Identifier identifier() {
+      return this.identifier;
+    }
+
+    public int events() {
+      return this.events;
+    }
+
+    public boolean valid() {
+      return this.events > 0 && this.failures.isEmpty();
+    }
+
+    /**
+     * The failed checks, in order of the events they failed for.
+     */
+    public List<Failure> failures() {
+      return this.failures;
+    }
+
+    public List<Failure> failures(Check check) {
+      return this.failures.stream()
+          .filter(f -> f.check() == check)
+          .collect(toList());
+    }
+
+    @Override
+    public String toString() {
+      return "Report[" + this.identifier + ", events=" + this.events + ", failures=" + this.failures + "]";
+    }
+
+  }
+
+  public static final class Failure {
+
+    private final KeyEventCoordinates coordinates;
+    private final Check check;
+    private final String message;
+
+    Failure(KeyEventCoordinates coordinates, Check check, String message) {
+      this.coordinates = coordinates;
+      this.check = check;
+      this.message = message;
+    }
+
+    public KeyEventCoordinates coordinates() {
+      return this.coordinates;
+    }
+
+    public Check check() {
+      return this.check;
+    }
+
+    public String message() {
+      return this.message;
+    }
+
+    @Override
+    public String toString() {
+      return this.check + "@" + this.coordinates.sequenceNumber() + ": " + this.message;
+    }
+
+  }
+
+  public static class Builder {
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private Builder() {
+    }
+
+    public Builder pool(ForkJoinPool pool) {
+      this.pool = requireNonNull(pool);
+      return this;
+    }
+
+    public KelVerifier build() {
+      return new KelVerifier(this);
+    }
+
+  }
+
+}
@@ -0,0 +1,40 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.KeyEvent;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thrown by {@link KeyEventProcessor} when some events of a batch failed, carrying the key states the rest of the
+ * batch produced along with the failures.
+ */
+public class KeyEventBatchProcessingException extends RuntimeException {
+
+  private final List<KeyState> keyStates;
+  private final Map<KeyEvent, RuntimeException> failures;
+
+  public KeyEventBatchProcessingException(List<KeyState> keyStates, Map<KeyEvent, RuntimeException> failures) {
+    super(failures.size() + " events of the batch failed", failures.values().iterator().next());
+    this.keyStates = List.copyOf(keyStates);
+    this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+  }
+
+  /**
+   * The key states of the events that were stored, in the order they were applied.
+   */
+  public List<KeyState> keyStates() {
+    return this.keyStates;
+  }
+
+  /**
+   * Why each event that wasn't stored failed, in the order the events were processed.
+   */
+  public Map<KeyEvent, RuntimeException> failures() {
+    return this.failures;
+  }
+
+}
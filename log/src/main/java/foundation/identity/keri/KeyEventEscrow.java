@@ -0,0 +1,592 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.AttachmentEvent;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import foundation.identity.keri.api.identifier.Identifier;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Holds events and attachments that couldn't be processed because an event they depend on hasn't been seen yet, or
+ * because they don't carry enough signatures yet, and processes them again once they can be.
+ *
+ * <p>Events processed through the escrow that fail with {@link MissingEventException},
+ * {@link MissingDelegatingEventException} or {@link MissingReferencedEventException} are escrowed under the
+ * identifier and sequence number of the missing event, and the exception is rethrown. When an event is accepted,
+ * whether processed through the escrow or reported with {@link #release(KeyEventCoordinates)}, everything waiting on
+ * it is processed again, which in turn releases whatever was waiting on those.
+ *
+ * <p>Events that fail with {@link UnmetSigningThresholdException} or {@link UnmetWitnessThresholdException} are
+ * escrowed as partially signed or witnessed, without the signatures found invalid. Signatures arriving later, with
+ * the same event or in attachments to it, are merged in and the event processed again, until it meets its thresholds.
+ * Signatures already verified are kept over later ones at the same index, and aren't verified again when they're in
+ * the processor's {@link VerifiedSignatureCache}.
+ *
+ * <p>Events accepted as they're released are reported to the callback they were processed with, if any, so whoever
+ * submitted them can act on them, such as by receipting them.
+ *
+ * <p>The escrow is meant to be shared, so a dependency arriving from one peer releases events received from another.
+ * It is bounded by a number of entries and an estimate of their size in memory, evicting the oldest entries first, and
+ * entries expire after a time to live.
+ */
+public final class KeyEventEscrow {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KeyEventEscrow.class);
+
+  public static final int DEFAULT_MAXIMUM_ENTRIES = 10_000;
+  public static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+  public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+  // rough per-entry and per-signature overheads of the objects behind an escrowed event
+  private static final int ENTRY_OVERHEAD = 512;
+  private static final int SIGNATURE_OVERHEAD = 128;
+
+  private static final Consumer<KeyEvent> NO_CALLBACK = event -> {
+  };
+
+  private final KeyEventProcessor processor;
+  private final int maximumEntries;
+  private final long maximumBytes;
+  private final Duration timeToLive;
+  private final Clock clock;
+
+  // oldest first; events are keyed by their coordinates so resent events are escrowed once
+  private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>();
+  private final Map<Dependency, Set<Object>> waiting = new HashMap<>();
+  private long bytes;
+
+  private final LongAdder escrowed = new LongAdder();
+  private final LongAdder released = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+  private final LongAdder evicted = new LongAdder();
+
+  private KeyEventEscrow(Builder builder) {
+    this.processor = builder.processor;
+    this.maximumEntries = builder.maximumEntries;
+    this.maximumBytes = builder.maximumBytes;
+    this.timeToLive = builder.timeToLive;
+    this.clock = builder.clock;
+  }
+
+  public static Builder builder(KeyEventProcessor processor) {
+    return new Builder(processor);
+  }
+
+  public KeyEventProcessor processor() {
+    return this.processor;
+  }
+
+  /**
+   * Processes the event, together with any signatures escrowed for it, escrowing it if an event it depends on is
+   * missing or it lacks signatures, then processes whatever was waiting on it.
+   */
+  public KeyState process(KeyEvent event) throws KeyEventProcessingException {
+    return this.process(event, NO_CALLBACK);
+  }
+
+  /**
+   * Processes the event as {@link #process(KeyEvent)} does. If the event is escrowed, the callback is called with it
+   * once it's accepted, on the thread that released it.
+   */
+  public KeyState process(KeyEvent event, Consumer<KeyEvent> released) throws KeyEventProcessingException {
+    var state = this.tryProcess(event, requireNonNull(released), false);
+    this.release(event.coordinates());
+    return state;
+  }
+
+  /**
+   * Processes the attachments, escrowing them if the event they reference is missing, or merging them into the event
+   * if it's escrowed as partially signed or witnessed. The merged event is escrowed again if it still lacks
+   * signatures, but if any of the attached signatures are invalid, or it fails for any other reason, the attachments
+   * are rejected with an {@link AttachmentEventProcessingException} caused by the event's failure.
+   */
+  public void process(AttachmentEvent attachmentEvent) throws AttachmentEventProcessingException {
+    while (true) {
+      try {
+        this.processor.process(attachmentEvent);
+        return;
+      } catch (MissingReferencedEventException e) {
+        var partial = this.takePartial(attachmentEvent.coordinates());
+        if (partial == null) {
+          var available = (BooleanSupplier) () -> this.store().getKeyState(e.referencedEvent()).isPresent()
+              || this.hasPartial(attachmentEvent.coordinates());
+          if (this.escrow(attachmentEvent, e.referencedEvent().identifier(),
+              e.referencedEvent().sequenceNumber(), NO_CALLBACK, available)) {
+            throw e;
+          }
+          continue;
+        }
+
+        var event = merge((KeyEvent) partial.event, partial.verifiedAuthentication, partial.verifiedEndorsements,
+            attachmentEvent.authentication(), attachmentEvent.endorsements(), attachmentEvent.receipts());
+        try {
+          this.tryProcess(event, partial.released, true);
+          this.release(event.coordinates());
+        } catch (UnmetSigningThresholdException ke) {
+          this.stillEscrowed(attachmentEvent, ke, attachmentEvent.authentication().keySet(), ke.invalid());
+        } catch (UnmetWitnessThresholdException ke) {
+          this.stillEscrowed(attachmentEvent, ke, attachmentEvent.endorsements().keySet(), ke.invalid());
+        } catch (KeyEventProcessingException ke) {
+          throw new AttachmentEventProcessingException(attachmentEvent, ke);
+        }
+        return;
+      }
+    }
+  }
+
+  // the event was escrowed again with the valid attachments, but attachments that were themselves invalid are rejected
+  private void stillEscrowed(AttachmentEvent attachmentEvent, KeyEventProcessingException e, Set<Integer> attached,
+      Set<Integer> invalid) {
+    if (!Collections.disjoint(attached, invalid)) {
+      throw new AttachmentEventProcessingException(attachmentEvent, e);
+    }
+    LOGGER.debug("{} still escrowed: ({}) {}", attachmentEvent.coordinates(), e.getClass().getSimpleName(),
+        e.getMessage());
+  }
+
+  /**
+   * Processes everything waiting on the given event, and everything waiting on those, for events stored without
+   * going through the escrow.
+   */
+  public void release(KeyEventCoordinates appended) {
+    var queue = new ArrayDeque<>(this.take(new Dependency(appended.identifier(), appended.sequenceNumber())));
+    while (!queue.isEmpty()) {
+      var entry = queue.poll();
+      this.released.increment();
+      try {
+        if (entry.event instanceof KeyEvent) {
+          var event = (KeyEvent) entry.event;
+          LOGGER.debug("releasing {}", event.coordinates());
+          this.tryProcess(event, entry.released, true);
+          queue.addAll(this.take(new Dependency(event.identifier(), event.sequenceNumber())));
+        } else {
+          var attachmentEvent = (AttachmentEvent) entry.event;
+          LOGGER.debug("releasing attachments to {}", attachmentEvent.coordinates());
+          this.process(attachmentEvent);
+        }
+      } catch (MissingReferencedEventException e) {
+        // escrowed again
+      } catch (KeyEventProcessingException | AttachmentEventProcessingException e) {
+        LOGGER.debug("released event not accepted: ({}) {}", e.getClass().getSimpleName(), e.getMessage());
+      }
+    }
+  }
+
+  // merges in signatures escrowed for the event, then processes it, escrowing it if it can't be yet; an event that was
+  // escrowed is reported to its callback once accepted
+  private KeyState tryProcess(KeyEvent event, Consumer<KeyEvent> released, boolean escrowed) {
+    KeyState state;
+    while (true) {
+      var partial = this.takePartial(event.coordinates());
+      if (partial != null) {
+        if (released == NO_CALLBACK) {
+          released = partial.released;
+        }
+        event = merge((KeyEvent) partial.event, partial.verifiedAuthentication, partial.verifiedEndorsements,
+            event.authentication(), event.endorsements(), event.receipts());
+      }
+      for (var attachmentEvent : this.takeAttachments(event.coordinates())) {
+        event = merge(event, Map.of(), Map.of(),
+            attachmentEvent.authentication(), attachmentEvent.endorsements(), attachmentEvent.receipts());
+      }
+
+      try {
+        state = this.processor.process(event);
+        break;
+      } catch (MissingEventException e) {
+        if (this.escrow(event, e.missingEvent().identifier(), e.missingEvent().sequenceNumber(), released,
+            () -> this.store().getKeyState(e.missingEvent()).isPresent())) {
+          throw e;
+        }
+      } catch (MissingDelegatingEventException e) {
+        if (this.escrow(event, e.missingEvent().identifier(), e.missingEvent().sequenceNumber(), released,
+            () -> this.store().getKeyEvent(e.missingEvent()).isPresent())) {
+          throw e;
+        }
+      } catch (UnmetSigningThresholdException e) {
+        event = withoutSignatures(e.keyEvent(), e.invalid(), Set.of());
+        if (this.escrowPartial(event, e.verified(), Map.of(), released)) {
+          throw e;
+        }
+      } catch (UnmetWitnessThresholdException e) {
+        // the controller signatures met their threshold, so they're all kept
+        event = withoutSignatures(e.keyEvent(), Set.of(), e.invalid());
+        if (this.escrowPartial(event, Map.of(), e.verified(), released)) {
+          throw e;
+        }
+      }
+      LOGGER.debug("{} processed again, what it waited on arrived as it was escrowed", event.coordinates());
+    }
+
+    if (escrowed) {
+      try {
+        released.accept(event);
+      } catch (RuntimeException e) {
+        LOGGER.warn("callback for released event {} failed", event.coordinates(), e);
+      }
+    }
+    return state;
+  }
+
+  private KeyEventStore store() {
+    return this.processor.keyEventStore();
+  }
+
+  private static KeyEvent withoutSignatures(KeyEvent event, Set<Integer> authentication, Set<Integer> endorsements) {
+    var keptAuthentication = new HashMap<>(event.authentication());
+    keptAuthentication.keySet().removeAll(authentication);
+    var keptEndorsements = new HashMap<>(event.endorsements());
+    keptEndorsements.keySet().removeAll(endorsements);
+    return KeyEvents.withAttachments(event, keptAuthentication, keptEndorsements, event.receipts());
+  }
+
+  private boolean escrow(Object event, Identifier identifier, long sequenceNumber, Consumer<KeyEvent> released,
+      BooleanSupplier available) {
+    var key = event instanceof KeyEvent
+        ? ImmutableKeyEventCoordinates.convert(((KeyEvent) event).coordinates())
+        : new Object();
+    return this.escrow(new Entry(key, event, new Dependency(identifier, sequenceNumber), Map.of(), Map.of(),
+        released, size(event), this.clock.instant()), available);
+  }
+
+  // unlike other entries, the partial is escrowed even when attachments to it are waiting, as it holds what was
+  // verified; it's then taken back with them
+  private boolean escrowPartial(KeyEvent event, Map<Integer, Signature> verifiedAuthentication,
+      Map<Integer, Signature> verifiedEndorsements, Consumer<KeyEvent> released) {
+    var key = ImmutableKeyEventCoordinates.convert(event.coordinates());
+    var entry = new Entry(key, event, null, verifiedAuthentication, verifiedEndorsements, released, size(event),
+        this.clock.instant());
+    synchronized (this) {
+      return this.escrow(entry, () -> false) && !this.hasAttachments(event.coordinates());
+    }
+  }
+
+  // escrows the entry unless what it waits on became available since it was processed, checked under the lock so
+  // whatever makes it available either sees the entry when it releases it, or is seen here; returns false if the
+  // entry must be processed again
+  private boolean escrow(Entry entry, BooleanSupplier available) {
+    synchronized (this) {
+      if (available.getAsBoolean()) {
+        return false;
+      }
+
+      this.evictExpired(entry.escrowedAt);
+
+      if (entry.size > this.maximumBytes || this.entries.containsKey(entry.key)) {
+        return true;
+      }
+
+      this.entries.put(entry.key, entry);
+      if (entry.dependency != null) {
+        this.waiting.computeIfAbsent(entry.dependency, k -> new LinkedHashSet<>()).add(entry.key);
+      }
+      this.bytes += entry.size;
+      this.escrowed.increment();
+
+      // make room by dropping the oldest entries, so a flood of orphans can only displace older orphans
+      while (this.entries.size() > this.maximumEntries || this.bytes > this.maximumBytes) {
+        this.remove(this.entries.values().iterator().next());
+        this.evicted.increment();
+      }
+      return true;
+    }
+  }
+
+  private synchronized List<Entry> take(Dependency dependency) {
+    var keys = this.waiting.remove(dependency);
+    if (keys == null) {
+      return List.of();
+    }
+
+    var taken = new ArrayList<Entry>(keys.size());
+    for (var key : keys) {
+      var entry = this.entries.remove(key);
+      this.bytes -= entry.size;
+      taken.add(entry);
+    }
+    return taken;
+  }
+
+  // the event's partially signed or witnessed entry, if any, removed from the escrow
+  private synchronized Entry takePartial(KeyEventCoordinates coordinates) {
+    var entry = this.entries.get(ImmutableKeyEventCoordinates.convert(coordinates));
+    if (entry == null || entry.dependency != null) {
+      return null;
+    }
+
+    this.remove(entry);
+    return entry;
+  }
+
+  private static KeyEvent merge(KeyEvent event, Map<Integer, Signature> verifiedAuthentication,
+      Map<Integer, Signature> verifiedEndorsements, Map<Integer, Signature> authentication,
+      Map<Integer, Signature> endorsements, Map<KeyEventCoordinates, Map<Integer, Signature>> receipts) {
+    var mergedReceipts = new HashMap<KeyEventCoordinates, Map<Integer, Signature>>(event.receipts());
+    for (var kv : receipts.entrySet()) {
+      mergedReceipts.merge(kv.getKey(), kv.getValue(), (held, arrived) -> {
+        var merged = new HashMap<>(arrived);
+        merged.putAll(held);
+        return merged;
+      });
+    }
+
+    return KeyEvents.withAttachments(event,
+        merge(event.authentication(), verifiedAuthentication, authentication),
+        merge(event.endorsements(), verifiedEndorsements, endorsements),
+        mergedReceipts);
+  }
+
+  // arriving signatures replace held ones that weren't verified, which may have been skipped or be wrong
+  private static Map<Integer, Signature> merge(Map<Integer, Signature> held, Map<Integer, Signature> verified,
+      Map<Integer, Signature> arrived) {
+    var merged = new HashMap<>(held);
+    for (var kv : arrived.entrySet()) {
+      if (!verified.containsKey(kv.getKey())) {
+        merged.put(kv.getKey(), kv.getValue());
+      }
+    }
+    return merged;
+  }
+
+  private synchronized boolean hasPartial(KeyEventCoordinates coordinates) {
+    var entry = this.entries.get(ImmutableKeyEventCoordinates.convert(coordinates));
+    return entry != null && entry.dependency == null;
+  }
+
+  private synchronized boolean hasAttachments(KeyEventCoordinates coordinates) {
+    var keys = this.waiting.getOrDefault(new Dependency(coordinates.identifier(), coordinates.sequenceNumber()),
+        Set.of());
+    return keys.stream().anyMatch(key -> attachesTo(this.entries.get(key), coordinates));
+  }
+
+  // attachments escrowed until the event arrived
+  private synchronized List<AttachmentEvent> takeAttachments(KeyEventCoordinates coordinates) {
+    var keys = this.waiting.get(new Dependency(coordinates.identifier(), coordinates.sequenceNumber()));
+    if (keys == null) {
+      return List.of();
+    }
+
+    var attachments = new ArrayList<AttachmentEvent>();
+    for (var key : List.copyOf(keys)) {
+      var entry = this.entries.get(key);
+      if (attachesTo(entry, coordinates)) {
+        this.remove(entry);
+        attachments.add((AttachmentEvent) entry.event);
+      }
+    }
+    return attachments;
+  }
+
+  private static boolean attachesTo(Entry entry, KeyEventCoordinates coordinates) {
+    return entry.event instanceof AttachmentEvent
+        && ImmutableKeyEventCoordinates.convert(((AttachmentEvent) entry.event).coordinates()).equals(
+        ImmutableKeyEventCoordinates.convert(coordinates));
+  }
+
+  private void remove(Entry entry) {
+    this.entries.remove(entry.key);
+    this.bytes -= entry.size;
+    if (entry.dependency == null) {
+      return;
+    }
+    var keys = this.waiting.get(entry.dependency);
+    keys.remove(entry.key);
+    if (keys.isEmpty()) {
+      this.waiting.remove(entry.dependency);
+    }
+  }
+
+  /**
+   * Drops entries that have outlived the time to live. Expired entries are otherwise only dropped as new ones are
+   * escrowed.
+   */
+  public synchronized void evictExpired() {
+    this.evictExpired(this.clock.instant());
+  }
+
+  private void evictExpired(Instant now) {
+    var oldest = now.minus(this.timeToLive);
+    while (!this.entries.isEmpty()) {
+      var entry = this.entries.values().iterator().next();
+      if (!entry.escrowedAt.isBefore(oldest)) {
+        break;
+      }
+      this.remove(entry);
+      this.expired.increment();
+    }
+  }
+
+  private static long size(Object event) {
+    if (event instanceof KeyEvent) {
+      var ke = (KeyEvent) event;
+      return ENTRY_OVERHEAD + ke.byteBuffer().remaining()
+          + (long) SIGNATURE_OVERHEAD * signatureCount(ke.authentication(), ke.endorsements(), ke.receipts());
+    }
+
+    var ae = (AttachmentEvent) event;
+    return ENTRY_OVERHEAD
+        + (long) SIGNATURE_OVERHEAD * signatureCount(ae.authentication(), ae.endorsements(), ae.receipts());
+  }
+
+  private static int signatureCount(Map<Integer, Signature> authentication, Map<Integer, Signature> endorsements,
+      Map<KeyEventCoordinates, Map<Integer, Signature>> receipts) {
+    var count = authentication.size() + endorsements.size();
+    for (var signatures : receipts.values()) {
+      count += signatures.size() + 1;
+    }
+    return count;
+  }
+
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * The estimated memory held by escrowed entries.
+   */
+  public synchronized long bytes() {
+    return this.bytes;
+  }
+
+  public long escrowed() {
+    return this.escrowed.sum();
+  }
+
+  public long released() {
+    return this.released.sum();
+  }
+
+  public long expired() {
+    return this.expired.sum();
+  }
+
+  public long evicted() {
+    return this.evicted.sum();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("KeyEventEscrow[size=%d, bytes=%d, escrowed=%d, released=%d, expired=%d, evicted=%d]",
+        this.size(), this.bytes(), this.escrowed(), this.released(), this.expired(), this.evicted());
+  }
+
+  private static final class Entry {
+
+    final Object key;
+    final Object event;
+    // null for partially signed or witnessed events
+    final Dependency dependency;
+    final Map<Integer, Signature> verifiedAuthentication;
+    final Map<Integer, Signature> verifiedEndorsements;
+    final Consumer<KeyEvent> released;
+    final long size;
+    final Instant escrowedAt;
+
+    Entry(Object key, Object event, Dependency dependency, Map<Integer, Signature> verifiedAuthentication,
+        Map<Integer, Signature> verifiedEndorsements, Consumer<KeyEvent> released, long size, Instant escrowedAt) {
+      this.key = key;
+      this.event = event;
+      this.dependency = dependency;
+      this.verifiedAuthentication = verifiedAuthentication;
+      this.verifiedEndorsements = verifiedEndorsements;
+      this.released = released;
+      this.size = size;
+      this.escrowedAt = escrowedAt;
+    }
+
+  }
+
+  // events are awaited by identifier and sequence number, as the digest algorithm of a reference may not be the one
+  // the event's own coordinates use
+  private static final class Dependency {
+
+    final Identifier identifier;
+    final long sequenceNumber;
+
+    Dependency(Identifier identifier, long sequenceNumber) {
+      this.identifier = identifier;
+      this.sequenceNumber = sequenceNumber;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.identifier, this.sequenceNumber);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Dependency)) {
+        return false;
+      }
+      var other = (Dependency) obj;
+      return this.sequenceNumber == other.sequenceNumber
+          && this.identifier.equals(other.identifier);
+    }
+
+  }
+
+  public static class Builder {
+
+    private final KeyEventProcessor processor;
+    private int maximumEntries = DEFAULT_MAXIMUM_ENTRIES;
+    private long maximumBytes = DEFAULT_MAXIMUM_BYTES;
+    private Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+    private Clock clock = Clock.systemUTC();
+
+    private Builder(KeyEventProcessor processor) {
+      this.processor = requireNonNull(processor);
+    }
+
+    public Builder maximumEntries(int maximumEntries) {
+      this.maximumEntries = maximumEntries;
+      return this;
+    }
+
+    /**
+     * The estimated memory escrowed entries may hold.
+     */
+    public Builder maximumBytes(long maximumBytes) {
+      this.maximumBytes = maximumBytes;
+      return this;
+    }
+
+    public Builder timeToLive(Duration timeToLive) {
+      this.timeToLive = requireNonNull(timeToLive);
+      return this;
+    }
+
+    public Builder clock(Clock clock) {
+      this.clock = requireNonNull(clock);
+      return this;
+    }
+
+    public KeyEventEscrow build() {
+      return new KeyEventEscrow(this);
+    }
+
+  }
+
+}
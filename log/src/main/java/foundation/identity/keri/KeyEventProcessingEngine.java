@@ -0,0 +1,289 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.AttachmentEvent;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.identifier.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Processes events on lanes, each a single thread with a bounded queue. Events and attachments are assigned a lane by
+ * identifier, so each identifier's events are processed one at a time and in the order they were submitted, while
+ * different identifiers' events are processed in parallel.
+ *
+ * <p>Submitting to a full lane blocks until the lane has room, so producers are held back to the rate their lanes
+ * drain at. Submissions that lose a race with {@link #close()} complete exceptionally rather than being left waiting.
+ *
+ * <p>An engine built with an escrow processes events through it, so events missing a dependency or signatures are
+ * escrowed. Escrowed events are processed again on the lane of whichever event released them.
+ */
+public final class KeyEventProcessingEngine implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KeyEventProcessingEngine.class);
+
+  public static final int DEFAULT_LANE_CAPACITY = 1024;
+
+  private static final Runnable STOP = () -> {
+  };
+
+  private final KeyEventProcessor processor;
+  private final KeyEventEscrow escrow;
+  private final Lane[] lanes;
+  private final LongAdder blocked = new LongAdder();
+  private volatile boolean closed;
+
+  private KeyEventProcessingEngine(Builder builder) {
+    this.processor = builder.processor;
+    this.escrow = builder.escrow;
+    this.lanes = new Lane[builder.lanes];
+    for (var i = 0; i < this.lanes.length; i++) {
+      this.lanes[i] = new Lane(i, builder.laneCapacity);
+    }
+  }
+
+  /**
+   * An engine processing events with the processor on several threads at once, so the processor's store must be safe
+   * for concurrent use, as {@code ConcurrentInMemoryKeyEventStore} and {@code FileKeyEventStore} are.
+   */
+  public static Builder builder(KeyEventProcessor processor) {
+    return new Builder(processor, null);
+  }
+
+  /**
+   * An engine processing events through the escrow, with the escrow's processor, whose store must likewise be safe for
+   * concurrent use.
+   */
+  public static Builder builder(KeyEventEscrow escrow) {
+    return new Builder(escrow.processor(), escrow);
+  }
+
+  public KeyEventProcessor processor() {
+    return this.processor;
+  }
+
+  /**
+   * Queues the event on its identifier's lane, blocking while the lane is full. The returned future completes with
+   * the resulting key state, or exceptionally with the {@link KeyEventProcessingException} the event failed with.
+   */
+  public CompletableFuture<KeyState> submit(KeyEvent event) {
+    return this.submit(event.identifier(), () -> this.escrow != null
+        ? this.escrow.process(event)
+        : this.processor.process(event));
+  }
+
+  /**
+   * Queues the event as {@link #submit(KeyEvent)} does. If the engine has an escrow and the event is escrowed, the
+   * callback is called with it once it's accepted, on the lane that released it.
+   */
+  public CompletableFuture<KeyState> submit(KeyEvent event, Consumer<KeyEvent> released) {
+    requireNonNull(released);
+    return this.submit(event.identifier(), () -> this.escrow != null
+        ? this.escrow.process(event, released)
+        : this.processor.process(event));
+  }
+
+  /**
+   * Queues the attachments on the lane of the identifier of the event they're attached to, blocking while the lane is
+   * full.
+   */
+  public CompletableFuture<Void> submit(AttachmentEvent attachmentEvent) {
+    return this.submit(attachmentEvent.coordinates().identifier(), () -> {
+      if (this.escrow != null) {
+        this.escrow.process(attachmentEvent);
+      } else {
+        this.processor.process(attachmentEvent);
+      }
+      return null;
+    });
+  }
+
+  private <T> CompletableFuture<T> submit(Identifier identifier, Supplier<T> task) {
+    if (this.closed) {
+      throw new IllegalStateException("engine is closed");
+    }
+
+    var work = new Work<>(task);
+    var lane = this.lanes[Math.floorMod(identifier.hashCode(), this.lanes.length)];
+    try {
+      if (!lane.queue.offer(work)) {
+        this.blocked.increment();
+        lane.queue.put(work);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      work.future.completeExceptionally(e);
+      return work.future;
+    }
+
+    // the engine may have closed while this was being queued, after its lane stopped and was drained
+    if (this.closed && lane.queue.remove(work)) {
+      work.reject();
+    }
+    return work.future;
+  }
+
+  public int lanes() {
+    return this.lanes.length;
+  }
+
+  /**
+   * The number of events waiting on each lane, not counting any being processed.
+   */
+  public int[] queueDepths() {
+    var depths = new int[this.lanes.length];
+    for (var i = 0; i < depths.length; i++) {
+      depths[i] = this.lanes[i].queue.size();
+    }
+    return depths;
+  }
+
+  /**
+   * The number of submissions that found their lane full and had to wait.
+   */
+  public long blocked() {
+    return this.blocked.sum();
+  }
+
+  /**
+   * Stops accepting events and waits for the lanes to process those already queued. Events submitted concurrently
+   * with closing may be rejected instead, their futures completing with an {@link IllegalStateException}.
+   */
+  @Override
+  public void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+
+    for (var lane : this.lanes) {
+      try {
+        lane.queue.put(STOP);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    for (var lane : this.lanes) {
+      try {
+        lane.thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+
+    // submissions queued behind STOP, which also frees producers blocked on full lanes
+    for (var lane : this.lanes) {
+      var leftover = new ArrayList<Runnable>();
+      lane.queue.drainTo(leftover);
+      for (var work : leftover) {
+        if (work instanceof Work) {
+          ((Work<?>) work).reject();
+        }
+      }
+    }
+  }
+
+  private static final class Work<T> implements Runnable {
+
+    final Supplier<T> task;
+    final CompletableFuture<T> future = new CompletableFuture<>();
+
+    Work(Supplier<T> task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      try {
+        this.future.complete(this.task.get());
+      } catch (Throwable t) {
+        this.future.completeExceptionally(t);
+      }
+    }
+
+    void reject() {
+      this.future.completeExceptionally(new IllegalStateException("engine is closed"));
+    }
+
+  }
+
+  private static final class Lane {
+
+    final BlockingQueue<Runnable> queue;
+    final Thread thread;
+
+    Lane(int index, int capacity) {
+      this.queue = new ArrayBlockingQueue<>(capacity);
+      this.thread = new Thread(this::run, "keri-lane-" + index);
+      this.thread.setDaemon(true);
+      this.thread.start();
+    }
+
+    private void run() {
+      while (true) {
+        Runnable work;
+        try {
+          work = this.queue.take();
+        } catch (InterruptedException e) {
+          LOGGER.debug("{} interrupted", Thread.currentThread().getName());
+          return;
+        }
+        if (work == STOP) {
+          return;
+        }
+        work.run();
+      }
+    }
+
+  }
+
+  public static class Builder {
+
+    private final KeyEventProcessor processor;
+    private final KeyEventEscrow escrow;
+    private int lanes = Runtime.getRuntime().availableProcessors();
+    private int laneCapacity = DEFAULT_LANE_CAPACITY;
+
+    private Builder(KeyEventProcessor processor, KeyEventEscrow escrow) {
+      this.processor = requireNonNull(processor);
+      this.escrow = escrow;
+    }
+
+    public Builder lanes(int lanes) {
+      if (lanes <= 0) {
+        throw new IllegalArgumentException("lanes must be positive");
+      }
+      this.lanes = lanes;
+      return this;
+    }
+
+    /**
+     * The number of events that may wait on a lane before submitting to it blocks.
+     */
+    public Builder laneCapacity(int laneCapacity) {
+      if (laneCapacity <= 0) {
+        throw new IllegalArgumentException("laneCapacity must be positive");
+      }
+      this.laneCapacity = laneCapacity;
+      return this;
+    }
+
+    public KeyEventProcessingEngine build() {
+      return new KeyEventProcessingEngine(this);
+    }
+
+  }
+
+}
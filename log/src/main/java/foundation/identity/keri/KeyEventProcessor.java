@@ -10,8 +10,10 @@ import foundation.identity.keri.api.event.InteractionEvent;
 import foundation.identity.keri.api.event.KeyEvent;
 import foundation.identity.keri.api.event.KeyEventCoordinates;
 import foundation.identity.keri.api.event.RotationEvent;
+import foundation.identity.keri.api.event.SealingEvent;
 import foundation.identity.keri.api.event.SigningThreshold;
 import foundation.identity.keri.api.identifier.BasicIdentifier;
+import foundation.identity.keri.api.identifier.Identifier;
 import foundation.identity.keri.api.identifier.SelfAddressingIdentifier;
 import foundation.identity.keri.api.identifier.SelfSigningIdentifier;
 import foundation.identity.keri.api.seal.KeyEventCoordinatesSeal;
@@ -20,35 +22,109 @@ import foundation.identity.keri.crypto.Digest;
 import foundation.identity.keri.crypto.DigestOperations;
 import foundation.identity.keri.crypto.Signature;
 import foundation.identity.keri.crypto.SignatureOperations;
+import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import foundation.identity.keri.internal.seal.ImmutableKeyEventCoordinatesSeal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.security.PublicKey;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static foundation.identity.keri.api.event.ConfigurationTrait.ESTABLISHMENT_EVENTS_ONLY;
 import static java.util.Collections.disjoint;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 
 public final class KeyEventProcessor {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(KeyEventProcessor.class);
 
+  // large enough for batch verification to pay off, small enough to spread over the pool
+  private static final int VERIFICATION_BATCH_SIZE = 64;
+
   final KeyEventStore keyEventStore;
+  final ForkJoinPool pool;
+  final VerifiedSignatureCache verifiedSignatures;
+  final boolean verifyAllSignatures;
 
   public KeyEventProcessor(KeyEventStore keyEventStore) {
-    this.keyEventStore = keyEventStore;
+    this(builder(keyEventStore));
+  }
+
+  private KeyEventProcessor(Builder builder) {
+    this.keyEventStore = builder.keyEventStore;
+    this.pool = builder.pool;
+    this.verifiedSignatures = builder.verifiedSignatures;
+    this.verifyAllSignatures = builder.verifyAllSignatures;
+  }
+
+  public static Builder builder(KeyEventStore keyEventStore) {
+    return new Builder(keyEventStore);
   }
 
   public KeyEventStore keyEventStore() {
     return this.keyEventStore;
   }
 
+  public VerifiedSignatureCache verifiedSignatures() {
+    return this.verifiedSignatures;
+  }
+
+  /**
+   * Validates and stores the event, returning the resulting key state once the store has committed the event.
+   */
   public KeyState process(KeyEvent event) throws KeyEventProcessingException {
+    return this.process(event, this::verify);
+  }
+
+  /**
+   * Validates and stores a batch of events, returning the resulting key states in the order the events were applied.
+   *
+   * <p>Each identifier's events are applied in order of sequence number, so a batch may hold a log in any order.
+   * The signatures of the whole batch are verified in parallel up front, against the key states the events would
+   * produce. An event that fails doesn't stop the rest of the batch, though later events of its identifier will then
+   * fail for want of it; the failures are thrown together once the batch is done, with the states that were produced.
+   *
+   * @throws KeyEventBatchProcessingException if any of the events failed
+   */
+  public List<KeyState> process(Collection<KeyEvent> events) throws KeyEventBatchProcessingException {
+    var ordered = inSequenceOrder(events);
+    var verified = this.verifyInParallel(ordered);
+
+    SignatureVerifier verifier = (event, signature, publicKey) -> {
+      var result = verified.get(new Verification(event, signature, publicKey));
+      return result != null ? result : this.verify(event, signature, publicKey);
+    };
+
+    var states = new ArrayList<KeyState>(ordered.size());
+    var failures = new LinkedHashMap<KeyEvent, RuntimeException>();
+    for (var event : ordered) {
+      try {
+        states.add(this.process(event, verifier));
+      } catch (KeyEventProcessingException | InvalidKeyEventException e) {
+        failures.put(event, e);
+      }
+    }
+
+    if (!failures.isEmpty()) {
+      throw new KeyEventBatchProcessingException(states, failures);
+    }
+    return states;
+  }
+
+  private KeyState process(KeyEvent event, SignatureVerifier verifier) {
     KeyState previousState = null;
 
     if (!(event instanceof InceptionEvent)) {
@@ -60,93 +136,379 @@ public final class KeyEventProcessor {
 
     var newState = KeyStateProcessor.apply(previousState, event);
 
-    var validControllerSignatures = this.verifyAuthentication(newState, event, event.authentication());
-    var validWitnessReceipts = this.verifyEndorsements(newState, event, event.endorsements());
-    var validOtherReceipts = this.verifyReceipts(event, event.receipts());
+    var controllerSignatures = this.verifyAuthentication(newState, event, event.authentication(), verifier);
+    var witnessReceipts = this.verifyEndorsements(newState, event, event.endorsements(), verifier);
+    var otherReceipts = this.verifyReceipts(event, event.receipts(), verifier);
 
-    // TODO remove invalid signatures before appending
-    this.keyEventStore.append(event);
+    // signatures found invalid aren't stored
+    if (controllerSignatures.size() < event.authentication().size()
+        || witnessReceipts.size() < event.endorsements().size()
+        || !otherReceipts.equals(event.receipts())) {
+      this.keyEventStore.append(
+          KeyEvents.withAttachments(event, controllerSignatures, witnessReceipts, otherReceipts));
+    } else {
+      this.keyEventStore.append(event);
+    }
 
     return newState;
   }
 
+  /**
+   * Verifies the attachments the store doesn't already hold for the referenced event, and stores those that are valid,
+   * returning once the store has committed them.
+   *
+   * <p>Only the attachment's own signatures are verified, skipping those the store already holds. Every new signature
+   * is verified, whether or not the event's thresholds are already met, so none that are valid are lost.
+   */
   public void process(AttachmentEvent attachmentEvent) throws AttachmentEventProcessingException {
     var event = this.keyEventStore.getKeyEvent(attachmentEvent.coordinates())
         .orElseThrow(() -> new MissingReferencedEventException(attachmentEvent, attachmentEvent.coordinates()));
     var state = this.keyEventStore.getKeyState(attachmentEvent.coordinates())
         .orElseThrow(() -> new MissingReferencedEventException(attachmentEvent, attachmentEvent.coordinates()));
+    var held = this.keyEventStore.getAttachments(attachmentEvent.coordinates())
+        .orElseThrow(() -> new MissingReferencedEventException(attachmentEvent, attachmentEvent.coordinates()));
+
+    var newControllerSignatures = this.verifyNewSignatures(event, attachmentEvent.authentication(),
+        held.authentication(), state.lastEstablishmentEvent().keys());
+
+    var witnessKeys = state.witnesses().stream().map(BasicIdentifier::publicKey).collect(toList());
+    var newWitnessReceipts = this.verifyNewSignatures(event, attachmentEvent.endorsements(), held.endorsements(),
+        witnessKeys);
+    var endorsements = held.endorsements().size() + newWitnessReceipts.size();
+
+    var newOtherReceipts = new HashMap<KeyEventCoordinates, Map<Integer, Signature>>();
+    for (var kv : attachmentEvent.receipts().entrySet()) {
+      // TODO escrow or something
+      var keyState = this.keyEventStore.getKeyState(kv.getKey());
+      if (keyState.isEmpty()) {
+        continue;
+      }
+
+      var stored = held.receipts().getOrDefault(ImmutableKeyEventCoordinates.convert(kv.getKey()), Map.of());
+      var verified = this.verifyNewSignatures(event, kv.getValue(), stored,
+          keyState.get().lastEstablishmentEvent().keys());
+      if (!verified.isEmpty()) {
+        newOtherReceipts.put(kv.getKey(), verified);
+      }
+    }
+
+    if (newControllerSignatures.isEmpty() && newWitnessReceipts.isEmpty() && newOtherReceipts.isEmpty()) {
+      return;
+    }
+
+    LOGGER.debug("{}: {} new signatures, {} new endorsements ({} of {} required), {} new receipts",
+        event.coordinates(), newControllerSignatures.size(), newWitnessReceipts.size(), endorsements,
+        state.witnessThreshold(), newOtherReceipts.size());
+
+    this.keyEventStore.append(new ImmutableAttachmentEvent(
+        attachmentEvent.coordinates(), newControllerSignatures, newWitnessReceipts, newOtherReceipts));
+  }
+
+  // verifies the signatures that aren't already stored
+  private Map<Integer, Signature> verifyNewSignatures(KeyEvent event, Map<Integer, Signature> signatures,
+      Map<Integer, Signature> stored, List<PublicKey> keys) {
+    var verified = new HashMap<Integer, Signature>();
+    for (var kv : signatures.entrySet()) {
+      var index = kv.getKey();
+      if (kv.getValue().equals(stored.get(index))) {
+        continue;
+      }
+
+      if (index < 0 || index >= keys.size()) {
+        LOGGER.debug("attached signature index out of range: {}", index);
+        continue;
+      }
+
+      if (this.verify(event, kv.getValue(), keys.get(index))) {
+        verified.put(index, kv.getValue());
+      } else {
+        LOGGER.debug("attached signature invalid: {}", index);
+      }
+    }
+    return verified;
+  }
+
+  // sorts each identifier's events by sequence number, keeping the batch's interleaving of identifiers
+  private static List<KeyEvent> inSequenceOrder(Collection<KeyEvent> events) {
+    var chains = new HashMap<Identifier, List<KeyEvent>>();
+    for (var event : events) {
+      chains.computeIfAbsent(event.identifier(), k -> new ArrayList<>()).add(event);
+    }
+    for (var chain : chains.values()) {
+      chain.sort(Comparator.comparingLong(KeyEvent::sequenceNumber));
+    }
+
+    var cursors = new HashMap<Identifier, Integer>();
+    var ordered = new ArrayList<KeyEvent>(events.size());
+    for (var event : events) {
+      var cursor = cursors.merge(event.identifier(), 1, Integer::sum) - 1;
+      ordered.add(chains.get(event.identifier()).get(cursor));
+    }
+    return ordered;
+  }
+
+  private Map<Verification, Boolean> verifyInParallel(List<KeyEvent> events) {
+    // the states are speculative: an event that later fails validation just has its signatures verified for nothing,
+    // and a signature checked against a key other than the one applied is verified again when the event is processed
+    var states = new HashMap<KeyEventCoordinates, KeyState>();
+    var verifications = new ArrayList<Verification>();
+    for (var event : events) {
+      KeyState state;
+      try {
+        KeyState previousState = null;
+        if (!(event instanceof InceptionEvent)) {
+          previousState = states.get(event.previous());
+          if (previousState == null) {
+            previousState = this.keyEventStore.getKeyState(event.previous()).orElse(null);
+          }
+          if (previousState == null) {
+            continue;
+          }
+        }
+        state = KeyStateProcessor.apply(previousState, event);
+      } catch (RuntimeException e) {
+        continue;
+      }
+      states.put(event.coordinates(), state);
+
+      addVerifications(verifications, event, event.authentication(), state.lastEstablishmentEvent().keys());
+
+      var witnessKeys = state.witnesses().stream().map(BasicIdentifier::publicKey).collect(toList());
+      addVerifications(verifications, event, event.endorsements(), witnessKeys);
+
+      for (var kv : event.receipts().entrySet()) {
+        var receiptorState = states.get(kv.getKey());
+        if (receiptorState == null) {
+          receiptorState = this.keyEventStore.getKeyState(kv.getKey()).orElse(null);
+        }
+        if (receiptorState != null) {
+          addVerifications(verifications, event, kv.getValue(), receiptorState.lastEstablishmentEvent().keys());
+        }
+      }
+    }
+
+    this.pool.submit(() -> this.batches(verifications).parallelStream()
+        .forEach(this::verifyBatch))
+        .join();
+
+    var verified = new HashMap<Verification, Boolean>(verifications.size() * 2);
+    for (var v : verifications) {
+      verified.put(v, v.verified);
+    }
+    return verified;
+  }
+
+  private static void addVerifications(List<Verification> verifications, KeyEvent event,
+      Map<Integer, Signature> signatures, List<PublicKey> keys) {
+    for (var kv : signatures.entrySet()) {
+      if (kv.getKey() >= 0 && kv.getKey() < keys.size()) {
+        verifications.add(new Verification(event, kv.getValue(), keys.get(kv.getKey())));
+      }
+    }
+  }
+
+  // signatures already verified are left out, the others are grouped by the operations that verify them
+  private List<List<Verification>> batches(List<Verification> verifications) {
+    var byOperations = new HashMap<SignatureOperations, List<Verification>>();
+    for (var v : verifications) {
+      if (this.verifiedSignatures.contains(v.event.digest(), v.publicKey, v.signature)) {
+        v.verified = true;
+      } else {
+        byOperations.computeIfAbsent(SignatureOperations.lookup(v.publicKey), k -> new ArrayList<>()).add(v);
+      }
+    }
+
+    var batches = new ArrayList<List<Verification>>();
+    for (var group : byOperations.values()) {
+      for (var i = 0; i < group.size(); i += VERIFICATION_BATCH_SIZE) {
+        batches.add(group.subList(i, Math.min(i + VERIFICATION_BATCH_SIZE, group.size())));
+      }
+    }
+    return batches;
+  }
+
+  private void verifyBatch(List<Verification> batch) {
+    var messages = new ArrayList<ByteBuffer>(batch.size());
+    var signatures = new ArrayList<Signature>(batch.size());
+    var publicKeys = new ArrayList<PublicKey>(batch.size());
+    for (var v : batch) {
+      messages.add(v.event.byteBuffer());
+      signatures.add(v.signature);
+      publicKeys.add(v.publicKey);
+    }
+
+    // a batch accepts exactly the signatures verifying them one by one accepts, so its results are cached alike
+    var results = SignatureOperations.lookup(publicKeys.get(0)).verifyBatch(messages, signatures, publicKeys);
+    for (var i = 0; i < batch.size(); i++) {
+      var v = batch.get(i);
+      v.verified = results[i];
+      if (results[i]) {
+        this.verifiedSignatures.add(v.event.digest(), v.publicKey, v.signature);
+      }
+    }
+  }
+
+  private boolean verify(KeyEvent event, Signature signature, PublicKey publicKey) {
+    if (this.verifiedSignatures.contains(event.digest(), publicKey, signature)) {
+      return true;
+    }
+
+    var ops = SignatureOperations.lookup(publicKey);
+    var verified = ops.verify(event.byteBuffer(), signature, publicKey);
+    if (verified) {
+      this.verifiedSignatures.add(event.digest(), publicKey, signature);
+    }
+    return verified;
+  }
+
+  @FunctionalInterface
+  private interface SignatureVerifier {
+
+    boolean verify(KeyEvent event, Signature signature, PublicKey publicKey);
+
+  }
+
+  private static final class Verification {
+
+    final KeyEvent event;
+    final Signature signature;
+    final PublicKey publicKey;
+    volatile boolean verified;
+
+    Verification(KeyEvent event, Signature signature, PublicKey publicKey) {
+      this.event = event;
+      this.signature = signature;
+      this.publicKey = publicKey;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(this.event), this.signature, this.publicKey);
+    }
 
-    var validControllerSignatures = this.verifyAuthentication(state, event, event.authentication());
-    var validWitnessReceipts = this.verifyEndorsements(state, event, event.endorsements());
-    var validOtherReceipts = this.verifyReceipts(event, event.receipts());
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Verification)) {
+        return false;
+      }
+      var other = (Verification) obj;
+      // events are compared by identity, the signed bytes being the event's own
+      return this.event == other.event
+          && this.signature.equals(other.signature)
+          && this.publicKey.equals(other.publicKey);
+    }
 
-    this.keyEventStore.append(attachmentEvent);
   }
 
-  private HashMap<Integer, Signature> verifyAuthentication(KeyState state, KeyEvent event, Map<Integer, Signature> signatures) {
+  private HashMap<Integer, Signature> verifyAuthentication(KeyState state, KeyEvent event,
+      Map<Integer, Signature> signatures, SignatureVerifier verifier) {
     var kee = state.lastEstablishmentEvent();
+    var threshold = kee.signingThreshold();
 
-    var verifiedSignatures = new HashMap<Integer, Signature>();
+    var unverified = new HashMap<Integer, Signature>();
+    var invalid = new HashSet<Integer>();
     for (var kv : signatures.entrySet()) {
       var keyIndex = kv.getKey();
 
       if (keyIndex < 0 || keyIndex >= kee.keys().size()) {
         LOGGER.debug("signature keyIndex out of range: {}", keyIndex);
+        invalid.add(keyIndex);
         continue;
       }
 
-      var publicKey = kee.keys().get(kv.getKey());
+      unverified.put(keyIndex, kv.getValue());
+    }
+
+    var verifiedSignatures = new HashMap<Integer, Signature>();
+    for (var it = unverified.entrySet().iterator(); it.hasNext(); ) {
+      if (!this.verifyAllSignatures
+          && (SigningThresholds.thresholdMet(threshold, indexes(verifiedSignatures.keySet(), Set.of()))
+          || !SigningThresholds.thresholdMet(threshold, indexes(verifiedSignatures.keySet(), unverified.keySet())))) {
+        break;
+      }
+
+      var kv = it.next();
+      it.remove();
+      var keyIndex = kv.getKey();
+      var publicKey = kee.keys().get(keyIndex);
       var signature = kv.getValue();
 
-      var ops = SignatureOperations.lookup(publicKey);
-      if (ops.verify(event.bytes(), signature, publicKey)) {
+      if (verifier.verify(event, signature, publicKey)) {
         verifiedSignatures.put(keyIndex, signature);
       } else {
         LOGGER.debug("signature invalid: {}", keyIndex);
+        invalid.add(keyIndex);
       }
     }
 
-    var arrIndexes = verifiedSignatures.keySet()
-        .stream()
-        .mapToInt(Integer::intValue)
-        .toArray();
-    if (!SigningThresholds.thresholdMet(kee.signingThreshold(), arrIndexes)) {
-      throw new UnmetSigningThresholdException(event);
+    if (!SigningThresholds.thresholdMet(threshold, indexes(verifiedSignatures.keySet(), Set.of()))) {
+      throw new UnmetSigningThresholdException(event, verifiedSignatures, invalid);
     }
 
-    return verifiedSignatures;
+    // those left unverified once the threshold was met are kept, only those found invalid are dropped
+    var signaturesToStore = new HashMap<>(verifiedSignatures);
+    signaturesToStore.putAll(unverified);
+    return signaturesToStore;
+  }
+
+  private static int[] indexes(Set<Integer> a, Set<Integer> b) {
+    var indexes = new int[a.size() + b.size()];
+    var i = 0;
+    for (var index : a) {
+      indexes[i++] = index;
+    }
+    for (var index : b) {
+      indexes[i++] = index;
+    }
+    return indexes;
   }
 
-  private Map<Integer, Signature> verifyEndorsements(KeyState state, KeyEvent event, Map<Integer, Signature> receipts) {
+  private Map<Integer, Signature> verifyEndorsements(KeyState state, KeyEvent event, Map<Integer, Signature> receipts,
+      SignatureVerifier verifier) {
     var validReceipts = new HashMap<Integer, Signature>();
+    var unverified = new HashMap<Integer, Signature>();
+    var invalid = new HashSet<Integer>();
+    var remaining = receipts.size();
     for (var kv : receipts.entrySet()) {
       var witnessIndex = kv.getKey();
 
       if (witnessIndex < 0 || witnessIndex >= state.witnesses().size()) {
         LOGGER.debug("endorsement index out of range: {}", witnessIndex);
+        invalid.add(witnessIndex);
+        remaining--;
         continue;
       }
 
+      if (!this.verifyAllSignatures
+          && (validReceipts.size() >= state.witnessThreshold()
+          || validReceipts.size() + remaining < state.witnessThreshold())) {
+        unverified.put(witnessIndex, kv.getValue());
+        continue;
+      }
+      remaining--;
+
       var publicKey = state.witnesses().get(witnessIndex).publicKey();
       var signature = kv.getValue();
 
-      var ops = SignatureOperations.lookup(publicKey);
-      if (ops.verify(event.bytes(), signature, publicKey)) {
+      if (verifier.verify(event, signature, publicKey)) {
         validReceipts.put(witnessIndex, signature);
       } else {
         LOGGER.debug("invalid receipt from witness {}", witnessIndex);
+        invalid.add(witnessIndex);
       }
     }
 
     if (validReceipts.size() < state.witnessThreshold()) {
-      throw new UnmetWitnessThresholdException(event);
+      throw new UnmetWitnessThresholdException(event, validReceipts, invalid);
     }
 
+    // those left unverified once the threshold was met are kept, only those found invalid are dropped
+    validReceipts.putAll(unverified);
     return validReceipts;
   }
 
   private Map<KeyEventCoordinates, Map<Integer, Signature>> verifyReceipts(KeyEvent event, Map<KeyEventCoordinates,
-      Map<Integer, Signature>> otherReceipts) {
+      Map<Integer, Signature>> otherReceipts, SignatureVerifier verifier) {
     var verified = new HashMap<KeyEventCoordinates, Map<Integer, Signature>>();
     for (var kv : otherReceipts.entrySet()) {
       // TODO escrow or something
@@ -156,8 +518,13 @@ public final class KeyEventProcessor {
         continue;
       }
 
-      var verifiedSignatures = this.verifyAuthentication(keyState.get(), event, kv.getValue());
-      verified.put(kv.getKey(), verifiedSignatures);
+      // a receipt that doesn't meet its receiptor's threshold says nothing about the event itself
+      try {
+        var verifiedSignatures = this.verifyAuthentication(keyState.get(), event, kv.getValue(), verifier);
+        verified.put(kv.getKey(), verifiedSignatures);
+      } catch (UnmetSigningThresholdException e) {
+        LOGGER.debug("receipt from {} doesn't meet its signing threshold", kv.getKey());
+      }
     }
 
     return verified;
@@ -209,7 +576,7 @@ public final class KeyEventProcessor {
         var delegatingEvent = this.keyEventStore.getKeyEvent(dee.delegatingEvent())
             .orElseThrow(() -> new MissingDelegatingEventException(event, dee.delegatingEvent()));
 
-        this.validate(this.containsSeal(delegatingEvent.seals(), dee),
+        this.validate(this.containsSeal(delegatingEvent, dee),
             "delegated establishment event seal must contain be contained in referenced delegating event");
       }
     } else if (event instanceof InteractionEvent) {
@@ -236,7 +603,7 @@ public final class KeyEventProcessor {
     } else if (event.identifier() instanceof SelfAddressingIdentifier) {
       var sap = (SelfAddressingIdentifier) event.identifier();
       var ops = DigestOperations.lookup(sap.digest().algorithm());
-      var digest = ops.digest(event.inceptionStatement());
+      var digest = ops.digest(event.inceptionStatementBuffer());
 
       this.validate(Digest.equals(sap.digest(), digest),
           "self-addressing identifier digests must match digest of inception statement");
@@ -248,7 +615,7 @@ public final class KeyEventProcessor {
           "self-signing identifiers can only have a single key");
 
       var ops = SignatureOperations.lookup(event.keys().get(0));
-      this.validate(ops.verify(event.inceptionStatement(), ssp.signature(), event.keys().get(0)),
+      this.validate(ops.verify(event.inceptionStatementBuffer(), ssp.signature(), event.keys().get(0)),
           "self-signing prefix signature must verify against inception statement");
 
     } else {
@@ -323,13 +690,20 @@ public final class KeyEventProcessor {
     }
   }
 
- private boolean containsSeal(List<Seal> seals, DelegatedEstablishmentEvent event) {
-    for (var s : seals) {
+  private boolean containsSeal(SealingEvent delegatingEvent, DelegatedEstablishmentEvent event) {
+    var seal = new ImmutableKeyEventCoordinatesSeal(event.coordinates());
+    var anchoringEvent = this.keyEventStore.findAnchoringEvent(seal);
+    if (anchoringEvent.isPresent() && anchoringEvent.get().equals(delegatingEvent.coordinates())) {
+      return true;
+    }
+
+    // the seal may reference the event using a different digest algorithm
+    for (var s : delegatingEvent.seals()) {
       if (s instanceof KeyEventCoordinatesSeal) {
         var ecds = (KeyEventCoordinatesSeal) s;
         if (ecds.event().identifier().equals(event.identifier())
             && ecds.event().sequenceNumber() == event.sequenceNumber()
-            && DigestOperations.matches(event.bytes(), ecds.event().digest())) {
+            && DigestOperations.matches(event.byteBuffer(), ecds.event().digest())) {
           return true;
         }
       }
@@ -358,4 +732,44 @@ public final class KeyEventProcessor {
     return true;
   }
 
+  public static class Builder {
+
+    private final KeyEventStore keyEventStore;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private VerifiedSignatureCache verifiedSignatures = VerifiedSignatureCache.shared();
+    private boolean verifyAllSignatures;
+
+    private Builder(KeyEventStore keyEventStore) {
+      this.keyEventStore = requireNonNull(keyEventStore);
+    }
+
+    /**
+     * The pool the signatures of batches of events are verified on.
+     */
+    public Builder pool(ForkJoinPool pool) {
+      this.pool = requireNonNull(pool);
+      return this;
+    }
+
+    public Builder verifiedSignatures(VerifiedSignatureCache verifiedSignatures) {
+      this.verifiedSignatures = requireNonNull(verifiedSignatures);
+      return this;
+    }
+
+    /**
+     * Verify every signature of an event, instead of stopping once a threshold is met or can no longer be met. The
+     * signatures left unverified are otherwise stored along with those that verified, so only this keeps every invalid
+     * signature out of the store.
+     */
+    public Builder verifyAllSignatures(boolean verifyAllSignatures) {
+      this.verifyAllSignatures = verifyAllSignatures;
+      return this;
+    }
+
+    public KeyEventProcessor build() {
+      return new KeyEventProcessor(this);
+    }
+
+  }
+
 }
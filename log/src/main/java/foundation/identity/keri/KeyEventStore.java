@@ -7,6 +7,7 @@ import foundation.identity.keri.api.event.KeyEvent;
 import foundation.identity.keri.api.event.KeyEventCoordinates;
 import foundation.identity.keri.api.event.SealingEvent;
 import foundation.identity.keri.api.identifier.Identifier;
+import foundation.identity.keri.api.seal.Seal;
 
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -14,14 +15,27 @@ import java.util.stream.Stream;
 
 public interface KeyEventStore {
 
+  /**
+   * Stores the event. Persistent stores return once the event is as durable as they are configured to make it, so
+   * returning signals to callers such as {@link KeyEventProcessor} that the event has been committed.
+   */
   void append(KeyEvent event);
 
+  /**
+   * Stores the attachments, with the same durability as {@link #append(KeyEvent)}.
+   */
   void append(AttachmentEvent event);
 
   Optional<SealingEvent> getKeyEvent(DelegatingEventCoordinates coordinates);
 
   Optional<KeyEvent> getKeyEvent(KeyEventCoordinates coordinates);
 
+  /**
+   * The signatures stored for the event, both those it was appended with and those appended for it since, or empty if
+   * the event isn't stored.
+   */
+  Optional<AttachmentEvent> getAttachments(KeyEventCoordinates coordinates);
+
   Stream<KeyEvent> streamKeyEvents(Identifier identifier);
 
   Stream<KeyEvent> streamKeyEvents(Identifier identifier, long from);
@@ -31,4 +45,10 @@ public interface KeyEventStore {
   Optional<KeyState> getKeyState(KeyEventCoordinates previous);
 
   OptionalLong findLatestReceipt(Identifier forIdentifier, Identifier byIdentifier);
+
+  /**
+   * Finds the first stored event whose seals include the given seal.
+   */
+  Optional<KeyEventCoordinates> findAnchoringEvent(Seal seal);
+
 }
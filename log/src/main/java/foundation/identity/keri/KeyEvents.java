@@ -1,6 +1,7 @@
 package foundation.identity.keri;
 
 import foundation.identity.keri.api.event.AttachmentEvent;
+import foundation.identity.keri.api.event.ConfigurationTrait;
 import foundation.identity.keri.api.event.DelegatedEstablishmentEvent;
 import foundation.identity.keri.api.event.DelegatedInceptionEvent;
 import foundation.identity.keri.api.event.DelegatedRotationEvent;
@@ -10,7 +11,14 @@ import foundation.identity.keri.api.event.InteractionEvent;
 import foundation.identity.keri.api.event.KeyEvent;
 import foundation.identity.keri.api.event.KeyEventCoordinates;
 import foundation.identity.keri.api.event.RotationEvent;
-
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.internal.event.ImmutableDelegatedInceptionEvent;
+import foundation.identity.keri.internal.event.ImmutableDelegatedRotationEvent;
+import foundation.identity.keri.internal.event.ImmutableInceptionEvent;
+import foundation.identity.keri.internal.event.ImmutableInteractionEvent;
+import foundation.identity.keri.internal.event.ImmutableRotationEvent;
+
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -107,6 +115,46 @@ public final class KeyEvents {
     return sb.toString();
   }
 
+  /**
+   * Returns a copy of the event carrying the given attachments instead of its own.
+   */
+  public static KeyEvent withAttachments(KeyEvent e, Map<Integer, Signature> authentication,
+      Map<Integer, Signature> endorsements, Map<KeyEventCoordinates, Map<Integer, Signature>> receipts) {
+    if (e instanceof DelegatedInceptionEvent) {
+      var dip = (DelegatedInceptionEvent) e;
+      var configurationTraits = EnumSet.noneOf(ConfigurationTrait.class);
+      configurationTraits.addAll(dip.configurationTraits());
+      return new ImmutableDelegatedInceptionEvent(dip.bytes(), dip.inceptionStatement(), dip.version(), dip.format(),
+          dip.identifier(), dip.signingThreshold(), dip.keys(), dip.nextKeyConfiguration().orElse(null),
+          dip.witnessThreshold(), dip.witnesses(), configurationTraits, dip.delegatingEvent(),
+          authentication, endorsements, receipts);
+    } else if (e instanceof InceptionEvent) {
+      var icp = (InceptionEvent) e;
+      return new ImmutableInceptionEvent(icp.bytes(), icp.inceptionStatement(), icp.version(), icp.format(),
+          icp.identifier(), icp.signingThreshold(), icp.keys(), icp.nextKeyConfiguration().orElse(null),
+          icp.witnessThreshold(), icp.witnesses(), icp.configurationTraits(),
+          authentication, endorsements, receipts);
+    } else if (e instanceof DelegatedRotationEvent) {
+      var drt = (DelegatedRotationEvent) e;
+      return new ImmutableDelegatedRotationEvent(drt.version(), drt.format(), drt.identifier(), drt.sequenceNumber(),
+          drt.previous(), drt.signingThreshold(), drt.keys(), drt.nextKeyConfiguration().orElse(null),
+          drt.witnessThreshold(), drt.removedWitnesses(), drt.addedWitnesses(), drt.seals(), drt.delegatingEvent(),
+          drt.bytes(), authentication, endorsements, receipts);
+    } else if (e instanceof RotationEvent) {
+      var rot = (RotationEvent) e;
+      return new ImmutableRotationEvent(rot.version(), rot.format(), rot.identifier(), rot.sequenceNumber(),
+          rot.previous(), rot.signingThreshold(), rot.keys(), rot.nextKeyConfiguration().orElse(null),
+          rot.witnessThreshold(), rot.removedWitnesses(), rot.addedWitnesses(), rot.seals(),
+          rot.bytes(), authentication, endorsements, receipts);
+    } else if (e instanceof InteractionEvent) {
+      var ixn = (InteractionEvent) e;
+      return new ImmutableInteractionEvent(ixn.version(), ixn.format(), ixn.identifier(), ixn.sequenceNumber(),
+          ixn.previous(), ixn.seals(), ixn.bytes(), authentication, endorsements, receipts);
+    } else {
+      throw new IllegalArgumentException("Unknown event type: " + e.getClass().getCanonicalName());
+    }
+  }
+
   private static String type(Class<? extends KeyEvent> cls) {
     // JDK17: use switch + sealed classes
     if (DelegatedInceptionEvent.class.isAssignableFrom(cls)) {
@@ -213,7 +213,14 @@ public final class QualifiedBase64 {
     };
   }
 
+  /**
+   * Decodes the public key, through the {@link DecodedKeyCache#shared() shared cache}.
+   */
   public static PublicKey publicKey(String qb64) {
+    return DecodedKeyCache.shared().publicKey(qb64, QualifiedBase64::decodePublicKey);
+  }
+
+  private static PublicKey decodePublicKey(String qb64) {
     if (qb64.startsWith("1")) {
       var bytes = unbase64(qb64.substring(4));
       return switch (qb64.substring(1, 4)) {
@@ -232,7 +239,18 @@ public final class QualifiedBase64 {
     }
   }
 
+  /**
+   * Decodes the identifier. Basic identifiers are decoded through the {@link DecodedKeyCache#shared() shared cache},
+   * the others hold no key to decode and are rarely seen often enough to be worth caching.
+   */
   public static Identifier identifier(String qb64) {
+    if (qb64.startsWith("B") || qb64.startsWith("1AAA") || qb64.startsWith("1AAC")) {
+      return DecodedKeyCache.shared().basicIdentifier(qb64, q -> (BasicIdentifier) decodeIdentifier(q));
+    }
+    return decodeIdentifier(qb64);
+  }
+
+  private static Identifier decodeIdentifier(String qb64) {
     if (qb64.startsWith("0")) {
       var bytes = unbase64(qb64.substring(2));
       return switch (qb64.substring(1, 2)) {
@@ -1,11 +1,38 @@
 package foundation.identity.keri;
 
 import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.crypto.Signature;
+
+import java.util.Map;
+import java.util.Set;
 
 public class UnmetWitnessThresholdException extends KeyEventProcessingException {
 
+  private final Map<Integer, Signature> verified;
+  private final Set<Integer> invalid;
+
   public UnmetWitnessThresholdException(KeyEvent keyEvent) {
+    this(keyEvent, Map.of(), Set.of());
+  }
+
+  public UnmetWitnessThresholdException(KeyEvent keyEvent, Map<Integer, Signature> verified, Set<Integer> invalid) {
     super(keyEvent);
+    this.verified = Map.copyOf(verified);
+    this.invalid = Set.copyOf(invalid);
+  }
+
+  /**
+   * The endorsements that verified. Those neither verified nor invalid weren't checked.
+   */
+  public Map<Integer, Signature> verified() {
+    return this.verified;
+  }
+
+  /**
+   * Indexes of the endorsements that failed verification or were out of range.
+   */
+  public Set<Integer> invalid() {
+    return this.invalid;
   }
 
 }
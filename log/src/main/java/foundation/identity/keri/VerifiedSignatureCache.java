@@ -0,0 +1,107 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.crypto.Digest;
+import foundation.identity.keri.crypto.SegmentedLruCache;
+import foundation.identity.keri.crypto.Signature;
+
+import java.security.PublicKey;
+import java.util.Objects;
+
+/**
+ * A bounded set of signatures already verified against an event, so receipts and re-sent events don't verify the
+ * signatures they carry again.
+ *
+ * <p>Entries are keyed by the digest of the signed event, the public key and the signature, and kept in a
+ * {@link SegmentedLruCache}.
+ */
+public final class VerifiedSignatureCache {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+  private static final VerifiedSignatureCache SHARED = new VerifiedSignatureCache(DEFAULT_MAXIMUM_SIZE);
+
+  private final SegmentedLruCache<Key, Boolean> cache;
+
+  public VerifiedSignatureCache(int maximumSize) {
+    this.cache = new SegmentedLruCache<>(maximumSize);
+  }
+
+  /**
+   * The cache shared by processors that aren't given their own, so a signature is verified once per process.
+   */
+  public static VerifiedSignatureCache shared() {
+    return SHARED;
+  }
+
+  public boolean contains(Digest event, PublicKey publicKey, Signature signature) {
+    return this.cache.get(new Key(event, publicKey, signature)) != null;
+  }
+
+  public void add(Digest event, PublicKey publicKey, Signature signature) {
+    this.cache.put(new Key(event, publicKey, signature), Boolean.TRUE);
+  }
+
+  public int maximumSize() {
+    return this.cache.maximumSize();
+  }
+
+  public int size() {
+    return this.cache.size();
+  }
+
+  public long hits() {
+    return this.cache.hits();
+  }
+
+  public long misses() {
+    return this.cache.misses();
+  }
+
+  public long evictions() {
+    return this.cache.evictions();
+  }
+
+  public double hitRate() {
+    return this.cache.hitRate();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("VerifiedSignatureCache[size=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.4f]",
+        this.size(), this.hits(), this.misses(), this.evictions(), this.hitRate());
+  }
+
+  private static final class Key {
+
+    final Digest event;
+    final PublicKey publicKey;
+    final Signature signature;
+    final int hashCode;
+
+    Key(Digest event, PublicKey publicKey, Signature signature) {
+      this.event = event;
+      this.publicKey = publicKey;
+      this.signature = signature;
+      this.hashCode = Objects.hash(Digest.hashCode(event), publicKey, Signature.hashCode(signature));
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      var other = (Key) obj;
+      return this.hashCode == other.hashCode
+          && Digest.equals(this.event, other.event)
+          && this.publicKey.equals(other.publicKey)
+          && Signature.equals(this.signature, other.signature);
+    }
+
+  }
+
+}
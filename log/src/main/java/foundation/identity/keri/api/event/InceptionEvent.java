@@ -2,6 +2,7 @@ package foundation.identity.keri.api.event;
 
 import foundation.identity.keri.api.identifier.BasicIdentifier;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Set;
 
@@ -9,6 +10,14 @@ public interface InceptionEvent extends EstablishmentEvent {
 
   byte[] inceptionStatement();
 
+  /**
+   * A read-only view of the inception statement, for reading it without the copy {@link #inceptionStatement()} makes.
+   * As with {@link KeyEvent#byteBuffer()}, JCA engines still copy the view as they read it.
+   */
+  default ByteBuffer inceptionStatementBuffer() {
+    return ByteBuffer.wrap(this.inceptionStatement()).asReadOnlyBuffer();
+  }
+
   List<BasicIdentifier> witnesses();
 
   Set<ConfigurationTrait> configurationTraits();
@@ -5,12 +5,23 @@ import foundation.identity.keri.api.identifier.Identifier;
 import foundation.identity.keri.crypto.Digest;
 import foundation.identity.keri.crypto.Signature;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 public interface KeyEvent {
 
   byte[] bytes();
 
+  /**
+   * A read-only view of the event's bytes, for reading them without the copy of the whole event {@link #bytes()} makes.
+   *
+   * <p>A read-only buffer doesn't expose its array, so JCA engines given the view still copy it, a chunk at a time,
+   * through an array of their own.
+   */
+  default ByteBuffer byteBuffer() {
+    return ByteBuffer.wrap(this.bytes()).asReadOnlyBuffer();
+  }
+
   Version version();
 
   Format format();
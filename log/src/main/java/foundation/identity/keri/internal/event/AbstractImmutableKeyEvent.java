@@ -8,6 +8,7 @@ import foundation.identity.keri.api.event.KeyEventCoordinates;
 import foundation.identity.keri.api.identifier.Identifier;
 import foundation.identity.keri.crypto.Signature;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -69,6 +70,11 @@ public abstract class AbstractImmutableKeyEvent implements KeyEvent {
     return this.bytes.clone();
   }
 
+  @Override
+  public ByteBuffer byteBuffer() {
+    return ByteBuffer.wrap(this.bytes).asReadOnlyBuffer();
+  }
+
   @Override
   public Identifier identifier() {
     return this.identifier;
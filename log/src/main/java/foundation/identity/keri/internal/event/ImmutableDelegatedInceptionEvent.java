@@ -12,6 +12,7 @@ import foundation.identity.keri.api.identifier.BasicIdentifier;
 import foundation.identity.keri.api.identifier.Identifier;
 import foundation.identity.keri.crypto.Signature;
 
+import java.nio.ByteBuffer;
 import java.security.PublicKey;
 import java.util.EnumSet;
 import java.util.List;
@@ -68,6 +69,11 @@ public class ImmutableDelegatedInceptionEvent extends AbstractImmutableDelegated
     return this.inceptionStatement.clone();
   }
 
+  @Override
+  public ByteBuffer inceptionStatementBuffer() {
+    return ByteBuffer.wrap(this.inceptionStatement).asReadOnlyBuffer();
+  }
+
   @Override
   public List<BasicIdentifier> witnesses() {
     return this.witnesses;
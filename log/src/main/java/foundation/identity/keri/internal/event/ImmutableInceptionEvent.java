@@ -11,6 +11,7 @@ import foundation.identity.keri.api.identifier.BasicIdentifier;
 import foundation.identity.keri.api.identifier.Identifier;
 import foundation.identity.keri.crypto.Signature;
 
+import java.nio.ByteBuffer;
 import java.security.PublicKey;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +64,11 @@ public final class ImmutableInceptionEvent extends AbstractImmutableEstablishmen
     return this.inceptionStatement.clone();
   }
 
+  @Override
+  public ByteBuffer inceptionStatementBuffer() {
+    return ByteBuffer.wrap(this.inceptionStatement).asReadOnlyBuffer();
+  }
+
   @Override
   public List<BasicIdentifier> witnesses() {
     return this.witnesses;
@@ -7,7 +7,7 @@ import foundation.identity.keri.crypto.ImmutableDigest;
 public class ImmutableKeyConfigurationDigest extends ImmutableDigest implements KeyConfigurationDigest {
 
   public ImmutableKeyConfigurationDigest(Digest digest) {
-    super(digest.algorithm(), digest.bytes());
+    super(digest);
   }
 
 }
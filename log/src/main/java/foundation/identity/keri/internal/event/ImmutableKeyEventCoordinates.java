@@ -19,6 +19,7 @@ public class ImmutableKeyEventCoordinates implements KeyEventCoordinates {
   private final Identifier identifier;
   private final long sequenceNumber;
   private final Digest digest;
+  private final int hashCode;
 
   public ImmutableKeyEventCoordinates(Identifier identifier, long sequenceNumber, Digest digest) {
     if (sequenceNumber < 0) {
@@ -35,6 +36,7 @@ public class ImmutableKeyEventCoordinates implements KeyEventCoordinates {
     }
 
     this.digest = requireNonNull(digest, "digest");
+    this.hashCode = Objects.hash(identifier, sequenceNumber, digest);
   }
 
   public static ImmutableKeyEventCoordinates convert(KeyEventCoordinates coordinates) {
@@ -66,7 +68,7 @@ public class ImmutableKeyEventCoordinates implements KeyEventCoordinates {
   }
 
   private static ImmutableKeyEventCoordinates of(KeyEvent event, DigestOperations ops) {
-    var digest = ops.digest(event.bytes());
+    var digest = ops.digest(event.byteBuffer());
     return of(event, digest);
   }
 
@@ -99,7 +101,7 @@ public class ImmutableKeyEventCoordinates implements KeyEventCoordinates {
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.identifier, this.sequenceNumber, this.digest);
+    return this.hashCode;
   }
 
   @Override
@@ -116,6 +118,9 @@ public class ImmutableKeyEventCoordinates implements KeyEventCoordinates {
     }
 
     var other = (KeyEventCoordinates) obj;
+    if (other instanceof ImmutableKeyEventCoordinates && this.hashCode != other.hashCode()) {
+      return false;
+    }
     return Objects.equals(this.identifier, other.identifier())
         && this.sequenceNumber == other.sequenceNumber()
         && Objects.equals(this.digest, other.digest());
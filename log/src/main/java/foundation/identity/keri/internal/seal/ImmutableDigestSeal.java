@@ -11,9 +11,35 @@ public class ImmutableDigestSeal implements DigestSeal {
     this.digest = digest;
   }
 
+  public static ImmutableDigestSeal convert(DigestSeal seal) {
+    if (seal instanceof ImmutableDigestSeal) {
+      return (ImmutableDigestSeal) seal;
+    }
+
+    return new ImmutableDigestSeal(seal.digest());
+  }
+
   @Override
   public Digest digest() {
     return this.digest;
   }
 
+  @Override
+  public int hashCode() {
+    return Digest.hashCode(this.digest);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof DigestSeal)) {
+      return false;
+    }
+
+    return Digest.equals(this.digest, ((DigestSeal) obj).digest());
+  }
+
 }
@@ -2,6 +2,7 @@ package foundation.identity.keri.internal.seal;
 
 import foundation.identity.keri.api.event.KeyEventCoordinates;
 import foundation.identity.keri.api.seal.KeyEventCoordinatesSeal;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
 
 public class ImmutableKeyEventCoordinatesSeal implements KeyEventCoordinatesSeal {
 
@@ -11,10 +12,35 @@ public class ImmutableKeyEventCoordinatesSeal implements KeyEventCoordinatesSeal
     this.event = event;
   }
 
+  public static ImmutableKeyEventCoordinatesSeal convert(KeyEventCoordinatesSeal seal) {
+    if (seal instanceof ImmutableKeyEventCoordinatesSeal) {
+      return (ImmutableKeyEventCoordinatesSeal) seal;
+    }
+
+    return new ImmutableKeyEventCoordinatesSeal(ImmutableKeyEventCoordinates.convert(seal.event()));
+  }
+
   @Override
   public KeyEventCoordinates event() {
     return this.event;
   }
 
+  @Override
+  public int hashCode() {
+    return ImmutableKeyEventCoordinates.convert(this.event).hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof KeyEventCoordinatesSeal)) {
+      return false;
+    }
+
+    return ImmutableKeyEventCoordinates.convert(this.event).equals(((KeyEventCoordinatesSeal) obj).event());
+  }
 
 }
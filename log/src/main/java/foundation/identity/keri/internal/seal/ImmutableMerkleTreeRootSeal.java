@@ -11,9 +11,35 @@ public class ImmutableMerkleTreeRootSeal implements MerkleTreeRootSeal {
     this.digest = digest;
   }
 
+  public static ImmutableMerkleTreeRootSeal convert(MerkleTreeRootSeal seal) {
+    if (seal instanceof ImmutableMerkleTreeRootSeal) {
+      return (ImmutableMerkleTreeRootSeal) seal;
+    }
+
+    return new ImmutableMerkleTreeRootSeal(seal.digest());
+  }
+
   @Override
   public Digest digest() {
     return this.digest;
   }
 
+  @Override
+  public int hashCode() {
+    return Digest.hashCode(this.digest);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof MerkleTreeRootSeal)) {
+      return false;
+    }
+
+    return Digest.equals(this.digest, ((MerkleTreeRootSeal) obj).digest());
+  }
+
 }
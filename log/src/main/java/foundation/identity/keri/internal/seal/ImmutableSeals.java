@@ -0,0 +1,30 @@
+package foundation.identity.keri.internal.seal;
+
+import foundation.identity.keri.api.seal.DigestSeal;
+import foundation.identity.keri.api.seal.KeyEventCoordinatesSeal;
+import foundation.identity.keri.api.seal.MerkleTreeRootSeal;
+import foundation.identity.keri.api.seal.Seal;
+
+import java.util.Optional;
+
+public final class ImmutableSeals {
+
+  private ImmutableSeals() {
+  }
+
+  /**
+   * Converts a seal to its immutable form, which can be used as a map key. Seals of unknown types aren't converted.
+   */
+  public static Optional<Seal> convert(Seal seal) {
+    if (seal instanceof DigestSeal) {
+      return Optional.of(ImmutableDigestSeal.convert((DigestSeal) seal));
+    } else if (seal instanceof MerkleTreeRootSeal) {
+      return Optional.of(ImmutableMerkleTreeRootSeal.convert((MerkleTreeRootSeal) seal));
+    } else if (seal instanceof KeyEventCoordinatesSeal) {
+      return Optional.of(ImmutableKeyEventCoordinatesSeal.convert((KeyEventCoordinatesSeal) seal));
+    } else {
+      return Optional.empty();
+    }
+  }
+
+}
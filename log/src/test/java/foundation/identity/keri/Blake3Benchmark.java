@@ -0,0 +1,61 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.crypto.DigestOperations;
+import io.github.rctcwyvrn.blake3.Blake3;
+
+import java.nio.ByteBuffer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Compares BLAKE3-256 throughput of {@link DigestOperations#BLAKE3_256} against the rctcwyvrn library it replaced,
+ * for inputs from the size of a small event to several chunks.
+ *
+ * <p>Optional argument: the number of seconds to measure each case for (defaults to 2).
+ */
+public class Blake3Benchmark {
+
+  private static final int[] SIZES = {64, 256, 512, 1024, 4096, 16384};
+
+  public static void main(String[] args) {
+    var seconds = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+
+    for (var size : SIZES) {
+      var bytes = new byte[size];
+      for (var i = 0; i < size; i++) {
+        bytes[i] = (byte) i;
+      }
+      var buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+
+      var library = measure(seconds, () -> {
+        var hasher = Blake3.newInstance();
+        hasher.update(bytes);
+        return hasher.digest(32).length == 32;
+      });
+      var array = measure(seconds, () -> DigestOperations.BLAKE3_256.digest(bytes).bytes().length == 32);
+      var readOnly = measure(seconds, () -> DigestOperations.BLAKE3_256.digest(buffer).bytes().length == 32);
+
+      System.out.printf(
+          "%6d bytes %,12d ops/s library %,12d ops/s array (%.2fx) %,12d ops/s read-only buffer (%.2fx)%n",
+          size, library, array, (double) array / library, readOnly, (double) readOnly / library);
+    }
+  }
+
+  // operations per second, after warming up for as long as measuring
+  private static long measure(int seconds, BooleanSupplier operation) {
+    run(seconds, operation);
+    return run(seconds, operation) / seconds;
+  }
+
+  private static long run(int seconds, BooleanSupplier operation) {
+    var end = System.nanoTime() + seconds * 1_000_000_000L;
+    var count = 0L;
+    while (System.nanoTime() < end) {
+      if (!operation.getAsBoolean()) {
+        throw new IllegalStateException("operation failed");
+      }
+      count++;
+    }
+    return count;
+  }
+
+}
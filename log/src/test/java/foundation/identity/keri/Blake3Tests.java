@@ -0,0 +1,100 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.crypto.DigestOperations;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class Blake3Tests {
+
+  // the input lengths of the official BLAKE3 test vectors, with their hashes extended to 64 bytes
+  private static final String[][] VECTORS = {
+      {"0", "af1349b9f5f9a1a6a0404dea36dcc9499bcb25c9adc112b7cc9a93cae41f3262"
+          + "e00f03e7b69af26b7faaf09fcd333050338ddfe085b8cc869ca98b206c08243a"},
+      {"1", "2d3adedff11b61f14c886e35afa036736dcd87a74d27b5c1510225d0f592e213"
+          + "c3a6cb8bf623e20cdb535f8d1a5ffb86342d9c0b64aca3bce1d31f60adfa137b"},
+      {"1023", "10108970eeda3eb932baac1428c7a2163b0e924c9a9e25b35bba72b28f70bd11"
+          + "a182d27a591b05592b15607500e1e8dd56bc6c7fc063715b7a1d737df5bad333"},
+      {"1024", "42214739f095a406f3fc83deb889744ac00df831c10daa55189b5d121c855af7"
+          + "1cf8107265ecdaf8505b95d8fcec83a98a6a96ea5109d2c179c47a387ffbb404"},
+      {"1025", "d00278ae47eb27b34faecf67b4fe263f82d5412916c1ffd97c8cb7fb814b8444"
+          + "f4c4a22b4b399155358a994e52bf255de60035742ec71bd08ac275a1b51cc6bf"},
+      {"2048", "e776b6028c7cd22a4d0ba182a8bf62205d2ef576467e838ed6f2529b85fba24a"
+          + "9a60bf80001410ec9eea6698cd537939fad4749edd484cb541aced55cd9bf547"},
+      {"2049", "5f4d72f40d7a5f82b15ca2b2e44b1de3c2ef86c426c95c1af0b6879522563030"
+          + "96de31d71d74103403822a2e0bc1eb193e7aecc9643a76b7bbc0c9f9c52e8783"},
+      {"3072", "b98cb0ff3623be03326b373de6b9095218513e64f1ee2edd2525c7ad1e5cffd2"
+          + "9a3f6b0b978d6608335c09dc94ccf682f9951cdfc501bfe47b9c9189a6fc7b40"},
+      {"3073", "7124b49501012f81cc7f11ca069ec9226cecb8a2c850cfe644e327d22d3e1cd3"
+          + "9a27ae3b79d68d89da9bf25bc27139ae65a324918a5f9b7828181e52cf373c84"},
+      {"4096", "015094013f57a5277b59d8475c0501042c0b642e531b0a1c8f58d2163229e969"
+          + "0289e9409ddb1b99768eafe1623da896faf7e1114bebeadc1be30829b6f8af70"},
+      {"4097", "9b4052b38f1c5fc8b1f9ff7ac7b27cd242487b3d890d15c96a1c25b8aa0fb995"
+          + "05f91b0b5600a11251652eacfa9497b31cd3c409ce2e45cfe6c0a016967316c4"},
+      {"5120", "9cadc15fed8b5d854562b26a9536d9707cadeda9b143978f319ab34230535833"
+          + "acc61c8fdc114a2010ce8038c853e121e1544985133fccdd0a2d507e8e615e61"},
+      {"5121", "628bd2cb2004694adaab7bbd778a25df25c47b9d4155a55f8fbd79f2fe154cff"
+          + "96adaab0613a6146cdaabe498c3a94e529d3fc1da2bd08edf54ed64d40dcd677"},
+      {"6144", "3e2e5b74e048f3add6d21faab3f83aa44d3b2278afb83b80b3c35164ebeca205"
+          + "4d742022da6fdda444ebc384b04a54c3ac5839b49da7d39f6d8a9db03deab32a"},
+      {"6145", "f1323a8631446cc50536a9f705ee5cb619424d46887f3c376c695b70e0f0507f"
+          + "18a2cfdd73c6e39dd75ce7c1c6e3ef238fd54465f053b25d21044ccb2093beb0"},
+      {"7168", "61da957ec2499a95d6b8023e2b0e604ec7f6b50e80a9678b89d2628e99ada77a"
+          + "5707c321c83361793b9af62a40f43b523df1c8633cecb4cd14d00bdc79c78fca"},
+      {"7169", "a003fc7a51754a9b3c7fae0367ab3d782dccf28855a03d435f8cfe74605e7817"
+          + "98a8b20534be1ca9eb2ae2df3fae2ea60e48c6fb0b850b1385b5de0fe460dbe9"},
+      {"8192", "aae792484c8efe4f19e2ca7d371d8c467ffb10748d8a5a1ae579948f718a2a63"
+          + "5fe51a27db045a567c1ad51be5aa34c01c6651c4d9b5b5ac5d0fd58cf18dd61a"},
+      {"8193", "bab6c09cb8ce8cf459261398d2e7aef35700bf488116ceb94a36d0f5f1b7bc3b"
+          + "b2282aa69be089359ea1154b9a9286c4a56af4de975a9aa4a5c497654914d279"},
+      {"16384", "f875d6646de28985646f34ee13be9a576fd515f76b5b0a26bb324735041ddde4"
+          + "9d764c270176e53e97bdffa58d549073f2c660be0e81293767ed4e4929f9ad34"},
+      {"31744", "62b6960e1a44bcc1eb1a611a8d6235b6b4b78f32e7abc4fb4c6cdcce94895c47"
+          + "860cc51f2b0c28a7b77304bd55fe73af663c02d3f52ea053ba43431ca5bab7bf"},
+      {"102400", "bc3e3d41a1146b069abffad3c0d44860cf664390afce4d9661f7902e7943e085"
+          + "e01c59dab908c04c3342b816941a26d69c2605ebee5ec5291cc55e15b76146e6"}
+  };
+
+  // as in the official test vectors, the bytes 0 to 250 repeated
+  private static byte[] input(int length) {
+    var bytes = new byte[length];
+    for (var i = 0; i < length; i++) {
+      bytes[i] = (byte) (i % 251);
+    }
+    return bytes;
+  }
+
+  @Test
+  public void test__vectors() {
+    for (var vector : VECTORS) {
+      var input = input(Integer.parseInt(vector[0]));
+
+      assertEquals(vector[0], vector[1].substring(0, 64), Hex.hex(DigestOperations.BLAKE3_256.digest(input).bytes()));
+      assertEquals(vector[0], vector[1], Hex.hex(DigestOperations.BLAKE3_512.digest(input).bytes()));
+    }
+  }
+
+  @Test
+  public void test__vectors__inParts() {
+    var random = new Random(0);
+    for (var vector : VECTORS) {
+      var input = input(Integer.parseInt(vector[0]));
+      var digester = DigestOperations.BLAKE3_512.digester();
+      for (var offset = 0; offset < input.length; ) {
+        var length = Math.min(input.length - offset, random.nextInt(300));
+        switch (random.nextInt(3)) {
+          case 0 -> digester.update(input, offset, length);
+          case 1 -> digester.update(ByteBuffer.wrap(input, offset, length).slice());
+          default -> digester.update(ByteBuffer.allocateDirect(length).put(input, offset, length).flip());
+        }
+        offset += length;
+      }
+
+      assertEquals(vector[0], vector[1], Hex.hex(digester.finish().bytes()));
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.EcDSAOperations;
+import foundation.identity.keri.crypto.EdDSAOperations;
+import foundation.identity.keri.crypto.JcaDigestOperations;
+import foundation.identity.keri.crypto.PrecomputedEd25519Operations;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.crypto.SignatureOperations;
+import foundation.identity.keri.crypto.StandardDigestAlgorithms;
+import foundation.identity.keri.crypto.StandardSignatureAlgorithms;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.function.BooleanSupplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares signature verification and digest throughput of the operations, which reuse a JCA engine per thread,
+ * against looking up a new engine for every message as they used to, Ed25519 batch verification against verifying
+ * the same signatures one by one, and verification with precomputed Ed25519 key tables against the JCA's.
+ *
+ * <p>Optional argument: the number of seconds to measure each case for (defaults to 2).
+ */
+public class CryptoOperationsBenchmark {
+
+  private static final byte[] MESSAGE = ("{\"v\":\"KERI10JSON000000_\","
+      + "\"i\":\"EaU6JR2nmwyZ-i0d8JZAoTNZH3ULvYAfSVPzhzS6b5CM\","
+      + "\"s\":\"1\",\"t\":\"ixn\",\"p\":\"EaU6JR2nmwyZ-i0d8JZAoTNZH3ULvYAfSVPzhzS6b5CM\",\"a\":[]}").getBytes(UTF_8);
+
+  public static void main(String[] args) {
+    var seconds = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+
+    // provides BLAKE2 and secp256k1, which the JDK doesn't; it's preferred so the EC operations pick it up, which
+    // means the other algorithms are measured with its implementations too
+    Security.insertProviderAt(new BouncyCastleProvider(), 1);
+
+    signatures("Ed25519", new EdDSAOperations(StandardSignatureAlgorithms.ED_25519), "EdDSA", seconds);
+    try {
+      signatures("secp256k1", new EcDSAOperations(StandardSignatureAlgorithms.EC_SECP256K1), "SHA256withECDSA",
+          seconds);
+    } catch (RuntimeException e) {
+      System.out.printf("%-12s unavailable: %s%n", "secp256k1", e.getMessage());
+    }
+
+    // batches take the JDK's Ed25519 keys apart, so its provider is preferred again from here on
+    Security.removeProvider(BouncyCastleProvider.PROVIDER_NAME);
+    Security.addProvider(new BouncyCastleProvider());
+    batches(new EdDSAOperations(StandardSignatureAlgorithms.ED_25519), 64, seconds);
+    precomputed(new EdDSAOperations(StandardSignatureAlgorithms.ED_25519), new PrecomputedEd25519Operations(),
+        seconds);
+
+    for (var algorithm : new StandardDigestAlgorithms[]{StandardDigestAlgorithms.BLAKE2B_256,
+        StandardDigestAlgorithms.SHA2_256, StandardDigestAlgorithms.SHA2_512}) {
+      digests(algorithm, seconds);
+    }
+  }
+
+  private static void signatures(String name, SignatureOperations ops, String engineName, int seconds) {
+    var keyPair = ops.generateKeyPair();
+    var signature = ops.sign(MESSAGE, keyPair.getPrivate());
+
+    var uncached = measure(seconds, () -> {
+      try {
+        var sig = java.security.Signature.getInstance(engineName);
+        sig.initVerify(keyPair.getPublic());
+        sig.update(MESSAGE);
+        return sig.verify(signature.bytes());
+      } catch (GeneralSecurityException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    var cached = measure(seconds, () -> ops.verify(MESSAGE, signature, keyPair.getPublic()));
+
+    report(name + " verify", uncached, cached);
+  }
+
+  private static void batches(SignatureOperations ops, int size, int seconds) {
+    var messages = new ArrayList<ByteBuffer>(size);
+    var signatures = new ArrayList<Signature>(size);
+    var publicKeys = new ArrayList<PublicKey>(size);
+    for (var i = 0; i < size; i++) {
+      var keyPair = ops.generateKeyPair();
+      messages.add(ByteBuffer.wrap(MESSAGE));
+      signatures.add(ops.sign(MESSAGE, keyPair.getPrivate()));
+      publicKeys.add(keyPair.getPublic());
+    }
+
+    var single = measure(seconds, () -> {
+      for (var i = 0; i < size; i++) {
+        if (!ops.verify(messages.get(i), signatures.get(i), publicKeys.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    });
+    var batch = measure(seconds, () -> {
+      for (var result : ops.verifyBatch(messages, signatures, publicKeys)) {
+        if (!result) {
+          return false;
+        }
+      }
+      return true;
+    });
+
+    System.out.printf("%-20s %,12d sigs/s single   %,12d sigs/s batch  (%.2fx)%n", "Ed25519 batch of " + size,
+        single * size, batch * size, (double) batch / single);
+  }
+
+  private static void precomputed(SignatureOperations ops, PrecomputedEd25519Operations precomputedOps, int seconds) {
+    var keyPair = ops.generateKeyPair();
+    var signature = ops.sign(MESSAGE, keyPair.getPrivate());
+
+    var jca = measure(seconds, () -> ops.verify(MESSAGE, signature, keyPair.getPublic()));
+    var precomputed = measure(seconds, () -> precomputedOps.verify(MESSAGE, signature, keyPair.getPublic()));
+
+    System.out.printf("%-20s %,12d ops/s JCA      %,12d ops/s precomputed (%.2fx)%n", "Ed25519 same key", jca,
+        precomputed, (double) precomputed / jca);
+  }
+
+  private static void digests(StandardDigestAlgorithms algorithm, int seconds) {
+    var ops = new JcaDigestOperations(algorithm);
+
+    var uncached = measure(seconds, () -> {
+      try {
+        return MessageDigest.getInstance(algorithm.algorithmName()).digest(MESSAGE).length > 0;
+      } catch (GeneralSecurityException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    DigestOperations cachedOps = ops;
+    var cached = measure(seconds, () -> cachedOps.digest(MESSAGE).bytes().length > 0);
+
+    report(algorithm.name(), uncached, cached);
+  }
+
+  // operations per second, after warming up for as long as measuring
+  private static long measure(int seconds, BooleanSupplier operation) {
+    run(seconds, operation);
+    return run(seconds, operation) / seconds;
+  }
+
+  private static long run(int seconds, BooleanSupplier operation) {
+    var end = System.nanoTime() + seconds * 1_000_000_000L;
+    var count = 0L;
+    while (System.nanoTime() < end) {
+      for (var i = 0; i < 100; i++) {
+        if (!operation.getAsBoolean()) {
+          throw new IllegalStateException("operation failed");
+        }
+      }
+      count += 100;
+    }
+    return count;
+  }
+
+  private static void report(String name, long uncached, long cached) {
+    System.out.printf("%-20s %,12d ops/s uncached %,12d ops/s cached (%.2fx)%n", name, uncached, cached,
+        (double) cached / uncached);
+  }
+
+}
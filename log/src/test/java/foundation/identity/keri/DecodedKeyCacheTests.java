@@ -0,0 +1,98 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.identifier.BasicIdentifier;
+import foundation.identity.keri.internal.identifier.ImmutableBasicIdentifier;
+import org.junit.Test;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class DecodedKeyCacheTests {
+
+  private static PublicKey generateKey() {
+    try {
+      return KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPublic();
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Test
+  public void test__publicKey() {
+    var cache = new DecodedKeyCache(100);
+    var decoded = new AtomicInteger();
+    var key = generateKey();
+
+    var first = cache.publicKey("Dkey", q -> {
+      decoded.incrementAndGet();
+      return key;
+    });
+    var second = cache.publicKey("Dkey", q -> {
+      decoded.incrementAndGet();
+      return generateKey();
+    });
+
+    assertSame(key, first);
+    assertSame(key, second);
+    assertEquals(1, decoded.get());
+    assertEquals(1, cache.hits());
+    assertEquals(1, cache.misses());
+    assertEquals(0.5, cache.hitRate(), 0.0001);
+  }
+
+  @Test
+  public void test__basicIdentifier() {
+    var cache = new DecodedKeyCache(100);
+    var identifier = new ImmutableBasicIdentifier(generateKey());
+
+    BasicIdentifier first = cache.basicIdentifier("Bkey", q -> identifier);
+    BasicIdentifier second = cache.basicIdentifier("Bkey", q -> new ImmutableBasicIdentifier(generateKey()));
+    cache.basicIdentifier("Bother", q -> new ImmutableBasicIdentifier(generateKey()));
+
+    assertSame(identifier, first);
+    assertSame(identifier, second);
+    assertEquals(1, cache.hits());
+    assertEquals(2, cache.misses());
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void test__decodingFailure__notCached() {
+    var cache = new DecodedKeyCache(100);
+
+    assertThrows(IllegalArgumentException.class, () -> cache.publicKey("Dbad", q -> {
+      throw new IllegalArgumentException();
+    }));
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void test__eviction() {
+    var cache = new DecodedKeyCache(160);
+    var key = generateKey();
+
+    for (var i = 0; i < 1000; i++) {
+      cache.publicKey("D" + i, q -> key);
+    }
+
+    assertTrue(cache.size() <= cache.maximumSize());
+    assertEquals(1000 - cache.size(), cache.evictions());
+    cache.publicKey("D999", q -> {
+      throw new AssertionError("most recent key was evicted");
+    });
+  }
+
+  @Test
+  public void test__maximumSize__mustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new DecodedKeyCache(0));
+  }
+
+}
@@ -0,0 +1,117 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.crypto.Digest;
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.StandardDigestAlgorithms;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.List;
+
+import static foundation.identity.keri.TestKeyEvents.inception;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class DigestOperationsTests {
+
+  // the BLAKE2 digests need a provider that isn't registered here
+  private static final List<StandardDigestAlgorithms> ALGORITHMS = List.of(StandardDigestAlgorithms.BLAKE3_256,
+      StandardDigestAlgorithms.BLAKE3_512, StandardDigestAlgorithms.SHA2_256, StandardDigestAlgorithms.SHA2_512);
+
+  @Test
+  public void test__digest__byteBuffer() {
+    var bytes = "the quick brown fox".getBytes(UTF_8);
+    for (var algorithm : ALGORITHMS) {
+      var ops = DigestOperations.lookup(algorithm);
+      var buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+
+      assertTrue(algorithm.name(), Digest.equals(ops.digest(bytes), ops.digest(buffer)));
+      assertEquals(0, buffer.position());
+    }
+  }
+
+  @Test
+  public void test__digester__inParts() {
+    var bytes = "the quick brown fox".getBytes(UTF_8);
+    for (var algorithm : ALGORITHMS) {
+      var ops = DigestOperations.lookup(algorithm);
+      var direct = ByteBuffer.allocateDirect(6);
+      direct.put(bytes, 10, 6).flip();
+
+      var digest = ops.digester()
+          .update(Arrays.copyOf(bytes, 4))
+          .update(bytes, 4, 6)
+          .update(direct)
+          .update(ByteBuffer.wrap(bytes, 16, 3).slice())
+          .finish();
+
+      assertTrue(algorithm.name(), Digest.equals(ops.digest(bytes), digest));
+      assertEquals(0, direct.position());
+    }
+  }
+
+  @Test
+  public void test__digest__intoBuffer() {
+    var bytes = "the quick brown fox".getBytes(UTF_8);
+    for (var algorithm : ALGORITHMS) {
+      var ops = DigestOperations.lookup(algorithm);
+      var expected = ops.digest(bytes).bytes();
+
+      for (var out : List.of(ByteBuffer.allocate(100), ByteBuffer.allocateDirect(100))) {
+        out.position(3);
+        var length = ops.digest(ByteBuffer.wrap(bytes), out);
+
+        assertEquals(algorithm.name(), expected.length, length);
+        assertEquals(3 + length, out.position());
+        var actual = new byte[length];
+        out.flip().position(3);
+        out.get(actual);
+        assertArrayEquals(algorithm.name(), expected, actual);
+      }
+
+      var tooSmall = ByteBuffer.allocate(expected.length - 1);
+      assertThrows(BufferOverflowException.class, () -> ops.digester().update(bytes).finish(tooSmall));
+      // the overflow leaves nothing behind for the next digest
+      assertThrows(BufferOverflowException.class, () -> ops.digest(ByteBuffer.wrap(bytes), tooSmall));
+      assertTrue(algorithm.name(), Digest.equals(ops.digest(bytes), ops.digest(ByteBuffer.wrap(bytes))));
+    }
+  }
+
+  @Test
+  public void test__digestAll() {
+    // long enough to be digested in several slices, and not a whole number of them
+    var bytes = new byte[DigestOperations.DIGEST_ALL_SLICE_LENGTH * 3 + 17];
+    for (var i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    var buffer = ByteBuffer.wrap(bytes, 5, bytes.length - 10).asReadOnlyBuffer();
+
+    var digests = DigestOperations.digestAll(buffer, ALGORITHMS);
+
+    assertEquals(ALGORITHMS.size(), digests.size());
+    for (var i = 0; i < ALGORITHMS.size(); i++) {
+      var algorithm = ALGORITHMS.get(i);
+      var expected = DigestOperations.lookup(algorithm).digest(Arrays.copyOfRange(bytes, 5, bytes.length - 5));
+      assertTrue(algorithm.name(), Digest.equals(expected, digests.get(i)));
+    }
+    assertEquals(5, buffer.position());
+    assertEquals(List.of(), DigestOperations.digestAll(buffer, List.of()));
+  }
+
+  @Test
+  public void test__matches__eventByteBuffer() {
+    var event = inception("a");
+    var buffer = event.byteBuffer();
+
+    assertTrue(DigestOperations.matches(buffer, event.digest()));
+    assertEquals(event.bytes().length, buffer.remaining());
+    assertThrows(ReadOnlyBufferException.class, () -> buffer.put(0, (byte) 0));
+  }
+
+}
@@ -0,0 +1,70 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.crypto.Digest;
+import foundation.identity.keri.crypto.DigestAlgorithm;
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.ImmutableDigest;
+import foundation.identity.keri.crypto.StandardDigestAlgorithms;
+import foundation.identity.keri.internal.event.ImmutableKeyConfigurationDigest;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DigestTests {
+
+  @Test
+  public void test__equals__acrossImplementations() {
+    var digest = DigestOperations.DEFAULT.digest("event".getBytes(UTF_8));
+    var copy = new ImmutableDigest(digest.algorithm(), digest.bytes());
+    var keyConfiguration = new ImmutableKeyConfigurationDigest(digest);
+    var other = new Digest() {
+      @Override
+      public DigestAlgorithm algorithm() {
+        return digest.algorithm();
+      }
+
+      @Override
+      public byte[] bytes() {
+        return digest.bytes();
+      }
+    };
+
+    for (var d : new Digest[]{copy, keyConfiguration, other}) {
+      assertTrue(Digest.equals(digest, d));
+      assertTrue(Digest.equals(d, digest));
+      assertEquals(Digest.hashCode(digest), Digest.hashCode(d));
+    }
+    assertEquals(digest.hashCode(), copy.hashCode());
+    assertEquals(digest, keyConfiguration);
+  }
+
+  @Test
+  public void test__equals__differentBytesOrAlgorithm() {
+    var digest = DigestOperations.DEFAULT.digest("event".getBytes(UTF_8));
+    var bytes = digest.bytes();
+    bytes[0] ^= 1;
+
+    assertNotEquals(digest, new ImmutableDigest(digest.algorithm(), bytes));
+    assertNotEquals(digest, new ImmutableDigest(StandardDigestAlgorithms.SHA2_256, digest.bytes()));
+    assertFalse(Digest.equals(digest, null));
+  }
+
+  @Test
+  public void test__bytes__notShared() {
+    var bytes = new byte[32];
+    var digest = new ImmutableDigest(StandardDigestAlgorithms.BLAKE3_256, bytes);
+    var hashCode = digest.hashCode();
+
+    bytes[0] = 1;
+    digest.bytes()[1] = 1;
+
+    assertEquals(0, digest.bytes()[0]);
+    assertEquals(0, digest.bytes()[1]);
+    assertEquals(hashCode, digest.hashCode());
+  }
+
+}
@@ -1,23 +1,39 @@
 package foundation.identity.keri;
 
+import foundation.identity.keri.crypto.ImmutableSignature;
+import foundation.identity.keri.crypto.Signature;
 import foundation.identity.keri.crypto.SignatureOperations;
+import foundation.identity.keri.crypto.StandardSignatureAlgorithms;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.security.interfaces.EdECPrivateKey;
 import java.security.interfaces.EdECPublicKey;
 import java.security.spec.EdECPoint;
 import java.security.spec.EdECPrivateKeySpec;
 import java.security.spec.EdECPublicKeySpec;
 import java.security.spec.NamedParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.*;
 
 public class EdDSAOperationsTests {
 
+  private static final BigInteger ED25519_P = BigInteger.TWO.pow(255).subtract(BigInteger.valueOf(19));
+  private static final BigInteger ED25519_L = BigInteger.TWO.pow(252)
+      .add(new BigInteger("27742317777372353535851937790883648493"));
+
   @BeforeClass
   public static void beforeClass() {
     // secp256k1 is considered "unsecure" so you have enable it like this:
@@ -117,6 +133,155 @@ public class EdDSAOperationsTests {
     assertTrue(ops.verify(msg, sig, publicKey));
   }
 
+  @Test
+  public void test_ED25519_verifyBatch() {
+    var ops = SignatureOperations.ED_25519;
+    var messages = new ArrayList<ByteBuffer>();
+    var signatures = new ArrayList<Signature>();
+    var publicKeys = new ArrayList<PublicKey>();
+    var keyPairs = List.of(ops.generateKeyPair(), ops.generateKeyPair(), ops.generateKeyPair());
+    for (var i = 0; i < 20; i++) {
+      var keyPair = keyPairs.get(i % keyPairs.size());
+      var msg = ("message " + i).getBytes(UTF_8);
+      messages.add(ByteBuffer.wrap(msg));
+      signatures.add(ops.sign(msg, keyPair.getPrivate()));
+      publicKeys.add(keyPair.getPublic());
+    }
+
+    var results = ops.verifyBatch(messages, signatures, publicKeys);
+
+    assertEquals(20, results.length);
+    for (var result : results) {
+      assertTrue(result);
+    }
+  }
+
+  @Test
+  public void test_ED25519_verifyBatch_findsInvalid() {
+    var ops = SignatureOperations.ED_25519;
+    var messages = new ArrayList<ByteBuffer>();
+    var signatures = new ArrayList<Signature>();
+    var publicKeys = new ArrayList<PublicKey>();
+    for (var i = 0; i < 20; i++) {
+      var keyPair = ops.generateKeyPair();
+      var msg = ("message " + i).getBytes(UTF_8);
+      messages.add(ByteBuffer.wrap(msg));
+      signatures.add(ops.sign(msg, keyPair.getPrivate()));
+      publicKeys.add(keyPair.getPublic());
+    }
+    // signed by another key
+    signatures.set(3, signatures.get(4));
+    // signed another message
+    messages.set(17, ByteBuffer.wrap("tampered".getBytes(UTF_8)));
+
+    var results = ops.verifyBatch(messages, signatures, publicKeys);
+
+    for (var i = 0; i < results.length; i++) {
+      assertEquals("signature " + i, i != 3 && i != 17, results[i]);
+    }
+  }
+
+  @Test
+  public void test_ED25519_verifyBatch_agreesWithVerifyOnSmallOrderComponents() throws GeneralSecurityException {
+    var ops = SignatureOperations.ED_25519;
+    var messages = new ArrayList<ByteBuffer>();
+    var signatures = new ArrayList<Signature>();
+    var publicKeys = new ArrayList<PublicKey>();
+    for (var i = 0; i < 8; i++) {
+      var keyPair = ops.generateKeyPair();
+      var nonce = ops.generateKeyPair();
+      var a = encoded(keyPair.getPublic());
+      var r = encoded(nonce.getPublic());
+      var msg = ("message " + i).getBytes(UTF_8);
+
+      // R and A as signed, and each with the point of order 2 added
+      for (var key : List.of(a, plusPointOfOrderTwo(a))) {
+        for (var rBytes : List.of(r, plusPointOfOrderTwo(r))) {
+          messages.add(ByteBuffer.wrap(msg));
+          signatures.add(sign(msg, scalar(keyPair.getPrivate()), key, scalar(nonce.getPrivate()), rBytes));
+          publicKeys.add(publicKey(key));
+        }
+      }
+    }
+
+    var results = ops.verifyBatch(messages, signatures, publicKeys);
+
+    var accepted = 0;
+    for (var i = 0; i < results.length; i++) {
+      var expected = ops.verify(messages.get(i), signatures.get(i), publicKeys.get(i));
+      assertEquals("signature " + i, expected, results[i]);
+      accepted += expected ? 1 : 0;
+    }
+    // the honest signatures verify, and a tweaked R never does
+    assertTrue(accepted >= 8);
+    assertTrue(accepted < results.length);
+  }
+
+  // s = r + H(R || A || M) a, for the given encodings of R and A, which needn't be [r] B and [a] B
+  private static Signature sign(byte[] msg, BigInteger a, byte[] aBytes, BigInteger r, byte[] rBytes)
+      throws GeneralSecurityException {
+    var sha512 = MessageDigest.getInstance("SHA-512");
+    sha512.update(rBytes);
+    sha512.update(aBytes);
+    var h = littleEndian(sha512.digest(msg)).mod(ED25519_L);
+    var s = r.add(h.multiply(a)).mod(ED25519_L);
+
+    var bytes = Arrays.copyOf(rBytes, 64);
+    var sBytes = s.toByteArray();
+    for (var i = 0; i < 32 && i < sBytes.length; i++) {
+      bytes[32 + i] = sBytes[sBytes.length - 1 - i];
+    }
+    return new ImmutableSignature(StandardSignatureAlgorithms.ED_25519, bytes);
+  }
+
+  // the key from the end of its X.509 encoding, which every provider's keys have
+  private static byte[] encoded(PublicKey publicKey) {
+    var encoded = publicKey.getEncoded();
+    return Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length);
+  }
+
+  private static PublicKey publicKey(byte[] key) throws GeneralSecurityException {
+    var prefix = Hex.unhex("302a300506032b6570032100");
+    var encoded = Arrays.copyOf(prefix, prefix.length + key.length);
+    System.arraycopy(key, 0, encoded, prefix.length, key.length);
+    return KeyFactory.getInstance("Ed25519").generatePublic(new X509EncodedKeySpec(encoded));
+  }
+
+  // the secret scalar of an Ed25519 key, from the seed at the end of its PKCS #8 encoding
+  private static BigInteger scalar(PrivateKey privateKey) throws GeneralSecurityException {
+    var seed = Arrays.copyOfRange(privateKey.getEncoded(), 16, 48);
+    var hash = MessageDigest.getInstance("SHA-512").digest(seed);
+    hash[0] &= (byte) 0xf8;
+    hash[31] &= 0x7f;
+    hash[31] |= 0x40;
+    return littleEndian(Arrays.copyOf(hash, 32));
+  }
+
+  // (x, y) + (0, -1) = (-x, -y)
+  private static byte[] plusPointOfOrderTwo(byte[] encoded) {
+    var bytes = encoded.clone();
+    var sign = bytes[31] & 0x80;
+    bytes[31] &= 0x7f;
+    var y = ED25519_P.subtract(littleEndian(bytes));
+    var yBytes = y.toByteArray();
+    Arrays.fill(bytes, (byte) 0);
+    for (var i = 0; i < 32 && i < yBytes.length; i++) {
+      bytes[i] = yBytes[yBytes.length - 1 - i];
+    }
+    bytes[31] |= (byte) (sign ^ 0x80);
+    return bytes;
+  }
+
+  private static BigInteger littleEndian(byte[] bytes) {
+    var bigEndian = bytes.clone();
+    for (var i = 0; i < bigEndian.length / 2; i++) {
+      var b = bigEndian[i];
+      bigEndian[i] = bigEndian[bigEndian.length - 1 - i];
+      bigEndian[bigEndian.length - 1 - i] = b;
+    }
+    return new BigInteger(1, bigEndian);
+  }
+
   @Test
   public void test_ED448_generateKeyPair() {
     var ops = SignatureOperations.ED_448;
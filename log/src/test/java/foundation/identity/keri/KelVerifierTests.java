@@ -0,0 +1,197 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.KelVerifier.Check;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.StandardFormats;
+import foundation.identity.keri.api.identifier.Identifier;
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.internal.ImmutableVersion;
+import foundation.identity.keri.internal.event.ImmutableInceptionEvent;
+import foundation.identity.keri.internal.event.ImmutableInteractionEvent;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import foundation.identity.keri.internal.event.ImmutableUnweightedSigningThreshold;
+import foundation.identity.keri.internal.identifier.ImmutableSelfAddressingIdentifier;
+import org.junit.Test;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static foundation.identity.keri.TestKeyEvents.inception;
+import static foundation.identity.keri.TestKeyEvents.interaction;
+import static foundation.identity.keri.TestKeyEvents.keyPairs;
+import static foundation.identity.keri.TestKeyEvents.kel;
+import static foundation.identity.keri.TestKeyEvents.rotation;
+import static foundation.identity.keri.TestKeyEvents.sign;
+import static foundation.identity.keri.TestKeyEvents.signed;
+import static foundation.identity.keri.TestKeyEvents.witnesses;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class KelVerifierTests {
+
+  final KelVerifier verifier = new KelVerifier();
+  final List<List<KeyPair>> keys = List.of(keyPairs(1), keyPairs(1), keyPairs(1));
+  final List<KeyPair> nextKeys = this.keys.get(2);
+  final List<KeyPair> witnessKeys = keyPairs(3);
+
+  @Test
+  public void test__verify__valid() {
+    var kel = kel("a", 1000);
+
+    var report = this.verifier.verify(kel.get(0).identifier(), kel);
+
+    assertTrue(report.toString(), report.valid());
+    assertEquals(1000, report.events());
+  }
+
+  @Test
+  public void test__verify__fromStore() {
+    var store = new TestKeyEventStore() {
+      @Override
+      public Stream<KeyEvent> streamKeyEvents(Identifier identifier) {
+        return this.events.values().stream()
+            .filter(e -> e.identifier().equals(identifier))
+            .sorted((a, b) -> Long.compare(a.sequenceNumber(), b.sequenceNumber()));
+      }
+    };
+    var kel = kel("a", 10);
+    kel.forEach(store::append);
+
+    assertTrue(this.verifier.verify(store, kel.get(0).identifier()).valid());
+  }
+
+  @Test
+  public void test__verify__brokenDigestChain() {
+    var kel = new ArrayList<>(kel("a", 10));
+    var previous = kel.get(4);
+    var bogus = DigestOperations.DEFAULT.digest("bogus".getBytes(UTF_8));
+    var bytes = "tampered".getBytes(UTF_8);
+    kel.set(5, new ImmutableInteractionEvent(new ImmutableVersion(1, 0), StandardFormats.JSON, previous.identifier(),
+        5, ImmutableKeyEventCoordinates.of(previous.coordinates(), bogus), List.of(), bytes, Map.of(), Map.of(),
+        Map.of()));
+
+    var report = this.verifier.verify(kel.get(0).identifier(), kel);
+
+    assertFalse(report.valid());
+    var failures = report.failures(Check.PREVIOUS_EVENT_DIGEST);
+    // the tampered event references the wrong digest, and the event after it no longer matches its bytes
+    assertEquals(2, failures.size());
+    assertEquals(5, failures.get(0).coordinates().sequenceNumber());
+    assertEquals(6, failures.get(1).coordinates().sequenceNumber());
+  }
+
+  @Test
+  public void test__verify__missingEvent() {
+    var kel = new ArrayList<>(kel("a", 10));
+    kel.remove(3);
+
+    var report = this.verifier.verify(kel.get(0).identifier(), kel);
+
+    assertFalse(report.valid());
+    assertEquals(6, report.failures(Check.SEQUENCE).size());
+    assertEquals(4, report.failures().get(0).coordinates().sequenceNumber());
+  }
+
+  @Test
+  public void test__verify__signed() {
+    var kel = this.signedKel();
+
+    var report = this.verifier.verify(kel.get(0).identifier(), kel);
+
+    assertTrue(report.toString(), report.valid());
+  }
+
+  @Test
+  public void test__verify__tamperedSignature() {
+    var kel = this.signedKel();
+    // signed with the right key, but over another event's bytes
+    var e = kel.get(3);
+    kel.set(3, signed(e, Map.of(0, kel.get(1).authentication().get(0)), e.endorsements()));
+
+    var report = this.verifier.verify(kel.get(0).identifier(), kel);
+
+    assertEquals(List.of(Check.SIGNATURES), checks(report));
+    assertEquals(3, report.failures().get(0).coordinates().sequenceNumber());
+  }
+
+  @Test
+  public void test__verify__rotationToUncommittedKeys() {
+    var kel = this.signedKel();
+    var keys = keyPairs(1);
+    var rotation = rotation(kel.get(1), keys, 1, this.nextKeys, 2);
+    kel.set(2, signed(rotation, sign(rotation, keys), sign(rotation, this.witnessKeys)));
+    var next = interaction(kel.get(2));
+    kel.set(3, signed(next, sign(next, keys), sign(next, this.witnessKeys)));
+
+    var report = this.verifier.verify(kel.get(0).identifier(), kel);
+
+    assertEquals(List.of(Check.NEXT_KEY_CONFIGURATION), checks(report));
+    assertEquals(2, report.failures().get(0).coordinates().sequenceNumber());
+  }
+
+  @Test
+  public void test__verify__underWitnessed() {
+    var kel = this.signedKel();
+    var e = kel.get(1);
+    kel.set(1, signed(e, e.authentication(), Map.of(0, e.endorsements().get(0))));
+
+    var report = this.verifier.verify(kel.get(0).identifier(), kel);
+
+    assertEquals(List.of(Check.WITNESS_RECEIPTS), checks(report));
+    assertEquals(1, report.failures().get(0).coordinates().sequenceNumber());
+  }
+
+  @Test
+  public void test__verify__identifierNotDerivedFromInception() {
+    var keys = keyPairs(1);
+    var bytes = "icp:a".getBytes(UTF_8);
+    var identifier = new ImmutableSelfAddressingIdentifier(DigestOperations.DEFAULT.digest("icp:b".getBytes(UTF_8)));
+    var inception = new ImmutableInceptionEvent(bytes, bytes, new ImmutableVersion(1, 0), StandardFormats.JSON,
+        identifier, new ImmutableUnweightedSigningThreshold(1), List.of(keys.get(0).getPublic()), null, 0, List.of(),
+        Set.of(), Map.of(), Map.of(), Map.of());
+    var kel = List.of(signed(inception, sign(inception, keys), Map.of()));
+
+    var report = this.verifier.verify(identifier, kel);
+
+    assertEquals(List.of(Check.IDENTIFIER), checks(report));
+    // every event of another identifier's log fails the check too
+    var other = this.signedKel();
+    assertEquals(List.of(Check.IDENTIFIER, Check.IDENTIFIER, Check.IDENTIFIER, Check.IDENTIFIER),
+        checks(this.verifier.verify(identifier, other)));
+  }
+
+  // inception, interaction, rotation and interaction, each signed and endorsed by 2 of 3 witnesses
+  private List<KeyEvent> signedKel() {
+    var witnesses = witnesses(this.witnessKeys);
+    var endorsing = this.witnessKeys.subList(0, 2);
+    var kel = new ArrayList<KeyEvent>();
+    KeyEvent e = inception("a", this.keys.get(0), 1, this.keys.get(1), witnesses, 2);
+    kel.add(signed(e, sign(e, this.keys.get(0)), sign(e, endorsing)));
+    e = interaction(kel.get(0));
+    kel.add(signed(e, sign(e, this.keys.get(0)), sign(e, endorsing)));
+    e = rotation(kel.get(1), this.keys.get(1), 1, this.nextKeys, 2);
+    kel.add(signed(e, sign(e, this.keys.get(1)), sign(e, endorsing)));
+    e = interaction(kel.get(2));
+    kel.add(signed(e, sign(e, this.keys.get(1)), sign(e, endorsing)));
+    return kel;
+  }
+
+  private static List<Check> checks(KelVerifier.Report report) {
+    return report.failures().stream().map(KelVerifier.Failure::check).collect(toList());
+  }
+
+  @Test
+  public void test__verify__empty() {
+    var identifier = kel("a", 1).get(0).identifier();
+
+    assertFalse(this.verifier.verify(identifier, List.of()).valid());
+  }
+
+}
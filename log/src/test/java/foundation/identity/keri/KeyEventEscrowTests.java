@@ -0,0 +1,337 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import foundation.identity.keri.api.identifier.BasicIdentifier;
+import foundation.identity.keri.crypto.ImmutableSignature;
+import foundation.identity.keri.crypto.StandardSignatureAlgorithms;
+import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+import foundation.identity.keri.internal.identifier.ImmutableBasicIdentifier;
+import org.junit.Test;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static foundation.identity.keri.TestKeyEvents.KEY;
+import static foundation.identity.keri.TestKeyEvents.inception;
+import static foundation.identity.keri.TestKeyEvents.interaction;
+import static foundation.identity.keri.TestKeyEvents.keyPairs;
+import static foundation.identity.keri.TestKeyEvents.kel;
+import static foundation.identity.keri.TestKeyEvents.sign;
+import static foundation.identity.keri.TestKeyEvents.signed;
+import static foundation.identity.keri.TestKeyEvents.witnesses;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class KeyEventEscrowTests {
+
+  final TestKeyEventStore store = new TestKeyEventStore();
+  final TestClock clock = new TestClock();
+
+  private KeyEventEscrow.Builder builder() {
+    return KeyEventEscrow.builder(new KeyEventProcessor(this.store)).clock(this.clock);
+  }
+
+  @Test
+  public void test__release__cascades() {
+    var escrow = this.builder().build();
+    var a = kel("a", 4);
+    var attachment = new ImmutableAttachmentEvent(a.get(2).coordinates(), Map.of(), Map.of(), Map.of());
+
+    for (var i = 3; i > 0; i--) {
+      var event = a.get(i);
+      assertThrows(MissingEventException.class, () -> escrow.process(event));
+    }
+    assertThrows(MissingReferencedEventException.class, () -> escrow.process(attachment));
+    assertEquals(4, escrow.size());
+
+    escrow.process(a.get(0));
+
+    assertEquals(0, escrow.size());
+    assertEquals(0, escrow.bytes());
+    // the attachment is merged into the event it references as that's released
+    assertEquals(3, escrow.released());
+    assertEquals(a.get(3).coordinates(), this.store.getKeyState(a.get(0).identifier()).get().coordinates());
+  }
+
+  @Test
+  public void test__release__reportsReleasedEvents() {
+    var escrow = this.builder().build();
+    var a = kel("a", 3);
+    var released = new ArrayList<KeyEventCoordinates>();
+
+    for (var i = 2; i > 0; i--) {
+      var event = a.get(i);
+      assertThrows(MissingEventException.class, () -> escrow.process(event, e -> released.add(e.coordinates())));
+    }
+    escrow.process(a.get(0), e -> released.add(e.coordinates()));
+
+    // the event processed directly isn't reported, as its caller already knows it was accepted
+    assertEquals(List.of(a.get(1).coordinates(), a.get(2).coordinates()), released);
+  }
+
+  @Test
+  public void test__release__eventsStoredElsewhere() {
+    var escrow = this.builder().build();
+    var a = kel("a", 2);
+
+    assertThrows(MissingEventException.class, () -> escrow.process(a.get(1)));
+    this.store.append(a.get(0));
+    escrow.release(a.get(0).coordinates());
+
+    assertEquals(0, escrow.size());
+    assertEquals(a.get(1).coordinates(), this.store.getKeyState(a.get(0).identifier()).get().coordinates());
+  }
+
+  @Test
+  public void test__escrow__resentEventEscrowedOnce() {
+    var escrow = this.builder().build();
+    var a = kel("a", 2);
+
+    assertThrows(MissingEventException.class, () -> escrow.process(a.get(1)));
+    assertThrows(MissingEventException.class, () -> escrow.process(a.get(1)));
+
+    assertEquals(1, escrow.size());
+  }
+
+  @Test
+  public void test__escrow__boundedUnderFlood() {
+    var escrow = this.builder()
+        .maximumEntries(100)
+        .maximumBytes(100 * 1024)
+        .build();
+
+    for (var i = 0; i < 10_000; i++) {
+      var orphan = kel("orphan-" + i, 2).get(1);
+      assertThrows(MissingEventException.class, () -> escrow.process(orphan));
+      assertTrue(escrow.size() <= 100);
+      assertTrue(escrow.bytes() <= 100 * 1024);
+    }
+
+    assertEquals(10_000, escrow.escrowed());
+    assertEquals(10_000 - escrow.size(), escrow.evicted());
+
+    // the newest orphans survive
+    var a = kel("orphan-9999", 2);
+    escrow.process(a.get(0));
+    assertTrue(this.store.getKeyEvent(a.get(1).coordinates()).isPresent());
+  }
+
+  @Test
+  public void test__evictExpired() {
+    var escrow = this.builder()
+        .timeToLive(Duration.ofMinutes(1))
+        .build();
+    var a = kel("a", 2);
+    var b = kel("b", 2);
+
+    assertThrows(MissingEventException.class, () -> escrow.process(a.get(1)));
+    this.clock.advance(Duration.ofSeconds(45));
+    assertThrows(MissingEventException.class, () -> escrow.process(b.get(1)));
+    this.clock.advance(Duration.ofSeconds(30));
+    escrow.evictExpired();
+
+    assertEquals(1, escrow.size());
+    assertEquals(1, escrow.expired());
+
+    escrow.process(a.get(0));
+    assertFalse(this.store.getKeyEvent(a.get(1).coordinates()).isPresent());
+    escrow.process(b.get(0));
+    assertTrue(this.store.getKeyEvent(b.get(1).coordinates()).isPresent());
+  }
+
+  @Test
+  public void test__partiallyWitnessed__mergesAttachments() {
+    var escrow = this.builder().build();
+    var witnessed = inception("witnessed", List.of(new ImmutableBasicIdentifier(KEY), witness(), witness()));
+    var endorsement = new ImmutableSignature(StandardSignatureAlgorithms.ED_25519, new byte[64]);
+    // too few endorsements to meet the threshold of 3, so they aren't verified
+    var early = new ImmutableAttachmentEvent(witnessed.coordinates(), Map.of(), Map.of(0, endorsement), Map.of());
+    var late = new ImmutableAttachmentEvent(witnessed.coordinates(), Map.of(), Map.of(1, endorsement), Map.of());
+
+    assertThrows(MissingReferencedEventException.class, () -> escrow.process(early));
+    assertEquals(1, escrow.size());
+
+    // the event takes the escrowed attachment with it into the partially witnessed escrow
+    assertThrows(UnmetWitnessThresholdException.class, () -> escrow.process(witnessed));
+    assertEquals(1, escrow.size());
+    assertEquals(0, this.store.events.size());
+
+    // later attachments are merged into the escrowed event rather than escrowed on their own
+    escrow.process(late);
+    assertEquals(1, escrow.size());
+  }
+
+  @Test
+  public void test__partiallyWitnessed__rejectsInvalidAttachments() {
+    var escrow = this.builder().build();
+    var witnessed = inception("witnessed", List.of(new ImmutableBasicIdentifier(KEY)));
+    var endorsement = new ImmutableSignature(StandardSignatureAlgorithms.ED_25519, new byte[64]);
+    // an endorsement from a witness that isn't in the event's witness list
+    var invalid = new ImmutableAttachmentEvent(witnessed.coordinates(), Map.of(), Map.of(4, endorsement), Map.of());
+
+    assertThrows(UnmetWitnessThresholdException.class, () -> escrow.process(witnessed));
+
+    var e = assertThrows(AttachmentEventProcessingException.class, () -> escrow.process(invalid));
+    assertSame(invalid, e.attachmentEvent());
+    assertTrue(e.getCause() instanceof UnmetWitnessThresholdException);
+    // the event stays escrowed without the invalid endorsement
+    assertEquals(1, escrow.size());
+    assertEquals(0, this.store.events.size());
+  }
+
+  @Test
+  public void test__partiallySigned__storedOnceSigned() {
+    var escrow = this.builder().build();
+    var keys = keyPairs(3);
+    var event = inception("signed", keys, 2, keyPairs(3), List.of(), 0);
+    var signatures = sign(event, keys);
+
+    assertThrows(UnmetSigningThresholdException.class,
+        () -> escrow.process(signed(event, Map.of(0, signatures.get(0)), Map.of())));
+    assertEquals(1, escrow.size());
+
+    escrow.process(new ImmutableAttachmentEvent(event.coordinates(), Map.of(1, signatures.get(1)), Map.of(),
+        Map.of()));
+
+    assertEquals(0, escrow.size());
+    assertEquals(Map.of(0, signatures.get(0), 1, signatures.get(1)),
+        this.store.getAttachments(event.coordinates()).get().authentication());
+  }
+
+  @Test
+  public void test__partiallyWitnessed__storedOnceWitnessed() {
+    var escrow = this.builder().build();
+    var keys = keyPairs(1);
+    var witnessKeys = keyPairs(3);
+    var event = inception("witnessed", keys, 1, keyPairs(1), witnesses(witnessKeys), 2);
+    var endorsements = sign(event, witnessKeys);
+    assertThrows(UnmetWitnessThresholdException.class,
+        () -> escrow.process(signed(event, sign(event, keys), Map.of(0, endorsements.get(0)))));
+
+    // an endorsement by another witness than the one at its index is rejected, and the event stays escrowed
+    var invalid = new ImmutableAttachmentEvent(event.coordinates(), Map.of(), Map.of(1, endorsements.get(2)),
+        Map.of());
+    assertThrows(AttachmentEventProcessingException.class, () -> escrow.process(invalid));
+    assertEquals(1, escrow.size());
+    assertTrue(this.store.events.isEmpty());
+
+    escrow.process(new ImmutableAttachmentEvent(event.coordinates(), Map.of(), Map.of(2, endorsements.get(2)),
+        Map.of()));
+
+    assertEquals(0, escrow.size());
+    assertEquals(Map.of(0, endorsements.get(0), 2, endorsements.get(2)),
+        this.store.getAttachments(event.coordinates()).get().endorsements());
+  }
+
+  @Test
+  public void test__escrow__dependencyAppendedConcurrently() {
+    var a = kel("a", 2);
+    var store = new InterleavingStore(a.get(0).coordinates());
+    var escrow = KeyEventEscrow.builder(new KeyEventProcessor(store)).clock(this.clock).build();
+    // the dependency is appended and released after a.get(1) finds it missing, but before a.get(1) is escrowed
+    store.interleaved = () -> escrow.process(a.get(0));
+
+    escrow.process(a.get(1));
+
+    assertEquals(0, escrow.size());
+    assertEquals(a.get(1).coordinates(), store.getKeyState(a.get(0).identifier()).get().coordinates());
+  }
+
+  @Test
+  public void test__partiallyWitnessed__attachmentArrivesWhileProcessed() {
+    var witnessed = inception("witnessed", List.of(new ImmutableBasicIdentifier(KEY), witness(), witness()));
+    var store = new InterleavingStore(witnessed.coordinates());
+    store.append(witnessed);
+    var escrow = KeyEventEscrow.builder(new KeyEventProcessor(store)).clock(this.clock).build();
+    var interaction = interaction(witnessed);
+    var endorsement = new ImmutableSignature(StandardSignatureAlgorithms.ED_25519, new byte[64]);
+    var first = new ImmutableAttachmentEvent(interaction.coordinates(), Map.of(), Map.of(0, endorsement), Map.of());
+    var second = new ImmutableAttachmentEvent(interaction.coordinates(), Map.of(), Map.of(1, endorsement), Map.of());
+    assertThrows(UnmetWitnessThresholdException.class, () -> escrow.process(interaction));
+
+    // the second attachment finds no partial to merge into while the first is being merged and processed
+    store.interleaved = () -> assertThrows(MissingReferencedEventException.class, () -> escrow.process(second));
+    escrow.process(first);
+
+    // both were merged into the partial, rather than the second waiting on an event that stays escrowed
+    assertEquals(1, escrow.size());
+  }
+
+  private static BasicIdentifier witness() {
+    try {
+      return new ImmutableBasicIdentifier(KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPublic());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // runs the interleaved action on another thread the first time the state at the coordinates is looked up, after
+  // looking it up, as if the action had run concurrently between the lookup and whatever the caller does with it
+  static class InterleavingStore extends TestKeyEventStore {
+
+    final KeyEventCoordinates coordinates;
+    Runnable interleaved;
+
+    InterleavingStore(KeyEventCoordinates coordinates) {
+      this.coordinates = ImmutableKeyEventCoordinates.convert(coordinates);
+    }
+
+    @Override
+    public Optional<KeyState> getKeyState(KeyEventCoordinates coordinates) {
+      var state = super.getKeyState(coordinates);
+      var interleaved = this.interleaved;
+      if (interleaved != null && this.coordinates.equals(ImmutableKeyEventCoordinates.convert(coordinates))) {
+        this.interleaved = null;
+        var thread = new Thread(interleaved);
+        thread.start();
+        try {
+          thread.join();
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+      return state;
+    }
+
+  }
+
+  static class TestClock extends Clock {
+
+    Instant now = Instant.EPOCH;
+
+    void advance(Duration duration) {
+      this.now = this.now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return this.now;
+    }
+
+  }
+
+}
@@ -0,0 +1,193 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
+import org.junit.Test;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static foundation.identity.keri.TestKeyEvents.inception;
+import static foundation.identity.keri.TestKeyEvents.interaction;
+import static foundation.identity.keri.TestKeyEvents.keyPairs;
+import static foundation.identity.keri.TestKeyEvents.kel;
+import static foundation.identity.keri.TestKeyEvents.rotation;
+import static foundation.identity.keri.TestKeyEvents.sign;
+import static foundation.identity.keri.TestKeyEvents.signed;
+import static foundation.identity.keri.TestKeyEvents.witnesses;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class KeyEventProcessorTests {
+
+  final TestKeyEventStore store = new TestKeyEventStore();
+  final VerifiedSignatureCache verifiedSignatures = new VerifiedSignatureCache(1000);
+  final KeyEventProcessor processor = this.processor(false);
+
+  private KeyEventProcessor processor(boolean verifyAllSignatures) {
+    return KeyEventProcessor.builder(this.store)
+        .verifiedSignatures(this.verifiedSignatures)
+        .verifyAllSignatures(verifyAllSignatures)
+        .build();
+  }
+
+  @Test
+  public void test__process__storesSignaturesLeftUnverified() {
+    var keys = keyPairs(3);
+    var witnessKeys = keyPairs(3);
+    var event = inception("a", keys, 2, keyPairs(3), witnesses(witnessKeys), 2);
+    var signed = signed(event, sign(event, keys), sign(event, witnessKeys));
+
+    this.processor.process(signed);
+
+    // verification stops once each threshold is met, but every signature is kept
+    var held = this.store.getAttachments(event.coordinates()).get();
+    assertEquals(signed.authentication(), held.authentication());
+    assertEquals(signed.endorsements(), held.endorsements());
+    assertEquals(2, this.verifiedCount(event, keys, signed.authentication()));
+    assertEquals(2, this.verifiedCount(event, witnessKeys, signed.endorsements()));
+  }
+
+  @Test
+  public void test__process__verifyAllSignatures__dropsInvalidSignatures() {
+    var keys = keyPairs(3);
+    var witnessKeys = keyPairs(3);
+    var event = inception("a", keys, 2, keyPairs(3), witnesses(witnessKeys), 2);
+    var signatures = sign(event, keys);
+    var endorsements = sign(event, witnessKeys);
+    // signed by keys other than those at the indexes
+    signatures.put(2, signatures.get(0));
+    endorsements.put(2, endorsements.get(0));
+
+    this.processor(true).process(signed(event, signatures, endorsements));
+
+    var held = this.store.getAttachments(event.coordinates()).get();
+    assertEquals(Set.of(0, 1), held.authentication().keySet());
+    assertEquals(Set.of(0, 1), held.endorsements().keySet());
+  }
+
+  @Test
+  public void test__processAttachment__storesEndorsementsBeyondThreshold() {
+    var keys = keyPairs(1);
+    var witnessKeys = keyPairs(3);
+    var event = inception("a", keys, 1, keyPairs(1), witnesses(witnessKeys), 2);
+    var endorsements = sign(event, witnessKeys);
+    this.processor.process(signed(event, sign(event, keys), Map.of(0, endorsements.get(0), 1, endorsements.get(1))));
+
+    // the threshold is already met, but the late endorsement is still verified and stored
+    var invalid = endorsements.get(0);
+    this.processor.process(new ImmutableAttachmentEvent(event.coordinates(), Map.of(),
+        Map.of(1, endorsements.get(1), 2, endorsements.get(2)), Map.of()));
+    this.processor.process(new ImmutableAttachmentEvent(event.coordinates(), Map.of(), Map.of(2, invalid), Map.of()));
+
+    assertEquals(endorsements, this.store.getAttachments(event.coordinates()).get().endorsements());
+  }
+
+  @Test
+  public void test__processBatch__appliesEachLogInOrder() {
+    var a = kel("a", 3);
+    var b = kel("b", 3);
+    var batch = List.of(a.get(2), b.get(1), a.get(0), b.get(2), a.get(1), b.get(0));
+
+    var states = this.processor.process(batch);
+
+    assertEquals(6, states.size());
+    assertEquals(a.get(2).coordinates(), this.store.getKeyState(a.get(0).identifier()).get().coordinates());
+    assertEquals(b.get(2).coordinates(), this.store.getKeyState(b.get(0).identifier()).get().coordinates());
+  }
+
+  @Test
+  public void test__processBatch__continuesPastFailures() {
+    var a = kel("a", 3);
+    var b = kel("b", 3);
+    var c = kel("c", 2);
+    // b's inception isn't in the batch, so none of b's events can be applied
+    var batch = List.of(a.get(0), b.get(1), c.get(0), a.get(1), b.get(2), c.get(1), a.get(2));
+
+    var e = assertThrows(KeyEventBatchProcessingException.class, () -> this.processor.process(batch));
+
+    assertEquals(List.of(b.get(1), b.get(2)), new ArrayList<>(e.failures().keySet()));
+    assertTrue(e.failures().values().stream().allMatch(MissingEventException.class::isInstance));
+    assertEquals(
+        List.of(a.get(0), c.get(0), a.get(1), c.get(1), a.get(2)).stream().map(KeyEvent::coordinates).collect(toList()),
+        e.keyStates().stream().map(KeyState::coordinates).collect(toList()));
+    assertEquals(a.get(2).coordinates(), this.store.getKeyState(a.get(0).identifier()).get().coordinates());
+    assertEquals(c.get(1).coordinates(), this.store.getKeyState(c.get(0).identifier()).get().coordinates());
+  }
+
+  @Test
+  public void test__processBatch__verifiesSignedEventsAcrossRotation() {
+    var keys = List.of(keyPairs(1), keyPairs(1), keyPairs(1));
+    var a0 = this.signedBy(inception("a", keys.get(0), 1, keys.get(1), List.of(), 0), keys.get(0));
+    var a1 = this.signedBy(interaction(a0), keys.get(0));
+    // rotates partway through the batch, so the events after it are verified against the keys it rotates to
+    var a2 = this.signedBy(rotation(a1, keys.get(1), 1, keys.get(2), 0), keys.get(1));
+    var a3 = this.signedBy(interaction(a2), keys.get(1));
+    // signed by the keys rotated away from
+    var a4 = this.signedBy(interaction(a3), keys.get(0));
+    var bKeys = keyPairs(1);
+    var b0 = this.signedBy(inception("b", bKeys, 1, keyPairs(1), List.of(), 0), bKeys);
+    // signed by a key other than b's
+    var b1 = this.signedBy(interaction(b0), keys.get(0));
+    var b2 = this.signedBy(interaction(b1), bKeys);
+    var batch = List.of(a3, b1, a2, a0, b0, a1, b2, a4);
+
+    var e = assertThrows(KeyEventBatchProcessingException.class, () -> this.processor.process(batch));
+
+    assertEquals(List.of(b1, b2, a4), new ArrayList<>(e.failures().keySet()));
+    assertTrue(e.failures().get(b1) instanceof UnmetSigningThresholdException);
+    assertTrue(e.failures().get(b2) instanceof MissingEventException);
+    assertTrue(e.failures().get(a4) instanceof UnmetSigningThresholdException);
+    assertEquals(List.of(a0, b0, a1, a2, a3).stream().map(KeyEvent::coordinates).collect(toList()),
+        e.keyStates().stream().map(KeyState::coordinates).collect(toList()));
+    assertEquals(a3.coordinates(), this.store.getKeyState(a0.identifier()).get().coordinates());
+    assertEquals(b0.coordinates(), this.store.getKeyState(b0.identifier()).get().coordinates());
+    // verified up front against the states the batch would produce, and cached
+    assertEquals(1, this.verifiedCount(a3, keys.get(1), a3.authentication()));
+    assertEquals(0, this.verifiedCount(a4, keys.get(0), a4.authentication()));
+  }
+
+  @Test
+  public void test__processBatch__rejectsInvalidSignatures() {
+    var keys = keyPairs(3);
+    var a0 = this.signedBy(inception("a", keys, 2, keyPairs(3), List.of(), 0), keys);
+    var a1 = interaction(a0);
+    var signatures = sign(a1, keys);
+    // only one of the signatures is by the key at its index
+    signatures.put(1, signatures.get(0));
+    signatures.put(2, signatures.get(0));
+    var invalid = signed(a1, signatures, Map.of());
+    var valid = this.signedBy(interaction(a0), keys);
+
+    var e = assertThrows(KeyEventBatchProcessingException.class, () -> this.processor.process(List.of(a0, invalid)));
+
+    assertEquals(List.of(invalid), new ArrayList<>(e.failures().keySet()));
+    var unmet = (UnmetSigningThresholdException) e.failures().get(invalid);
+    assertEquals(Set.of(1, 2), unmet.invalid());
+    assertEquals(a0.coordinates(), this.store.getKeyState(a0.identifier()).get().coordinates());
+    assertEquals(1, this.verifiedCount(a1, keys, signatures));
+
+    // the event is accepted once properly signed
+    this.processor.process(List.of(valid));
+    assertEquals(valid.coordinates(), this.store.getKeyState(a0.identifier()).get().coordinates());
+  }
+
+  private KeyEvent signedBy(KeyEvent event, List<KeyPair> keys) {
+    return signed(event, sign(event, keys), Map.of());
+  }
+
+  private long verifiedCount(KeyEvent event, List<KeyPair> keys, Map<Integer, Signature> signatures) {
+    return signatures.entrySet().stream()
+        .filter(kv -> this.verifiedSignatures.contains(
+            event.digest(), keys.get(kv.getKey()).getPublic(), kv.getValue()))
+        .count();
+  }
+
+}
@@ -0,0 +1,75 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.crypto.ImmutableSignature;
+import foundation.identity.keri.crypto.PrecomputedEd25519Operations;
+import foundation.identity.keri.crypto.SignatureOperations;
+import foundation.identity.keri.crypto.StandardSignatureAlgorithms;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class PrecomputedEd25519OperationsTests {
+
+  @Test
+  public void test__verify() {
+    var ops = new PrecomputedEd25519Operations();
+    var pkb = Hex.unhex("3d4017c3e843895a92b70aa74d1b7ebc9c982ccf2ec4968cc0cd55f12af4660c");
+    var msg = Hex.unhex("72");
+    var sig = ops.signature(Hex.unhex("92a009a9f0d4cab8720e820b5f642540a2b27b5416503f8fb3762223ebdb69da" +
+        "085ac1e43e15996e458f3613d0f11d8c387b2eaeb4302aeeb00d291612bb0c00"));
+    var publicKey = ops.publicKey(pkb);
+
+    assertTrue(ops.verify(msg, sig, publicKey));
+    assertTrue(ops.verify(ByteBuffer.wrap(msg), sig, publicKey));
+    assertFalse(ops.verify(Hex.unhex("73"), sig, publicKey));
+
+    assertEquals(1, ops.misses());
+    assertEquals(2, ops.hits());
+  }
+
+  @Test
+  public void test__verify__agreesWithJca() {
+    var ops = new PrecomputedEd25519Operations();
+    var jca = SignatureOperations.ED_25519;
+    var keyPair = jca.generateKeyPair();
+    var otherKeyPair = jca.generateKeyPair();
+
+    for (var i = 0; i < 20; i++) {
+      var msg = ("message " + i).getBytes(UTF_8);
+      var sig = jca.sign(msg, keyPair.getPrivate());
+      var tampered = sig.bytes();
+      tampered[i] ^= 1;
+      var tamperedSig = new ImmutableSignature(StandardSignatureAlgorithms.ED_25519, tampered);
+
+      assertTrue(ops.verify(msg, sig, keyPair.getPublic()));
+      assertFalse(ops.verify(msg, sig, otherKeyPair.getPublic()));
+      assertFalse(ops.verify(msg, tamperedSig, keyPair.getPublic()));
+    }
+  }
+
+  @Test
+  public void test__maximumKeys() {
+    var ops = new PrecomputedEd25519Operations(16);
+    var msg = "message".getBytes(UTF_8);
+
+    for (var i = 0; i < 100; i++) {
+      var keyPair = ops.generateKeyPair();
+      assertTrue(ops.verify(msg, ops.sign(msg, keyPair.getPrivate()), keyPair.getPublic()));
+    }
+
+    assertTrue(ops.size() <= ops.maximumKeys());
+    assertEquals(100, ops.misses());
+  }
+
+  @Test
+  public void test__maximumKeys__mustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new PrecomputedEd25519Operations(0));
+  }
+
+}
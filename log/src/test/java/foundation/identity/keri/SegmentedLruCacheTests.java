@@ -0,0 +1,47 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.crypto.SegmentedLruCache;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class SegmentedLruCacheTests {
+
+  @Test
+  public void test__computeIfAbsent() {
+    var cache = new SegmentedLruCache<String, String>(100);
+
+    assertEquals("a1", cache.computeIfAbsent("a", k -> k + "1"));
+    assertEquals("a1", cache.computeIfAbsent("a", k -> k + "2"));
+    assertNull(cache.computeIfAbsent("b", k -> null));
+
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.hits());
+    assertEquals(2, cache.misses());
+  }
+
+  @Test
+  public void test__eviction() {
+    var cache = new SegmentedLruCache<Integer, Integer>(160);
+
+    for (var i = 0; i < 1000; i++) {
+      cache.put(i, i);
+      // keeps the first entry recently used
+      cache.get(0);
+    }
+
+    assertTrue(cache.size() <= cache.maximumSize());
+    assertEquals(1000 - cache.size(), cache.evictions());
+    assertEquals(Integer.valueOf(0), cache.get(0));
+    assertEquals(Integer.valueOf(999), cache.get(999));
+  }
+
+  @Test
+  public void test__maximumSize__mustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new SegmentedLruCache<String, String>(0));
+  }
+
+}
@@ -0,0 +1,103 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.KeyState;
+import foundation.identity.keri.api.event.AttachmentEvent;
+import foundation.identity.keri.api.event.DelegatingEventCoordinates;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import foundation.identity.keri.api.event.SealingEvent;
+import foundation.identity.keri.api.identifier.Identifier;
+import foundation.identity.keri.api.seal.Seal;
+import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
+import foundation.identity.keri.internal.event.ImmutableKeyEventCoordinates;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Just enough of a store to process events against.
+ */
+class TestKeyEventStore implements KeyEventStore {
+
+  final Map<KeyEventCoordinates, KeyEvent> events = new ConcurrentHashMap<>();
+  final Map<KeyEventCoordinates, KeyState> states = new ConcurrentHashMap<>();
+  final Map<Identifier, KeyState> currentStates = new ConcurrentHashMap<>();
+  final Map<KeyEventCoordinates, AttachmentEvent> attachments = new ConcurrentHashMap<>();
+
+  @Override
+  public void append(KeyEvent event) {
+    var state = KeyStateProcessor.apply(this.getKeyState(event.previous()).orElse(null), event);
+    var coordinates = ImmutableKeyEventCoordinates.convert(event.coordinates());
+    this.events.put(coordinates, event);
+    this.states.put(coordinates, state);
+    this.currentStates.put(event.identifier(), state);
+    this.append(new ImmutableAttachmentEvent(coordinates, event.authentication(), event.endorsements(),
+        event.receipts()));
+  }
+
+  @Override
+  public void append(AttachmentEvent event) {
+    this.attachments.merge(ImmutableKeyEventCoordinates.convert(event.coordinates()), event, (held, arrived) -> {
+      var authentication = new HashMap<>(held.authentication());
+      authentication.putAll(arrived.authentication());
+      var endorsements = new HashMap<>(held.endorsements());
+      endorsements.putAll(arrived.endorsements());
+      var receipts = new HashMap<>(held.receipts());
+      receipts.putAll(arrived.receipts());
+      return new ImmutableAttachmentEvent(held.coordinates(), authentication, endorsements, receipts);
+    });
+  }
+
+  @Override
+  public Optional<SealingEvent> getKeyEvent(DelegatingEventCoordinates coordinates) {
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<KeyEvent> getKeyEvent(KeyEventCoordinates coordinates) {
+    return Optional.ofNullable(this.events.get(ImmutableKeyEventCoordinates.convert(coordinates)));
+  }
+
+  @Override
+  public Optional<AttachmentEvent> getAttachments(KeyEventCoordinates coordinates) {
+    return Optional.ofNullable(this.attachments.get(ImmutableKeyEventCoordinates.convert(coordinates)));
+  }
+
+  @Override
+  public Stream<KeyEvent> streamKeyEvents(Identifier identifier) {
+    return Stream.empty();
+  }
+
+  @Override
+  public Stream<KeyEvent> streamKeyEvents(Identifier identifier, long from) {
+    return Stream.empty();
+  }
+
+  @Override
+  public Optional<KeyState> getKeyState(Identifier identifier) {
+    return Optional.ofNullable(this.currentStates.get(identifier));
+  }
+
+  @Override
+  public Optional<KeyState> getKeyState(KeyEventCoordinates previous) {
+    if (previous.equals(KeyEventCoordinates.NONE)) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(this.states.get(ImmutableKeyEventCoordinates.convert(previous)));
+  }
+
+  @Override
+  public OptionalLong findLatestReceipt(Identifier forIdentifier, Identifier byIdentifier) {
+    return OptionalLong.empty();
+  }
+
+  @Override
+  public Optional<KeyEventCoordinates> findAnchoringEvent(Seal seal) {
+    return Optional.empty();
+  }
+
+}
@@ -0,0 +1,161 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.api.event.InceptionEvent;
+import foundation.identity.keri.api.event.InteractionEvent;
+import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.event.KeyConfigurationDigest;
+import foundation.identity.keri.api.event.KeyEventCoordinates;
+import foundation.identity.keri.api.event.RotationEvent;
+import foundation.identity.keri.api.event.SigningThreshold;
+import foundation.identity.keri.api.event.StandardFormats;
+import foundation.identity.keri.api.identifier.BasicIdentifier;
+import foundation.identity.keri.api.seal.Seal;
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.Signature;
+import foundation.identity.keri.crypto.SignatureOperations;
+import foundation.identity.keri.crypto.StandardDigestAlgorithms;
+import foundation.identity.keri.internal.ImmutableVersion;
+import foundation.identity.keri.internal.event.ImmutableInceptionEvent;
+import foundation.identity.keri.internal.event.ImmutableInteractionEvent;
+import foundation.identity.keri.internal.event.ImmutableRotationEvent;
+import foundation.identity.keri.internal.event.ImmutableUnweightedSigningThreshold;
+import foundation.identity.keri.internal.identifier.ImmutableBasicIdentifier;
+import foundation.identity.keri.internal.identifier.ImmutableSelfAddressingIdentifier;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Builds unsigned events with a signing threshold of 0, so they can be processed without verifying any signatures,
+ * and events with real keys for the tests that verify them, which {@link #sign} signs. The event bytes are not real
+ * serializations, but they are unique, so the coordinates of every event are distinct.
+ *
+ * <p>Shared with the tests of the event stores through this module's test jar.
+ */
+public final class TestKeyEvents {
+
+  public static final PublicKey KEY = keyPair().getPublic();
+
+  private TestKeyEvents() {
+  }
+
+  public static InceptionEvent inception(String name) {
+    return inception(name, List.of());
+  }
+
+  // SigningThresholds.unweighted won't build a threshold of 0
+  public static InceptionEvent inception(String name, List<BasicIdentifier> witnesses) {
+    var bytes = ("icp:" + name).getBytes(UTF_8);
+    var identifier = new ImmutableSelfAddressingIdentifier(DigestOperations.DEFAULT.digest(bytes));
+    return new ImmutableInceptionEvent(bytes, bytes, new ImmutableVersion(1, 0), StandardFormats.JSON, identifier,
+        new ImmutableUnweightedSigningThreshold(0), List.of(KEY), null, witnesses.size(), witnesses, Set.of(),
+        Map.of(), Map.of(), Map.of());
+  }
+
+  public static InteractionEvent interaction(KeyEvent previous) {
+    return interaction(previous, List.of(), Map.of());
+  }
+
+  public static InteractionEvent interaction(KeyEvent previous, List<Seal> seals,
+      Map<KeyEventCoordinates, Map<Integer, Signature>> receipts) {
+    var sequenceNumber = previous.sequenceNumber() + 1;
+    var bytes = ("ixn:" + previous.identifier() + ":" + sequenceNumber).getBytes(UTF_8);
+    return new ImmutableInteractionEvent(new ImmutableVersion(1, 0), StandardFormats.JSON, previous.identifier(),
+        sequenceNumber, previous.coordinates(), seals, bytes, Map.of(), Map.of(), receipts);
+  }
+
+  public static KeyPair keyPair() {
+    try {
+      return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static List<KeyPair> keyPairs(int count) {
+    var keyPairs = new ArrayList<KeyPair>(count);
+    for (var i = 0; i < count; i++) {
+      keyPairs.add(keyPair());
+    }
+    return keyPairs;
+  }
+
+  public static List<BasicIdentifier> witnesses(List<KeyPair> keyPairs) {
+    return keyPairs.stream()
+        .map(kp -> (BasicIdentifier) new ImmutableBasicIdentifier(kp.getPublic()))
+        .collect(toList());
+  }
+
+  /**
+   * An inception with an unweighted signing threshold, committing to the next keys with the same threshold.
+   */
+  public static InceptionEvent inception(String name, List<KeyPair> keys, int threshold, List<KeyPair> nextKeys,
+      List<BasicIdentifier> witnesses, int witnessThreshold) {
+    var bytes = ("icp:" + name).getBytes(UTF_8);
+    var identifier = new ImmutableSelfAddressingIdentifier(DigestOperations.DEFAULT.digest(bytes));
+    var signingThreshold = new ImmutableUnweightedSigningThreshold(threshold);
+    return new ImmutableInceptionEvent(bytes, bytes, new ImmutableVersion(1, 0), StandardFormats.JSON, identifier,
+        signingThreshold, publicKeys(keys), nextKeys(signingThreshold, nextKeys), witnessThreshold, witnesses,
+        Set.of(), Map.of(), Map.of(), Map.of());
+  }
+
+  /**
+   * A rotation to keys with an unweighted signing threshold, committing to the next keys with the same threshold and
+   * keeping the witnesses.
+   */
+  public static RotationEvent rotation(KeyEvent previous, List<KeyPair> keys, int threshold, List<KeyPair> nextKeys,
+      int witnessThreshold) {
+    var sequenceNumber = previous.sequenceNumber() + 1;
+    var bytes = ("rot:" + previous.identifier() + ":" + sequenceNumber).getBytes(UTF_8);
+    var signingThreshold = new ImmutableUnweightedSigningThreshold(threshold);
+    return new ImmutableRotationEvent(new ImmutableVersion(1, 0), StandardFormats.JSON, previous.identifier(),
+        sequenceNumber, previous.coordinates(), signingThreshold, publicKeys(keys),
+        nextKeys(signingThreshold, nextKeys), witnessThreshold, List.of(), List.of(), List.of(), bytes, Map.of(),
+        Map.of(), Map.of());
+  }
+
+  private static List<PublicKey> publicKeys(List<KeyPair> keyPairs) {
+    return keyPairs.stream().map(KeyPair::getPublic).collect(toList());
+  }
+
+  private static KeyConfigurationDigest nextKeys(SigningThreshold threshold, List<KeyPair> nextKeys) {
+    return KeyConfigurationDigester.digest(threshold, publicKeys(nextKeys), StandardDigestAlgorithms.DEFAULT);
+  }
+
+  /**
+   * Signatures of the event by each of the key pairs, at the key pair's index.
+   */
+  public static Map<Integer, Signature> sign(KeyEvent event, List<KeyPair> keyPairs) {
+    var signatures = new HashMap<Integer, Signature>();
+    for (var i = 0; i < keyPairs.size(); i++) {
+      var privateKey = keyPairs.get(i).getPrivate();
+      signatures.put(i, SignatureOperations.lookup(privateKey).sign(event.bytes(), privateKey));
+    }
+    return signatures;
+  }
+
+  public static KeyEvent signed(KeyEvent event, Map<Integer, Signature> signatures,
+      Map<Integer, Signature> endorsements) {
+    return KeyEvents.withAttachments(event, signatures, endorsements, Map.of());
+  }
+
+  public static List<KeyEvent> kel(String name, int length) {
+    var kel = new ArrayList<KeyEvent>();
+    kel.add(inception(name));
+    for (var i = 1; i < length; i++) {
+      kel.add(interaction(kel.get(i - 1)));
+    }
+    return kel;
+  }
+
+}
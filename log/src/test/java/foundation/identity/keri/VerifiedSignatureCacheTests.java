@@ -0,0 +1,72 @@
+package foundation.identity.keri;
+
+import foundation.identity.keri.crypto.DigestOperations;
+import foundation.identity.keri.crypto.ImmutableDigest;
+import foundation.identity.keri.crypto.ImmutableSignature;
+import foundation.identity.keri.crypto.StandardSignatureAlgorithms;
+import org.junit.Test;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class VerifiedSignatureCacheTests {
+
+  private static PublicKey generateKey() throws NoSuchAlgorithmException {
+    return KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPublic();
+  }
+
+  private static ImmutableSignature signature(int i) {
+    var bytes = new byte[64];
+    bytes[0] = (byte) i;
+    bytes[1] = (byte) (i >>> 8);
+    return new ImmutableSignature(StandardSignatureAlgorithms.ED_25519, bytes);
+  }
+
+  @Test
+  public void test__contains() throws NoSuchAlgorithmException {
+    var cache = new VerifiedSignatureCache(100);
+    var key = generateKey();
+    var digest = DigestOperations.DEFAULT.digest("event".getBytes(UTF_8));
+
+    assertFalse(cache.contains(digest, key, signature(1)));
+    cache.add(digest, key, signature(1));
+
+    var copy = new ImmutableDigest(digest.algorithm(), digest.bytes());
+    assertTrue(cache.contains(copy, key, signature(1)));
+    assertFalse(cache.contains(digest, key, signature(2)));
+    assertFalse(cache.contains(digest, generateKey(), signature(1)));
+    assertFalse(cache.contains(DigestOperations.DEFAULT.digest("other".getBytes(UTF_8)), key, signature(1)));
+
+    assertEquals(1, cache.hits());
+    assertEquals(4, cache.misses());
+    assertEquals(0.2, cache.hitRate(), 0.0001);
+  }
+
+  @Test
+  public void test__eviction() throws NoSuchAlgorithmException {
+    var cache = new VerifiedSignatureCache(160);
+    var key = generateKey();
+    var digest = DigestOperations.DEFAULT.digest("event".getBytes(UTF_8));
+
+    for (var i = 0; i < 1000; i++) {
+      cache.add(digest, key, signature(i));
+    }
+
+    assertTrue(cache.size() <= cache.maximumSize());
+    assertEquals(1000 - cache.size(), cache.evictions());
+    assertTrue(cache.contains(digest, key, signature(999)));
+  }
+
+  @Test
+  public void test__maximumSize__mustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new VerifiedSignatureCache(0));
+  }
+
+}
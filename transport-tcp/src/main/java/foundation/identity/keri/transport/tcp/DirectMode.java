@@ -1,5 +1,7 @@
 package foundation.identity.keri.transport.tcp;
 
+import foundation.identity.keri.KeyEventEscrow;
+import foundation.identity.keri.KeyEventProcessingEngine;
 import foundation.identity.keri.KeyEventProcessor;
 import foundation.identity.keri.KeyEventStore;
 import foundation.identity.keri.controller.ControllableIdentifier;
@@ -9,7 +11,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.DefaultEventLoopGroup;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
@@ -17,6 +18,7 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 
 import java.net.SocketAddress;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 import static java.util.Objects.requireNonNull;
@@ -27,7 +29,6 @@ public final class DirectMode {
 
   private final static EventLoopGroup acceptorGroup = new NioEventLoopGroup();
   private final static EventLoopGroup connectionsGroup = new NioEventLoopGroup();
-  private final static EventLoopGroup eventProcessingGroup = new DefaultEventLoopGroup();
 
   private final KeyEventStore keyEventStore;
   private final ControllableIdentifier controller;
@@ -42,7 +43,8 @@ public final class DirectMode {
   public static ChannelFuture listen(ControllableIdentifier controller, KeyEventStore keyEventStore,
       SocketAddress address) {
     try {
-      var processor = new KeyEventProcessor(keyEventStore);
+      // shared by every connection, so an event arriving on one releases events escrowed by another
+      var engine = engine(keyEventStore);
       var b = new ServerBootstrap();
       b.group(acceptorGroup, connectionsGroup)
           .localAddress(address)
@@ -59,23 +61,31 @@ public final class DirectMode {
                   new KeyEventDecoder(),
                   new KeyEventEncoder(),
                   new AttachmentEventEncoder(),
-                  new OutOfOrderBuffer()
-                  );
-              ch.pipeline().addLast(
-                  eventProcessingGroup,
                   new KeyEventHandler(
                       controller,
-                      processor));
+                      engine));
             }
           });
 
       // Bind and start to accept incoming connections.
-      return b.bind();
+      return closingWith(b.bind(), engine);
     } catch (Exception e) {
       throw e;
     }
   }
 
+  // events are processed on the engine's lanes rather than on the connections' event loops
+  private static KeyEventProcessingEngine engine(KeyEventStore keyEventStore) {
+    var escrow = KeyEventEscrow.builder(new KeyEventProcessor(keyEventStore)).build();
+    return KeyEventProcessingEngine.builder(escrow).build();
+  }
+
+  private static ChannelFuture closingWith(ChannelFuture future, KeyEventProcessingEngine engine) {
+    // closing waits for the lanes to drain, which mustn't hold up the event loop the channel closed on
+    future.channel().closeFuture().addListener(f -> CompletableFuture.runAsync(engine::close));
+    return future;
+  }
+
   public static class Server {
 
     private final ChannelFuture serverChannelFuture;
@@ -93,7 +103,7 @@ public final class DirectMode {
   public static ChannelFuture connect(ControllableIdentifier controller, KeyEventStore keyEventStore,
       SocketAddress address) {
     try {
-      var processor = new KeyEventProcessor(keyEventStore);
+      var engine = engine(keyEventStore);
       var b = new Bootstrap();
       b.group(connectionsGroup)
           .channel(NioSocketChannel.class)
@@ -108,17 +118,13 @@ public final class DirectMode {
                   new KeyEventDecoder(),
                   new KeyEventEncoder(),
                   new AttachmentEventEncoder(),
-                  new OutOfOrderBuffer()
-              );
-              ch.pipeline().addLast(
-                  eventProcessingGroup,
                   new KeyEventHandler(
                       controller,
-                      processor));
+                      engine));
             }
           });
 
-      return b.connect(address);
+      return closingWith(b.connect(address), engine);
     } catch (Exception e) {
       throw e;
     }
@@ -15,7 +15,7 @@ public class KeyEventEncoder extends MessageToByteEncoder<KeyEvent> {
 
   @Override
   protected void encode(ChannelHandlerContext ctx, KeyEvent event, ByteBuf out) {
-    out.writeBytes(event.bytes());
+    out.writeBytes(event.byteBuffer());
 
     // this will be replaced when we support new framing. For now, direct mode
     var eventSignature = event.authentication();
@@ -1,20 +1,23 @@
 package foundation.identity.keri.transport.tcp;
 
 import foundation.identity.keri.AttachmentEventProcessingException;
+import foundation.identity.keri.KeyEventProcessingEngine;
 import foundation.identity.keri.KeyEventProcessingException;
 import foundation.identity.keri.KeyEventProcessor;
 import foundation.identity.keri.api.event.AttachmentEvent;
 import foundation.identity.keri.api.event.KeyEvent;
+import foundation.identity.keri.api.identifier.Identifier;
 import foundation.identity.keri.controller.ControllableIdentifier;
 import foundation.identity.keri.internal.event.ImmutableAttachmentEvent;
-import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 import static foundation.identity.keri.ShortQualifiedBase64.shortQb64;
 
@@ -23,12 +26,21 @@ class KeyEventHandler extends ChannelInboundHandlerAdapter {
 
   private final ControllableIdentifier controller;
   private final KeyEventProcessor processor;
+  private final KeyEventProcessingEngine engine;
 
-  private final ArrayList<KeyEvent> acceptedEvents = new ArrayList<>();
+  private volatile ChannelHandlerContext ctx;
+  // peer -> highest sequence number of our own log sent to it over this channel, only touched on the channel's executor
+  private final Map<Identifier, Long> sentThrough = new HashMap<>();
 
-  public KeyEventHandler(ControllableIdentifier controller, KeyEventProcessor processor) {
+  public KeyEventHandler(ControllableIdentifier controller, KeyEventProcessingEngine engine) {
     this.controller = controller;
-    this.processor = processor;
+    this.processor = engine.processor();
+    this.engine = engine;
+  }
+
+  @Override
+  public void handlerAdded(ChannelHandlerContext ctx) {
+    this.ctx = ctx;
   }
 
   @Override
@@ -46,70 +58,83 @@ class KeyEventHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
-  @Override
-  public void channelReadComplete(ChannelHandlerContext ctx) {
-    LOGGER.debug("READ COMPLETE");
-
-    for (var e : this.acceptedEvents) {
-      this.sendOwnLogIfNecessary(ctx, e);
-      LOGGER.debug("SENDING RECEIPT FOR: {}", shortQb64(e.coordinates()));
-      ctx.writeAndFlush(this.buildReceipt(e))
-          .addListener(f -> ctx.read());
+  // an event escrowed from this channel was accepted once released, possibly while processing another channel's events
+  private void released(KeyEvent event) {
+    var ctx = this.ctx;
+    if (ctx != null && ctx.channel().isActive()) {
+      ctx.executor().execute(() -> this.sendReceipt(ctx, event));
     }
+  }
 
-    this.acceptedEvents.clear();
+  private ChannelFuture sendReceipt(ChannelHandlerContext ctx, KeyEvent event) {
+    this.sendOwnLogIfNecessary(ctx, event);
+    LOGGER.debug("SENDING RECEIPT FOR: {}", shortQb64(event.coordinates()));
+    return ctx.writeAndFlush(this.buildReceipt(event));
   }
 
+  // processed on the engine's lanes, with the outcome handled back on the channel's executor
   private void readKeyEvent(ChannelHandlerContext ctx, KeyEvent keyEvent) {
-    try {
-      LOGGER.debug("PROCESS: {}", shortQb64(keyEvent.coordinates()));
-      this.processor.process(keyEvent);
+    LOGGER.debug("PROCESS: {}", shortQb64(keyEvent.coordinates()));
+    this.engine.submit(keyEvent, this::released)
+        .whenComplete((state, t) -> ctx.executor().execute(() -> this.keyEventProcessed(ctx, keyEvent, t)));
+  }
 
+  private void keyEventProcessed(ChannelHandlerContext ctx, KeyEvent keyEvent, Throwable t) {
+    var e = t instanceof CompletionException ? t.getCause() : t;
+    if (e == null) {
       LOGGER.debug("ACCEPTED");
-      this.acceptedEvents.add(keyEvent);
-
-      ctx.read();
-    } catch (KeyEventProcessingException e) {
+      this.sendReceipt(ctx, keyEvent)
+          .addListener(f -> ctx.read());
+    } else if (e instanceof KeyEventProcessingException) {
+      // events missing a dependency or signatures are held by the escrow
       LOGGER.debug("REJECTED: ({}) {}",
           e.getClass().getSimpleName(),
           e.getMessage());
-      ctx.write(e);
       ctx.read();
-    } catch (Exception e) {
+    } else {
       LOGGER.error("Processing could not be completed.", e);
-      ctx.writeAndFlush(e)
-          .addListener(ChannelFutureListener.CLOSE);
+      ctx.close();
     }
   }
 
   private void readAttachmentEvent(ChannelHandlerContext ctx, AttachmentEvent attachmentEvent) {
-    try {
-      LOGGER.debug("PROCESS ATTACHMENT: {}", shortQb64(attachmentEvent.coordinates()));
-      this.processor.process(attachmentEvent);
+    LOGGER.debug("PROCESS ATTACHMENT: {}", shortQb64(attachmentEvent.coordinates()));
+    this.engine.submit(attachmentEvent)
+        .whenComplete((v, t) -> ctx.executor().execute(() -> this.attachmentEventProcessed(ctx, t)));
+  }
+
+  private void attachmentEventProcessed(ChannelHandlerContext ctx, Throwable t) {
+    var e = t instanceof CompletionException ? t.getCause() : t;
+    if (e == null) {
       ctx.read();
-    } catch (AttachmentEventProcessingException e) {
+    } else if (e instanceof AttachmentEventProcessingException) {
       LOGGER.debug("REJECTED: ({}) {}",
           e.getClass().getSimpleName(),
           e.getMessage(),
           e);
-      ctx.write(e);
       ctx.read();
-    } catch (Exception e) {
+    } else {
       LOGGER.error("Processing could not be completed.", e);
-      ctx.writeAndFlush(e)
-          .addListener(ChannelFutureListener.CLOSE);
+      ctx.close();
     }
   }
 
   private void sendOwnLogIfNecessary(ChannelHandlerContext ctx, KeyEvent event) {
+    var peer = event.identifier();
     var latestReceipt = this.processor.keyEventStore()
-        .findLatestReceipt(this.controller.identifier(), event.identifier())
+        .findLatestReceipt(this.controller.identifier(), peer)
         .orElse(-1);
 
+    // don't resend events the peer hasn't had the chance to receipt yet
+    var from = Math.max(latestReceipt, this.sentThrough.getOrDefault(peer, -1L)) + 1;
+
     this.processor.keyEventStore()
-        .streamKeyEvents(this.controller.identifier(), latestReceipt + 1)
+        .streamKeyEvents(this.controller.identifier(), from)
         .peek(ke -> LOGGER.debug("SEND EVENT: {}", shortQb64(ke.coordinates())))
-        .forEachOrdered(ctx::write);
+        .forEachOrdered(ke -> {
+          ctx.write(ke);
+          this.sentThrough.merge(peer, ke.sequenceNumber(), Math::max);
+        });
   }
 
   private AttachmentEvent buildReceipt(KeyEvent event) {